@@ -0,0 +1,30 @@
+package com.haufe.technical.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haufe.technical.api.web.bulkhead.BulkheadFilter;
+import com.haufe.technical.api.web.bulkhead.BulkheadRegistry;
+import com.haufe.technical.api.web.bulkhead.ClientRateLimiter;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class BulkheadConfig {
+
+    /**
+     * Registers the bulkhead filter for the API endpoints, right after the security filters
+     * so that the clients can be rate limited by their authenticated name.
+     */
+    @Bean
+    public FilterRegistrationBean<BulkheadFilter> bulkheadFilter(BulkheadProperties properties,
+                                                                 BulkheadRegistry bulkheadRegistry,
+                                                                 ClientRateLimiter rateLimiter,
+                                                                 ObjectMapper objectMapper) {
+        final FilterRegistrationBean<BulkheadFilter> registration = new FilterRegistrationBean<>(
+                new BulkheadFilter(properties, bulkheadRegistry, rateLimiter, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+}
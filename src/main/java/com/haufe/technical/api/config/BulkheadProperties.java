@@ -0,0 +1,53 @@
+package com.haufe.technical.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration of the per endpoint class bulkheads and of the per client rate limiting.
+ *
+ * @param enabled    whether requests are admitted through the bulkheads at all
+ * @param retryAfter the {@code Retry-After} sent when a bulkhead rejects a request
+ * @param bulkPaths  path patterns of the bulk operations, which get their own bulkhead
+ * @param pointRead  limits of the reads by id
+ * @param list       limits of the listings and searches
+ * @param write      limits of the creations, updates and deletions
+ * @param bulk       limits of the bulk operations
+ * @param rateLimit  per client rate limiting
+ */
+@ConfigurationProperties(prefix = "api.bulkhead")
+public record BulkheadProperties(@DefaultValue("true") boolean enabled,
+                                 @DefaultValue("1s") Duration retryAfter,
+                                 @DefaultValue("/api/_batch/**,/api/jobs/**") List<String> bulkPaths,
+                                 @DefaultValue Compartment pointRead,
+                                 @DefaultValue Compartment list,
+                                 @DefaultValue Compartment write,
+                                 @DefaultValue Compartment bulk,
+                                 @DefaultValue RateLimit rateLimit) {
+
+    /**
+     * @param maxConcurrent requests executing at the same time
+     * @param maxQueue      requests waiting for a slot, further requests are rejected right away
+     * @param maxWait       maximum time a request waits for a slot before being rejected
+     */
+    public record Compartment(@DefaultValue("16") int maxConcurrent,
+                              @DefaultValue("32") int maxQueue,
+                              @DefaultValue("500ms") Duration maxWait) {}
+
+    /**
+     * @param enabled         whether clients are rate limited
+     * @param capacity        token bucket size, i.e. the allowed burst
+     * @param refillPerSecond tokens added per second, i.e. the sustained rate
+     * @param maxClients      tracked clients, beyond them the new clients share a bucket until an idle one is evicted
+     * @param clientHeader    request header identifying the client, e.g. an API key, the clients are identified
+     *                        by their address when not set or when a request does not carry it
+     */
+    public record RateLimit(@DefaultValue("true") boolean enabled,
+                            @DefaultValue("200") int capacity,
+                            @DefaultValue("100") int refillPerSecond,
+                            @DefaultValue("10000") int maxClients,
+                            String clientHeader) {}
+}
@@ -0,0 +1,24 @@
+package com.haufe.technical.api.config;
+
+import com.haufe.technical.api.service.cluster.InMemoryInvalidationTransport;
+import com.haufe.technical.api.service.cluster.InvalidationTransport;
+import com.haufe.technical.api.service.cluster.JdbcInvalidationTransport;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+public class ClusterConfig {
+
+    /**
+     * Selects the transport of the changes between the instances, see {@link ClusterProperties#transport()}.
+     */
+    @Bean
+    public InvalidationTransport invalidationTransport(ClusterProperties properties, JdbcTemplate jdbcTemplate) {
+        return switch (properties.transport()) {
+            case JDBC -> new JdbcInvalidationTransport(
+                    jdbcTemplate, properties.gapTimeout(), properties.lateWindow());
+            case MEMORY -> new InMemoryInvalidationTransport();
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package com.haufe.technical.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the invalidation of the in-process caches across the instances of the application.
+ *
+ * @param enabled      whether the changes are exchanged with the other instances at all, off by default since
+ *                     it costs a change log insert per write and a poll per interval
+ * @param transport    how the changes are exchanged, {@code jdbc} through the {@code CHANGE_LOG} table,
+ *                     or {@code memory} within the JVM, for tests and single instance deployments
+ * @param instanceId   identifies this instance in the change log, a random one by default
+ * @param pollInterval how often the changes of the other instances are polled
+ * @param gapTimeout   how long a gap in the change log IDs is waited for before assuming its transaction
+ *                     was rolled back
+ * @param lateWindow   how long the IDs of such gaps are still polled, in case their transaction commits late
+ * @param retention    how long the changes are kept in the change log
+ */
+@ConfigurationProperties(prefix = "api.cluster")
+public record ClusterProperties(@DefaultValue("false") boolean enabled,
+                                @DefaultValue("jdbc") Transport transport,
+                                String instanceId,
+                                @DefaultValue("1s") Duration pollInterval,
+                                @DefaultValue("10s") Duration gapTimeout,
+                                @DefaultValue("5m") Duration lateWindow,
+                                @DefaultValue("1h") Duration retention) {
+
+    public enum Transport {
+        JDBC,
+        MEMORY
+    }
+}
@@ -0,0 +1,16 @@
+package com.haufe.technical.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the read request coalescing.
+ *
+ * @param enabled whether concurrent identical reads share a single in-flight call
+ * @param maxWait maximum time a follower waits for the in-flight call before loading by itself
+ */
+@ConfigurationProperties(prefix = "api.coalescing")
+public record CoalescingProperties(@DefaultValue("true") boolean enabled,
+                                   @DefaultValue("2s") Duration maxWait) {}
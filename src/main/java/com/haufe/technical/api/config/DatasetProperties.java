@@ -0,0 +1,16 @@
+package com.haufe.technical.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the synthetic dataset loaded at startup.
+ *
+ * @param profile   the dataset size ({@code small}, {@code 1M} or {@code 10M}), nothing is loaded when missing
+ * @param seed      the generator seed, the same seed always produces the same dataset
+ * @param batchSize rows inserted per JDBC batch and transaction
+ */
+@ConfigurationProperties(prefix = "api.dataset")
+public record DatasetProperties(String profile,
+                                @DefaultValue("42") long seed,
+                                @DefaultValue("5000") int batchSize) {}
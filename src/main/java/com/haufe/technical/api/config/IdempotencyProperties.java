@@ -0,0 +1,20 @@
+package com.haufe.technical.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the {@code Idempotency-Key} support of the create endpoints.
+ *
+ * @param enabled    whether the header is honoured at all
+ * @param ttl        how long the response of a request is kept for its retries
+ * @param maxEntries maximum number of responses kept, the oldest ones are evicted first
+ * @param maxWait    maximum time a retry waits for the first attempt still in progress
+ */
+@ConfigurationProperties(prefix = "api.idempotency")
+public record IdempotencyProperties(@DefaultValue("true") boolean enabled,
+                                    @DefaultValue("24h") Duration ttl,
+                                    @DefaultValue("10000") int maxEntries,
+                                    @DefaultValue("5s") Duration maxWait) {}
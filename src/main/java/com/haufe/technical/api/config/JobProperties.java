@@ -0,0 +1,29 @@
+package com.haufe.technical.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the bulk jobs.
+ *
+ * @param enabled             whether the jobs are run by this instance, they can still be submitted otherwise
+ * @param workers             jobs run at the same time by this instance
+ * @param chunkSize           items processed and committed together
+ * @param pollInterval        how often the queued jobs are looked for
+ * @param leaseTimeout        how long without progress before a running job is considered abandoned
+ *                            by its instance, and resumed by another one
+ * @param throttleUtilization utilization of the online bulkheads above which the jobs pause between chunks
+ * @param throttlePause       how long a job pauses before checking the utilization again
+ * @param maxItems            maximum number of items of an import
+ */
+@ConfigurationProperties(prefix = "api.jobs")
+public record JobProperties(@DefaultValue("true") boolean enabled,
+                            @DefaultValue("2") int workers,
+                            @DefaultValue("100") int chunkSize,
+                            @DefaultValue("1s") Duration pollInterval,
+                            @DefaultValue("1m") Duration leaseTimeout,
+                            @DefaultValue("0.5") double throttleUtilization,
+                            @DefaultValue("200ms") Duration throttlePause,
+                            @DefaultValue("100000") int maxItems) {}
@@ -0,0 +1,20 @@
+package com.haufe.technical.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the row counters giving the totals of the listings.
+ *
+ * @param enabled           whether the totals are read from the counters, otherwise they are counted
+ * @param stripes           how many rows every counter is split into, so that concurrent writers rarely
+ *                          wait for each other
+ * @param reconcileInterval how often the counters are compared with the actual row counts, to correct
+ *                          changes made directly in the database
+ */
+@ConfigurationProperties(prefix = "api.row-counter")
+public record RowCounterProperties(@DefaultValue("true") boolean enabled,
+                                   @DefaultValue("8") int stripes,
+                                   @DefaultValue("5m") Duration reconcileInterval) {}
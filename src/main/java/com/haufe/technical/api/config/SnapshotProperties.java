@@ -0,0 +1,22 @@
+package com.haufe.technical.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the in-memory columnar snapshot serving the catalogue reads.
+ *
+ * @param enabled         whether the reads and listings are served from the snapshot
+ * @param rebuildDelay    how often the snapshot is rebuilt after committed changes, the changed entities are
+ *                        read from the database in the meantime
+ * @param refreshInterval how often the snapshot is rebuilt anyway, to pick up changes made elsewhere
+ * @param maxStaleness    how long the snapshot keeps being served after the first change it misses, all the
+ *                        reads and listings go to the database afterwards until it is rebuilt
+ */
+@ConfigurationProperties(prefix = "api.snapshot")
+public record SnapshotProperties(@DefaultValue("false") boolean enabled,
+                                 @DefaultValue("1s") Duration rebuildDelay,
+                                 @DefaultValue("5m") Duration refreshInterval,
+                                 @DefaultValue("5s") Duration maxStaleness) {}
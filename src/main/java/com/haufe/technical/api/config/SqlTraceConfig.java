@@ -0,0 +1,55 @@
+package com.haufe.technical.api.config;
+
+import com.haufe.technical.api.web.sqltrace.SqlTraceFilter;
+import com.haufe.technical.api.web.sqltrace.SqlTracingListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class SqlTraceConfig {
+
+    /**
+     * Wraps the data sources in a proxy reporting every statement, and every row read, to the tracing listener.
+     * Static, as bean post processors must be created before the other beans.
+     */
+    @Bean
+    public static BeanPostProcessor sqlTracingDataSourcePostProcessor(ObjectProvider<SqlTraceProperties> properties,
+                                                                      ObjectProvider<SqlTracingListener> listener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource
+                        && !(bean instanceof ProxyDataSource)
+                        && properties.getObject().enabled()) {
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .listener(listener.getObject())
+                            .methodListener(listener.getObject())
+                            .proxyResultSet()
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Registers the SQL tracing filter for the API endpoints, after the bulkhead filter
+     * so that the rejected requests are not traced.
+     */
+    @Bean
+    public FilterRegistrationBean<SqlTraceFilter> sqlTraceFilter(SqlTraceProperties properties) {
+        final FilterRegistrationBean<SqlTraceFilter> registration =
+                new FilterRegistrationBean<>(new SqlTraceFilter(properties));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 2);
+        return registration;
+    }
+}
@@ -0,0 +1,20 @@
+package com.haufe.technical.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the per request SQL tracing.
+ *
+ * @param enabled       whether the data source is instrumented at all
+ * @param maxStatements statements per request above which the request's SQL summary is logged
+ * @param maxTime       SQL time per request above which the request's SQL summary is logged
+ * @param slowQuery     execution time above which a single statement is logged as a slow query
+ */
+@ConfigurationProperties(prefix = "api.sql-trace")
+public record SqlTraceProperties(@DefaultValue("false") boolean enabled,
+                                 @DefaultValue("20") int maxStatements,
+                                 @DefaultValue("500ms") Duration maxTime,
+                                 @DefaultValue("100ms") Duration slowQuery) {}
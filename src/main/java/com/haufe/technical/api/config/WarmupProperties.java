@@ -0,0 +1,20 @@
+package com.haufe.technical.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the warm-up run before the instance reports ready.
+ *
+ * @param enabled    whether the instance warms up, it reports ready right away otherwise
+ * @param budget     maximum duration of the warm-up, the instance reports ready once exhausted
+ * @param iterations rounds of representative reads, enough for the hot paths to be JIT-compiled
+ * @param sampleSize beers and manufacturers read by the rounds
+ */
+@ConfigurationProperties(prefix = "api.warmup")
+public record WarmupProperties(@DefaultValue("true") boolean enabled,
+                               @DefaultValue("30s") Duration budget,
+                               @DefaultValue("2000") int iterations,
+                               @DefaultValue("100") int sampleSize) {}
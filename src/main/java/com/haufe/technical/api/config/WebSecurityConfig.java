@@ -18,6 +18,8 @@ public class WebSecurityConfig
         http
                 .authorizeHttpRequests(authorize -> authorize
                         .requestMatchers("/swagger-ui.html","/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                        // Probed by the orchestrator and the load balancer, which do not log in
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
                         .anyRequest().authenticated())
                 .formLogin(AbstractAuthenticationFilterConfigurer::permitAll)
                 .csrf(AbstractHttpConfigurer::disable);
@@ -0,0 +1,16 @@
+package com.haufe.technical.api.controller;
+
+/**
+ * Documentation of the request parameters shared by the controllers.
+ */
+public final class ApiParameters {
+    public static final String FIELDS_PARAMETER_DESCRIPTION = "Comma separated fields to return, e.g. id,name";
+    public static final String AS_OF_DESCRIPTION = "ISO-8601 instant, e.g. 2025-06-01T12:00:00Z";
+    public static final String TOTALS_PARAMETER_DESCRIPTION =
+            "Whether to return the total number of elements and pages, skipping them makes the listing cheaper";
+    public static final String IDEMPOTENCY_KEY_DESCRIPTION =
+            "Unique key of the request, its retries with the same key return the original response";
+
+    private ApiParameters() {
+    }
+}
@@ -0,0 +1,35 @@
+package com.haufe.technical.api.controller;
+
+import com.haufe.technical.api.controller.dto.autocomplete.AutocompleteSuggestionDto;
+import com.haufe.technical.api.service.autocomplete.AutocompleteService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/autocomplete")
+@RequiredArgsConstructor
+@Tag(name = "Autocomplete API")
+public class AutocompleteController {
+
+    private final AutocompleteService autocompleteService;
+
+    /**
+     * Suggests beer and manufacturer names for a search box.
+     *
+     * @param q     the typed text, matched against the start of the names and of their words,
+     *              ignoring case and accents
+     * @param limit the maximum number of suggestions
+     * @return a list of {@link AutocompleteSuggestionDto} with the type, id and name of the matches
+     */
+    @GetMapping()
+    public List<AutocompleteSuggestionDto> suggest(@RequestParam String q,
+                                                   @RequestParam(defaultValue = "10") int limit) {
+        return autocompleteService.suggest(q, limit);
+    }
+}
@@ -0,0 +1,35 @@
+package com.haufe.technical.api.controller;
+
+import com.haufe.technical.api.controller.dto.batch.BatchRequestDto;
+import com.haufe.technical.api.controller.dto.batch.BatchResponseDto;
+import com.haufe.technical.api.exception.ApiException;
+import com.haufe.technical.api.service.batch.BatchService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/_batch")
+@RequiredArgsConstructor
+@Tag(name = "Batch API")
+public class BatchController {
+
+    private final BatchService batchService;
+
+    /**
+     * Executes several creations, updates and deletions in a single transaction.
+     * The path of an operation can reference the ID created by an earlier operation as {@code $<id>},
+     * e.g. a {@code POST /api/manufacturer} named {@code brewery} followed by {@code POST /api/beer/$brewery}.
+     *
+     * @param request the {@link BatchRequestDto} with the ordered operations
+     * @return the {@link BatchResponseDto} with the result of every operation
+     * @throws ApiException if an operation fails, in which case none of them is applied
+     */
+    @PostMapping()
+    public BatchResponseDto execute(@RequestBody BatchRequestDto request) throws ApiException {
+        return batchService.execute(request);
+    }
+}
@@ -4,8 +4,14 @@ import com.haufe.technical.api.controller.dto.beer.BeerListResponseDto;
 import com.haufe.technical.api.controller.dto.beer.BeerReadResponseDto;
 import com.haufe.technical.api.controller.dto.beer.BeerUpsertDto;
 import com.haufe.technical.api.controller.dto.beer.BeerUpsertResponseDto;
+import com.haufe.technical.api.controller.dto.beer.BeerVersionDto;
+import com.haufe.technical.api.controller.dto.beer.SimilarBeerDto;
+import com.haufe.technical.api.controller.dto.page.SliceDto;
 import com.haufe.technical.api.exception.ApiException;
 import com.haufe.technical.api.service.BeerService;
+import com.haufe.technical.api.service.history.HistoryService;
+import com.haufe.technical.api.service.idempotency.IdempotencyStore;
+import com.haufe.technical.api.service.similarity.SimilarityService;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -14,6 +20,13 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.web.bind.annotation.*;
 
+import java.security.Principal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static com.haufe.technical.api.controller.ApiParameters.*;
+
 @RestController
 @RequestMapping("/api/beer")
 @RequiredArgsConstructor
@@ -28,18 +41,27 @@ public class BeerController {
             }""";
 
     private final BeerService beerService;
+    private final HistoryService historyService;
+    private final SimilarityService similarityService;
+    private final IdempotencyStore idempotencyStore;
 
 
     /**
      * Adds a new beer.
      *
-     * @param request the {@link BeerUpsertDto} request containing beer details
+     * @param request        the {@link BeerUpsertDto} request containing beer details
+     * @param idempotencyKey the optional key making the retries of this request return its original response
      * @return the {@link BeerUpsertResponseDto} response containing created beer details
      */
     @PostMapping("{manufacturerId}")
     public BeerUpsertResponseDto create(@PathVariable Long manufacturerId,
-                                        @RequestBody BeerUpsertDto request) throws ApiException {
-        return beerService.create(manufacturerId, request);
+                                        @RequestBody BeerUpsertDto request,
+                                        @Parameter(description = IDEMPOTENCY_KEY_DESCRIPTION)
+                                        @RequestHeader(name = IdempotencyStore.HEADER, required = false)
+                                        String idempotencyKey,
+                                        Principal principal) throws ApiException {
+        return idempotencyStore.execute(principal, idempotencyKey, List.of("beer", manufacturerId, request),
+                () -> beerService.create(manufacturerId, request));
     }
 
     /**
@@ -66,18 +88,123 @@ public class BeerController {
         return beerService.read(id);
     }
 
+    /**
+     * Reads only some fields of a beer by ID.
+     *
+     * @param id     the ID of the beer to read
+     * @param fields the comma separated fields to return
+     * @return the requested fields of the beer
+     * @throws ApiException if the beer with the given ID is not found or a requested field is unknown
+     */
+    // The sparse and the slice variants are told apart by their parameters, which are documented as optional
+    @GetMapping(value = "{id}", params = "fields")
+    public Map<String, Object> read(@PathVariable Long id,
+                                    @Parameter(description = FIELDS_PARAMETER_DESCRIPTION)
+                                    @RequestParam(required = false) String fields) throws ApiException {
+        return beerService.read(id, fields);
+    }
+
     /**
      * Lists all beers.
      *
-     * @return a list of {@link BeerListResponseDto} containing then id and name of all beers
+     * @return a page of {@link BeerListResponseDto} containing the id and name of the beers
      */
-    @GetMapping()
-    public Page<BeerListResponseDto> list(
-            @Parameter(example = PAGE_PARAMETER_EXAMPLE)
-            @PageableDefault(sort = "name") Pageable pageable) {
+    @GetMapping(params = {"!fields", "totals!=false"})
+    public Page<BeerListResponseDto> list(@Parameter(example = PAGE_PARAMETER_EXAMPLE)
+                                          @PageableDefault(sort = "name") Pageable pageable) {
         return beerService.list(pageable);
     }
 
+    /**
+     * Lists only some fields of all beers.
+     *
+     * @param fields the comma separated fields to return
+     * @return a page of the requested fields of the beers
+     * @throws ApiException if a requested field is unknown
+     */
+    @GetMapping(params = {"fields", "totals!=false"})
+    public Page<Map<String, Object>> list(@Parameter(example = PAGE_PARAMETER_EXAMPLE)
+                                          @PageableDefault(sort = "name") Pageable pageable,
+                                          @Parameter(description = FIELDS_PARAMETER_DESCRIPTION)
+                                          @RequestParam(required = false) String fields) throws ApiException {
+        return beerService.list(pageable, fields);
+    }
+
+    /**
+     * Lists all beers without the totals, which makes the listing cheaper.
+     *
+     * @param totals false, declared for the documentation of the listing
+     * @return a slice of {@link BeerListResponseDto} containing the id and name of the beers
+     */
+    @GetMapping(params = {"!fields", "totals=false"})
+    public SliceDto<BeerListResponseDto> slice(@Parameter(example = PAGE_PARAMETER_EXAMPLE)
+                                               @PageableDefault(sort = "name") Pageable pageable,
+                                               @Parameter(description = TOTALS_PARAMETER_DESCRIPTION)
+                                               @RequestParam(defaultValue = "true") boolean totals) {
+        return SliceDto.of(beerService.slice(pageable));
+    }
+
+    /**
+     * Lists only some fields of all beers, without the totals.
+     *
+     * @param fields the comma separated fields to return
+     * @param totals false, declared for the documentation of the listing
+     * @return a slice of the requested fields of the beers
+     * @throws ApiException if a requested field is unknown
+     */
+    @GetMapping(params = {"fields", "totals=false"})
+    public SliceDto<Map<String, Object>> slice(@Parameter(example = PAGE_PARAMETER_EXAMPLE)
+                                               @PageableDefault(sort = "name") Pageable pageable,
+                                               @Parameter(description = FIELDS_PARAMETER_DESCRIPTION)
+                                               @RequestParam(required = false) String fields,
+                                               @Parameter(description = TOTALS_PARAMETER_DESCRIPTION)
+                                               @RequestParam(defaultValue = "true") boolean totals) throws ApiException {
+        return SliceDto.of(beerService.slice(pageable, fields));
+    }
+
+    /**
+     * Recommends the beers most similar to a beer, by style, ABV and description.
+     *
+     * @param id the ID of the beer
+     * @param k  the number of similar beers, at most {@value SimilarityService#MAX_K}
+     * @return the {@link SimilarBeerDto} similar beers, the most similar first
+     * @throws ApiException if the beer with the given ID is not found
+     */
+    @GetMapping("{id}/similar")
+    public List<SimilarBeerDto> similar(@PathVariable Long id,
+                                        @RequestParam(defaultValue = "10") int k) throws ApiException {
+        return similarityService.similar(id, k);
+    }
+
+    /**
+     * Lists the changes of a beer, from the oldest one.
+     *
+     * @param id the ID of the beer
+     * @return the {@link BeerVersionDto} versions of the beer
+     * @throws ApiException if the beer with the given ID never existed
+     */
+    @GetMapping("{id}/history")
+    public Page<BeerVersionDto> history(@PathVariable Long id,
+                                        @Parameter(example = PAGE_PARAMETER_EXAMPLE)
+                                        @PageableDefault(size = 20) Pageable pageable) throws ApiException {
+        return historyService.beerHistory(id, pageable);
+    }
+
+    /**
+     * Reads a beer as it was at a given instant.
+     *
+     * @param id      the ID of the beer
+     * @param instant the instant to read the beer at
+     * @return the {@link BeerVersionDto} version valid at that instant
+     * @throws ApiException if the beer did not exist at that instant
+     */
+    @GetMapping("{id}/as-of")
+    public BeerVersionDto asOf(@PathVariable Long id,
+                               @Parameter(description = AS_OF_DESCRIPTION)
+                               @RequestParam Instant instant) throws ApiException {
+        return historyService.beerAsOf(id, instant);
+    }
+
     @DeleteMapping("{id}")
     public void delete(@PathVariable Long id) throws ApiException {
         beerService.delete(id);
@@ -1,11 +1,16 @@
 package com.haufe.technical.api.controller;
 
 import com.haufe.technical.api.exception.ApiException;
+import com.haufe.technical.api.exception.StacklessApiException;
 import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Map;
 
@@ -27,6 +32,24 @@ public class ErrorController {
         return new ResponseEntity<>(buildResponse(ex), ex.getCode());
     }
 
+    /**
+     * Handles StacklessApiException with its pre-encoded JSON body, unless the client only accepts
+     * another format, such as CBOR, in which case the body is serialized like for any ApiException.
+     *
+     * @param ex      the StacklessApiException to handle
+     * @param request the failed request
+     * @return a ResponseEntity containing the error details
+     */
+    @ExceptionHandler(StacklessApiException.class)
+    public ResponseEntity<?> handleStacklessApiException(StacklessApiException ex, WebRequest request) {
+        if (!acceptsJson(request.getHeader(HttpHeaders.ACCEPT))) {
+            return handleApiException(ex);
+        }
+        return ResponseEntity.status(ex.getCode())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ex.body());
+    }
+
     /**
      * Handles PropertyReferenceException and returns a ResponseEntity with the error details.
      * This exception is typically thrown when a property reference in a query method is invalid,
@@ -40,6 +63,26 @@ public class ErrorController {
         return new ResponseEntity<>(buildResponse(ex), HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Tells whether the Accept header allows JSON, i.e. names a compatible media type without a zero quality.
+     * A missing or malformed header is taken as accepting anything, like content negotiation does.
+     *
+     * @param accept the Accept header
+     * @return whether a JSON body is acceptable
+     */
+    private static boolean acceptsJson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream()
+                    .anyMatch(mediaType -> mediaType.getQualityValue() > 0
+                            && mediaType.isCompatibleWith(MediaType.APPLICATION_JSON));
+        } catch (InvalidMediaTypeException e) {
+            return true;
+        }
+    }
+
     /**
      * Builds a response map for the Exception.
      *
@@ -0,0 +1,57 @@
+package com.haufe.technical.api.controller;
+
+import com.haufe.technical.api.controller.dto.job.JobDto;
+import com.haufe.technical.api.controller.dto.job.JobRequestDto;
+import com.haufe.technical.api.exception.ApiException;
+import com.haufe.technical.api.service.job.JobService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+
+@RestController
+@RequestMapping("/api/jobs")
+@RequiredArgsConstructor
+@Tag(name = "Job API")
+public class JobController {
+
+    private final JobService jobService;
+
+    /**
+     * Queues a bulk job, run in the background in small chunks that yield to the online requests.
+     * Its progress is reported by {@code GET /api/jobs/{id}}.
+     *
+     * @param request the {@link JobRequestDto} with the type and the parameters of the job
+     * @return the queued {@link JobDto}
+     * @throws ApiException if the type or the parameters of the job are invalid
+     */
+    @PostMapping()
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public JobDto submit(@RequestBody JobRequestDto request, Principal principal) throws ApiException {
+        return jobService.submit(request, principal);
+    }
+
+    /**
+     * @param id the ID of the job
+     * @return the status and progress of the job
+     * @throws ApiException if the job does not exist
+     */
+    @GetMapping("/{id}")
+    public JobDto get(@PathVariable Long id) throws ApiException {
+        return jobService.get(id);
+    }
+
+    /**
+     * Cancels a job; a running job stops after its current chunk, keeping the chunks already committed.
+     *
+     * @param id the ID of the job
+     * @return the job, cancelled or about to be
+     * @throws ApiException if the job does not exist or is already finished
+     */
+    @DeleteMapping("/{id}")
+    public JobDto cancel(@PathVariable Long id) throws ApiException {
+        return jobService.cancel(id);
+    }
+}
@@ -4,8 +4,12 @@ import com.haufe.technical.api.controller.dto.manufacturer.ManufacturerListRespo
 import com.haufe.technical.api.controller.dto.manufacturer.ManufacturerReadResponseDto;
 import com.haufe.technical.api.controller.dto.manufacturer.ManufacturerUpsertDto;
 import com.haufe.technical.api.controller.dto.manufacturer.ManufacturerUpsertResponseDto;
+import com.haufe.technical.api.controller.dto.manufacturer.ManufacturerVersionDto;
+import com.haufe.technical.api.controller.dto.page.SliceDto;
 import com.haufe.technical.api.exception.ApiException;
 import com.haufe.technical.api.service.ManufacturerService;
+import com.haufe.technical.api.service.history.HistoryService;
+import com.haufe.technical.api.service.idempotency.IdempotencyStore;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -14,6 +18,13 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.web.bind.annotation.*;
 
+import java.security.Principal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static com.haufe.technical.api.controller.ApiParameters.*;
+
 @RestController
 @RequestMapping("/api/manufacturer")
 @RequiredArgsConstructor
@@ -28,16 +39,24 @@ public class ManufacturerController {
             }""";
 
     private final ManufacturerService manufacturerService;
+    private final HistoryService historyService;
+    private final IdempotencyStore idempotencyStore;
 
     /**
      * Adds a new manufacturer.
      *
-     * @param request the {@link ManufacturerUpsertDto} request containing manufacturer details
+     * @param request        the {@link ManufacturerUpsertDto} request containing manufacturer details
+     * @param idempotencyKey the optional key making the retries of this request return its original response
      * @return the {@link ManufacturerUpsertResponseDto} response containing created manufacturer details
      */
     @PostMapping()
-    public ManufacturerUpsertResponseDto create(@RequestBody ManufacturerUpsertDto request) throws ApiException {
-        return manufacturerService.create(request);
+    public ManufacturerUpsertResponseDto create(@RequestBody ManufacturerUpsertDto request,
+                                                @Parameter(description = IDEMPOTENCY_KEY_DESCRIPTION)
+                                                @RequestHeader(name = IdempotencyStore.HEADER, required = false)
+                                                String idempotencyKey,
+                                                Principal principal) throws ApiException {
+        return idempotencyStore.execute(principal, idempotencyKey, List.of("manufacturer", request),
+                () -> manufacturerService.create(request));
     }
 
     /**
@@ -64,18 +83,109 @@ public class ManufacturerController {
         return manufacturerService.read(id);
     }
 
+    /**
+     * Reads only some fields of a manufacturer by ID.
+     *
+     * @param id     the ID of the manufacturer to read
+     * @param fields the comma separated fields to return
+     * @return the requested fields of the manufacturer
+     * @throws ApiException if the manufacturer with the given ID is not found or a requested field is unknown
+     */
+    // The sparse and the slice variants are told apart by their parameters, which are documented as optional
+    @GetMapping(value = "{id}", params = "fields")
+    public Map<String, Object> read(@PathVariable Long id,
+                                    @Parameter(description = FIELDS_PARAMETER_DESCRIPTION)
+                                    @RequestParam(required = false) String fields) throws ApiException {
+        return manufacturerService.read(id, fields);
+    }
+
     /**
      * Lists all manufacturers.
      *
-     * @return a list of {@link ManufacturerListResponseDto} containing then id and name of all manufacturers
+     * @return a page of {@link ManufacturerListResponseDto} containing the id and name of the manufacturers
      */
-    @GetMapping()
-    public Page<ManufacturerListResponseDto> list(
-            @Parameter(example = PAGE_PARAMETER_EXAMPLE)
-            @PageableDefault(sort = "name") Pageable pageable) {
+    @GetMapping(params = {"!fields", "totals!=false"})
+    public Page<ManufacturerListResponseDto> list(@Parameter(example = PAGE_PARAMETER_EXAMPLE)
+                                          @PageableDefault(sort = "name") Pageable pageable) {
         return manufacturerService.list(pageable);
     }
 
+    /**
+     * Lists only some fields of all manufacturers.
+     *
+     * @param fields the comma separated fields to return
+     * @return a page of the requested fields of the manufacturers
+     * @throws ApiException if a requested field is unknown
+     */
+    @GetMapping(params = {"fields", "totals!=false"})
+    public Page<Map<String, Object>> list(@Parameter(example = PAGE_PARAMETER_EXAMPLE)
+                                          @PageableDefault(sort = "name") Pageable pageable,
+                                          @Parameter(description = FIELDS_PARAMETER_DESCRIPTION)
+                                          @RequestParam(required = false) String fields) throws ApiException {
+        return manufacturerService.list(pageable, fields);
+    }
+
+    /**
+     * Lists all manufacturers without the totals, which makes the listing cheaper.
+     *
+     * @param totals false, declared for the documentation of the listing
+     * @return a slice of {@link ManufacturerListResponseDto} containing the id and name of the manufacturers
+     */
+    @GetMapping(params = {"!fields", "totals=false"})
+    public SliceDto<ManufacturerListResponseDto> slice(@Parameter(example = PAGE_PARAMETER_EXAMPLE)
+                                               @PageableDefault(sort = "name") Pageable pageable,
+                                               @Parameter(description = TOTALS_PARAMETER_DESCRIPTION)
+                                               @RequestParam(defaultValue = "true") boolean totals) {
+        return SliceDto.of(manufacturerService.slice(pageable));
+    }
+
+    /**
+     * Lists only some fields of all manufacturers, without the totals.
+     *
+     * @param fields the comma separated fields to return
+     * @param totals false, declared for the documentation of the listing
+     * @return a slice of the requested fields of the manufacturers
+     * @throws ApiException if a requested field is unknown
+     */
+    @GetMapping(params = {"fields", "totals=false"})
+    public SliceDto<Map<String, Object>> slice(@Parameter(example = PAGE_PARAMETER_EXAMPLE)
+                                               @PageableDefault(sort = "name") Pageable pageable,
+                                               @Parameter(description = FIELDS_PARAMETER_DESCRIPTION)
+                                               @RequestParam(required = false) String fields,
+                                               @Parameter(description = TOTALS_PARAMETER_DESCRIPTION)
+                                               @RequestParam(defaultValue = "true") boolean totals) throws ApiException {
+        return SliceDto.of(manufacturerService.slice(pageable, fields));
+    }
+
+    /**
+     * Lists the changes of a manufacturer, from the oldest one.
+     *
+     * @param id the ID of the manufacturer
+     * @return the {@link ManufacturerVersionDto} versions of the manufacturer
+     * @throws ApiException if the manufacturer with the given ID never existed
+     */
+    @GetMapping("{id}/history")
+    public Page<ManufacturerVersionDto> history(@PathVariable Long id,
+                                                @Parameter(example = PAGE_PARAMETER_EXAMPLE)
+                                                @PageableDefault(size = 20) Pageable pageable) throws ApiException {
+        return historyService.manufacturerHistory(id, pageable);
+    }
+
+    /**
+     * Reads a manufacturer as it was at a given instant.
+     *
+     * @param id      the ID of the manufacturer
+     * @param instant the instant to read the manufacturer at
+     * @return the {@link ManufacturerVersionDto} version valid at that instant
+     * @throws ApiException if the manufacturer did not exist at that instant
+     */
+    @GetMapping("{id}/as-of")
+    public ManufacturerVersionDto asOf(@PathVariable Long id,
+                                       @Parameter(description = AS_OF_DESCRIPTION)
+                                       @RequestParam Instant instant) throws ApiException {
+        return historyService.manufacturerAsOf(id, instant);
+    }
+
     @DeleteMapping("{id}")
     public void delete(@PathVariable Long id) throws ApiException {
         manufacturerService.delete(id);
@@ -0,0 +1,29 @@
+package com.haufe.technical.api.controller;
+
+import com.haufe.technical.api.controller.dto.stats.StatsResponseDto;
+import com.haufe.technical.api.service.stats.CatalogueStatsService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/stats")
+@RequiredArgsConstructor
+@Tag(name = "Stats API")
+public class StatsController {
+
+    private final CatalogueStatsService catalogueStatsService;
+
+    /**
+     * Gets the catalogue statistics.
+     *
+     * @return the {@link StatsResponseDto} with the beer counts per style, manufacturer and country,
+     * and the ABV min/avg/max
+     */
+    @GetMapping()
+    public StatsResponseDto stats() {
+        return catalogueStatsService.stats();
+    }
+}
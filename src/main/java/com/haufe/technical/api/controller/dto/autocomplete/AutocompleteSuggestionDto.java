@@ -0,0 +1,3 @@
+package com.haufe.technical.api.controller.dto.autocomplete;
+
+public record AutocompleteSuggestionDto(String type, Long id, String name) {}
@@ -0,0 +1,14 @@
+package com.haufe.technical.api.controller.dto.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * One operation of a batch, expressed as the equivalent API request.
+ *
+ * @param id     optional name of the operation, its created ID can be referenced as {@code $id}
+ *               in the path of the later operations
+ * @param method the HTTP method, {@code POST}, {@code PUT} or {@code DELETE}
+ * @param path   the API path, e.g. {@code /api/beer/$brewery}
+ * @param body   the request body of the creations and updates
+ */
+public record BatchOperationDto(String id, String method, String path, JsonNode body) {}
@@ -0,0 +1,5 @@
+package com.haufe.technical.api.controller.dto.batch;
+
+import java.util.List;
+
+public record BatchRequestDto(List<BatchOperationDto> operations) {}
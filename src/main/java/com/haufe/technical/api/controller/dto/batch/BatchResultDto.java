@@ -0,0 +1,8 @@
+package com.haufe.technical.api.controller.dto.batch;
+
+/**
+ * @param id     the name of the operation, if any
+ * @param status the HTTP status the equivalent API request would have returned
+ * @param body   the response body the equivalent API request would have returned, if any
+ */
+public record BatchResultDto(String id, int status, Object body) {}
@@ -0,0 +1,12 @@
+package com.haufe.technical.api.controller.dto.beer;
+
+import com.haufe.technical.api.domain.event.ChangeType;
+
+import java.time.Instant;
+
+/**
+ * A version of a beer, valid from its change until the next one.
+ * The fields of a {@link ChangeType#DELETED} version are null.
+ */
+public record BeerVersionDto(Instant validFrom, ChangeType change, String name, Float avb, String style,
+                             String description, Long manufacturerId) {}
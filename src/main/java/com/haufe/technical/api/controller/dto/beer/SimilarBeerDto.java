@@ -0,0 +1,8 @@
+package com.haufe.technical.api.controller.dto.beer;
+
+/**
+ * A beer similar to another one.
+ *
+ * @param score the similarity, from 0 (nothing in common) to 1 (same style, ABV and description words)
+ */
+public record SimilarBeerDto(Long id, String name, float score) {}
@@ -0,0 +1,19 @@
+package com.haufe.technical.api.controller.dto.job;
+
+import com.haufe.technical.api.domain.entity.Job;
+
+import java.time.Instant;
+
+/**
+ * @param total     the number of items to process
+ * @param processed the number of items processed and committed so far
+ * @param error     why the job failed, null otherwise
+ */
+public record JobDto(Long id, Job.Type type, Job.Status status, long total, long processed, String error,
+                     Instant createdAt, Instant updatedAt) {
+
+    public static JobDto of(Job job) {
+        return new JobDto(job.getId(), job.getType(), job.getStatus(), job.getTotal(), job.getProcessed(),
+                job.getError(), job.getCreatedAt(), job.getUpdatedAt());
+    }
+}
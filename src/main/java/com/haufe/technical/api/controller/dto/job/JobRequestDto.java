@@ -0,0 +1,10 @@
+package com.haufe.technical.api.controller.dto.job;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.haufe.technical.api.domain.entity.Job;
+
+/**
+ * @param type       the kind of job
+ * @param parameters the parameters of the job, depending on its type
+ */
+public record JobRequestDto(Job.Type type, JsonNode parameters) {}
@@ -0,0 +1,11 @@
+package com.haufe.technical.api.controller.dto.manufacturer;
+
+import com.haufe.technical.api.domain.event.ChangeType;
+
+import java.time.Instant;
+
+/**
+ * A version of a manufacturer, valid from its change until the next one.
+ * The fields of a {@link ChangeType#DELETED} version are null.
+ */
+public record ManufacturerVersionDto(Instant validFrom, ChangeType change, String name, String country) {}
@@ -0,0 +1,23 @@
+package com.haufe.technical.api.controller.dto.page;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * A listing without its totals, serialized like the pages otherwise.
+ *
+ * @param content the listed rows
+ * @param page    the position of the listed rows
+ */
+public record SliceDto<T>(List<T> content, Metadata page) {
+
+    /**
+     * @param hasNext whether there are more rows after this slice
+     */
+    public record Metadata(int size, int number, boolean hasNext) {}
+
+    public static <T> SliceDto<T> of(Slice<T> slice) {
+        return new SliceDto<>(slice.getContent(), new Metadata(slice.getSize(), slice.getNumber(), slice.hasNext()));
+    }
+}
@@ -0,0 +1,14 @@
+package com.haufe.technical.api.controller.dto.stats;
+
+import java.util.Map;
+
+public record StatsResponseDto(long beers,
+                               long manufacturers,
+                               Map<String, Long> beersByStyle,
+                               Map<String, Long> beersByManufacturer,
+                               Map<String, Long> beersByCountry,
+                               Map<String, Long> manufacturersByCountry,
+                               AbvStats abv) {
+
+    public record AbvStats(Float min, Double avg, Float max) {}
+}
@@ -0,0 +1,178 @@
+package com.haufe.technical.api.dataset;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Deterministic generator of synthetic manufacturers and beers.
+ * <p>
+ * The same seed always produces the same rows, in the same order. The distributions try to look like a real
+ * catalogue: a few countries and styles are much more frequent than the others, the ABV follows a normal
+ * distribution around the usual value of each style, the description lengths are log-normal and a few
+ * manufacturers produce most of the beers. Every generated value fits the columns of {@code schema.sql}.
+ * <p>
+ * The rows are generated lazily, the returned streams must be consumed sequentially.
+ */
+public class DatasetGenerator {
+    private static final long MANUFACTURERS_SALT = 0x6d616e7566616374L;
+    private static final long BEERS_SALT = 0x6265657273626565L;
+
+    private static final String[] MANUFACTURER_ADJECTIVES = {
+            "Golden", "Wild", "Old", "Black", "Red", "Iron", "Silver", "Hoppy", "Rusty", "Lucky", "Brave",
+            "Little", "Grand", "Crooked", "Salty", "Happy", "North", "West", "Stone", "Copper", "Mad", "Lost",
+            "Quiet", "Sunny"};
+    private static final String[] MANUFACTURER_NOUNS = {
+            "Fox", "Owl", "Barrel", "Anchor", "River", "Mill", "Harbor", "Bear", "Oak", "Hill", "Lantern",
+            "Bridge", "Crow", "Goat", "Wolf", "Valley", "Forge", "Abbey", "Island", "Moose", "Raven", "Tower",
+            "Farm", "Canyon"};
+    private static final String[] MANUFACTURER_KINDS = {
+            "Brewing", "Brewery", "Ales", "Beer Co", "Bräu", "Cervesa"};
+    private static final int MANUFACTURER_COMBINATIONS =
+            MANUFACTURER_ADJECTIVES.length * MANUFACTURER_NOUNS.length * MANUFACTURER_KINDS.length;
+    // Coprime with the number of combinations, so that the first names are spread over all the words
+    private static final long COMBINATION_STRIDE = 1_000_003L;
+
+    private static final Weighted<String> COUNTRIES = new Weighted<>(
+            new String[]{"US", "DE", "BE", "UK", "CZ", "ES", "NL", "FR", "IT", "CA", "DK", "IE", "JP", "AU"},
+            new int[]{30, 12, 10, 10, 5, 6, 4, 4, 4, 4, 4, 3, 2, 2});
+
+    private record Style(String name, double meanAbv, double abvDeviation) {}
+
+    private static final Weighted<Style> STYLES = new Weighted<>(
+            new Style[]{
+                    new Style("IPA", 6.5, 0.9),
+                    new Style("Pale Ale", 5.3, 0.6),
+                    new Style("Lager", 4.8, 0.5),
+                    new Style("Pilsner", 4.9, 0.4),
+                    new Style("Stout", 6.5, 2.0),
+                    new Style("Porter", 5.8, 1.0),
+                    new Style("Saison", 6.0, 1.0),
+                    new Style("Wheat Beer", 5.0, 0.5),
+                    new Style("Amber Ale", 5.5, 0.6),
+                    new Style("Sour", 4.5, 1.2),
+                    new Style("Belgian Strong Ale", 9.0, 1.2),
+                    new Style("Bock", 6.8, 1.0),
+                    new Style("Barleywine", 10.5, 1.5),
+                    new Style("Gose", 4.3, 0.5),
+                    new Style("Mixed fermentation", 6.0, 1.5),
+                    new Style("Flanders Red Ale", 6.0, 0.8)},
+            new int[]{20, 14, 14, 8, 8, 5, 5, 6, 4, 4, 3, 2, 2, 2, 2, 1});
+
+    private static final String[] BEER_FLAVOURS = {
+            "Citra", "Hazy", "Midnight", "Golden", "Elderflower", "Apricot", "Smoked", "Double", "Imperial",
+            "Session", "Juicy", "Cherry", "Coffee", "Vanilla", "Honey", "Rye", "Mango", "Oak Aged", "Winter",
+            "Summer", "Dry Hopped", "Blood Orange", "Coconut", "Raspberry"};
+    private static final String[] BEER_NOUNS = {
+            "Dream", "Haze", "Storm", "Sunrise", "Ritual", "Echo", "Harvest", "Lullaby", "Riot", "Fable",
+            "Voyage", "Pils", "Crush", "Drift", "Nectar", "Shadow", "Meadow", "Tide", "Ember", "Parade"};
+    private static final String[] DESCRIPTION_ADJECTIVES = {
+            "dry", "fruity", "hoppy", "crisp", "malty", "sour", "rich", "light", "bitter", "smooth", "complex",
+            "refreshing", "juicy", "dark", "floral", "spicy", "tart", "roasty"};
+    private static final String[] DESCRIPTION_NOTES = {
+            "citrus", "tropical fruit", "caramel", "coriander", "oak", "pine", "chocolate", "coffee", "stone fruit",
+            "biscuit", "honey", "elderflower", "red berries", "toffee", "lemon zest", "black pepper"};
+    private static final int MIN_DESCRIPTION_LENGTH = 20;
+    private static final int MAX_DESCRIPTION_LENGTH = 200;
+
+    public record ManufacturerRow(String name, String country) {}
+
+    /**
+     * @param manufacturer the index of the beer's manufacturer in the generated manufacturers
+     */
+    public record BeerRow(String name, float abv, String style, String description, int manufacturer) {}
+
+    private final long seed;
+
+    public DatasetGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Generates manufacturers with unique names.
+     */
+    public Stream<ManufacturerRow> manufacturers(int count) {
+        final SplittableRandom random = new SplittableRandom(seed ^ MANUFACTURERS_SALT);
+        return IntStream.range(0, count).mapToObj(index -> new ManufacturerRow(
+                manufacturerName(index),
+                COUNTRIES.pick(random)));
+    }
+
+    /**
+     * Generates beers, each one referencing one of the given number of manufacturers.
+     */
+    public Stream<BeerRow> beers(int count, int manufacturers) {
+        final SplittableRandom random = new SplittableRandom(seed ^ BEERS_SALT);
+        return IntStream.range(0, count).mapToObj(index -> {
+            final Style style = STYLES.pick(random);
+            return new BeerRow(
+                    pick(random, BEER_FLAVOURS) + " " + pick(random, BEER_NOUNS),
+                    abv(random, style),
+                    style.name(),
+                    description(random),
+                    // Squaring a uniform value skews the beers towards the first manufacturers
+                    (int) (manufacturers * Math.pow(random.nextDouble(), 2)));
+        });
+    }
+
+    private static String manufacturerName(int index) {
+        final int combination = (int) (index * COMBINATION_STRIDE % MANUFACTURER_COMBINATIONS);
+        final int round = index / MANUFACTURER_COMBINATIONS;
+        final int kinds = MANUFACTURER_KINDS.length;
+        final int nouns = MANUFACTURER_NOUNS.length;
+        final String name = MANUFACTURER_ADJECTIVES[combination / (kinds * nouns)] + " "
+                + MANUFACTURER_NOUNS[combination / kinds % nouns] + " "
+                + MANUFACTURER_KINDS[combination % kinds];
+        return round == 0 ? name : name + " " + (round + 1);
+    }
+
+    private static float abv(SplittableRandom random, Style style) {
+        final double abv = style.meanAbv() + style.abvDeviation() * random.nextGaussian();
+        return Math.round(Math.clamp(abv, 0.5, 15.0) * 10) / 10f;
+    }
+
+    private static String description(SplittableRandom random) {
+        // Log-normal length, the median being around 75 characters, filled with whole sentences
+        final int length = (int) Math.clamp(Math.exp(4.3 + 0.45 * random.nextGaussian()),
+                MIN_DESCRIPTION_LENGTH, MAX_DESCRIPTION_LENGTH);
+        final StringBuilder description = new StringBuilder("A %s and %s beer with a hint of %s."
+                .formatted(pick(random, DESCRIPTION_ADJECTIVES), pick(random, DESCRIPTION_ADJECTIVES),
+                        pick(random, DESCRIPTION_NOTES)));
+        while (true) {
+            final String sentence = " Notes of %s and %s.".formatted(
+                    pick(random, DESCRIPTION_NOTES), pick(random, DESCRIPTION_NOTES));
+            if (description.length() + sentence.length() > length) {
+                return description.toString();
+            }
+            description.append(sentence);
+        }
+    }
+
+    private static <T> T pick(SplittableRandom random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static final class Weighted<T> {
+        private final T[] values;
+        private final int[] cumulativeWeights;
+
+        private Weighted(T[] values, int[] weights) {
+            this.values = values;
+            this.cumulativeWeights = new int[weights.length];
+            int total = 0;
+            for (int i = 0; i < weights.length; ++i) {
+                total += weights[i];
+                cumulativeWeights[i] = total;
+            }
+        }
+
+        private T pick(SplittableRandom random) {
+            final int target = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            int index = 0;
+            while (cumulativeWeights[index] <= target) {
+                ++index;
+            }
+            return values[index];
+        }
+    }
+}
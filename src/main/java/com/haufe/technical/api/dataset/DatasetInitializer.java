@@ -0,0 +1,26 @@
+package com.haufe.technical.api.dataset;
+
+import com.haufe.technical.api.config.DatasetProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the synthetic dataset of the {@code api.dataset.profile} at startup, e.g. with
+ * {@code --api.dataset.profile=1M}. Runners execute before the application is ready,
+ * so the in-memory indexes built on {@code ApplicationReadyEvent} already include the dataset.
+ */
+@Component
+@ConditionalOnProperty(prefix = "api.dataset", name = "profile")
+@RequiredArgsConstructor
+public class DatasetInitializer implements ApplicationRunner {
+    private final DatasetProperties properties;
+    private final DatasetLoader loader;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        loader.load(DatasetProfile.of(properties.profile()), properties.seed(), properties.batchSize());
+    }
+}
@@ -0,0 +1,85 @@
+package com.haufe.technical.api.dataset;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StopWatch;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Fast loader of the synthetic datasets, with plain JDBC batches bypassing JPA.
+ * <p>
+ * Every batch is inserted in its own transaction, so that neither the database nor the JDBC driver hold
+ * millions of pending rows. With MariaDB, add {@code rewriteBatchedStatements=true} to the JDBC URL
+ * so that each batch is sent as a single multi-row insert.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DatasetLoader {
+    private static final String INSERT_MANUFACTURER =
+            "INSERT INTO MANUFACTURER (NAME, COUNTRY, CREATED_AT, UPDATED_AT) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_BEER = "INSERT INTO BEER "
+            + "(NAME, ABV, \"STYLE\", DESCRIPTION, MANUFACTURER_ID, CREATED_AT, UPDATED_AT) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Inserts the dataset of the given profile next to the existing rows.
+     *
+     * @param profile   the dataset size
+     * @param seed      the generator seed
+     * @param batchSize rows inserted per JDBC batch and transaction
+     */
+    public void load(DatasetProfile profile, long seed, int batchSize) {
+        final DatasetGenerator generator = new DatasetGenerator(seed);
+        final Timestamp now = Timestamp.from(Instant.now());
+        final StopWatch stopWatch = new StopWatch("dataset " + profile.getLabel());
+
+        stopWatch.start("manufacturers");
+        final long lastExistingId = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(ID), 0) FROM MANUFACTURER", Long.class);
+        insert(INSERT_MANUFACTURER, generator.manufacturers(profile.getManufacturers()), batchSize,
+                manufacturer -> new Object[]{manufacturer.name(), manufacturer.country(), now, now});
+        // The generated IDs grow in insertion order, so the i-th ID is the one of the i-th generated manufacturer
+        final long[] manufacturerIds = jdbcTemplate.queryForList(
+                        "SELECT ID FROM MANUFACTURER WHERE ID > ? ORDER BY ID", Long.class, lastExistingId)
+                .stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+        stopWatch.stop();
+
+        stopWatch.start("beers");
+        insert(INSERT_BEER, generator.beers(profile.getBeers(), manufacturerIds.length), batchSize,
+                beer -> new Object[]{beer.name(), beer.abv(), beer.style(), beer.description(),
+                        manufacturerIds[beer.manufacturer()], now, now});
+        stopWatch.stop();
+
+        log.info("Loaded dataset '{}' ({} manufacturers, {} beers, seed {}) in {} ms",
+                profile.getLabel(), profile.getManufacturers(), profile.getBeers(), seed,
+                stopWatch.getTotalTimeMillis());
+        log.debug(stopWatch.prettyPrint());
+    }
+
+    private <T> void insert(String sql, Stream<T> rows, int batchSize, Function<T, Object[]> toArguments) {
+        final Iterator<T> iterator = rows.iterator();
+        final List<Object[]> batch = new ArrayList<>(batchSize);
+        while (iterator.hasNext()) {
+            batch.add(toArguments.apply(iterator.next()));
+            if (batch.size() == batchSize || !iterator.hasNext()) {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, batch));
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.haufe.technical.api.dataset;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Sizes of the synthetic datasets.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum DatasetProfile {
+    SMALL("small", 100, 1_000),
+    ONE_MILLION("1M", 20_000, 1_000_000),
+    TEN_MILLION("10M", 200_000, 10_000_000);
+
+    private final String label;
+    private final int manufacturers;
+    private final int beers;
+
+    /**
+     * Finds a profile by its label ({@code small}, {@code 1M}, {@code 10M}) or by its name, ignoring case.
+     *
+     * @throws IllegalArgumentException if there is no such profile
+     */
+    public static DatasetProfile of(String name) {
+        return Arrays.stream(values())
+                .filter(profile -> profile.label.equalsIgnoreCase(name) || profile.name().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown dataset profile '%s'. Allowed profiles: %s"
+                        .formatted(name, Arrays.stream(values())
+                                .map(DatasetProfile::getLabel)
+                                .collect(Collectors.joining(", ")))));
+    }
+}
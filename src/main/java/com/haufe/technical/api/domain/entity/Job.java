@@ -0,0 +1,74 @@
+package com.haufe.technical.api.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+
+/**
+ * A bulk job, run in chunks by the job workers. Its checkpoint is committed with every chunk, so that a
+ * job interrupted by a restart resumes after its last committed chunk.
+ * <p>
+ * Only the changed columns are updated, so that committing a chunk does not overwrite a cancellation
+ * requested meanwhile.
+ */
+@Entity
+@DynamicUpdate
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Job {
+    public enum Type {
+        /** Creates the beers of a supplier catalogue for a manufacturer */
+        IMPORT_BEERS,
+        /** Deletes every beer of a manufacturer */
+        DELETE_MANUFACTURER_BEERS
+    }
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED,
+        CANCELLED;
+
+        public boolean isFinished() {
+            return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Enumerated(EnumType.STRING)
+    private Type type;
+    @Enumerated(EnumType.STRING)
+    private Status status;
+    @Lob
+    @ToString.Exclude
+    private String parameters;
+    private long total;
+    private long processed;
+    /** Job specific position after the last committed chunk */
+    private long checkpoint;
+    private String error;
+    private boolean cancelRequested;
+    private String createdBy;
+    /** The instance running the job, with the last time it reported progress */
+    private String owner;
+    private Instant heartbeatAt;
+    /** Detects a chunk committed by an instance that lost the job to another one, see {@code JobRepository#claim} */
+    @Version
+    private long version;
+
+    @EqualsAndHashCode.Exclude
+    @CreationTimestamp
+    private Instant createdAt;
+    @EqualsAndHashCode.Exclude
+    @UpdateTimestamp
+    private Instant updatedAt;
+}
@@ -0,0 +1,52 @@
+package com.haufe.technical.api.domain.event;
+
+import com.haufe.technical.api.domain.entity.Beer;
+
+import java.time.Instant;
+
+/**
+ * Published by the beer service, within the transaction, whenever a beer is created, updated or deleted.
+ *
+ * @param type     the kind of change
+ * @param id       the ID of the changed beer
+ * @param previous the state before the change, null on creation
+ * @param current  the state after the change, null on deletion
+ */
+public record BeerChangedEvent(ChangeType type, Long id, BeerState previous, BeerState current) {
+
+    /**
+     * @param createdAt when the beer was created, if known
+     * @param updatedAt when the beer was last updated before this state was taken, if known
+     */
+    public record BeerState(Long id, String name, Float abv, String style, String description, Long manufacturerId,
+                            Instant createdAt, Instant updatedAt) {
+
+        public BeerState(Long id, String name, Float abv, String style, String description, Long manufacturerId) {
+            this(id, name, abv, style, description, manufacturerId, null, null);
+        }
+
+        public static BeerState of(Beer beer) {
+            return new BeerState(
+                    beer.getId(),
+                    beer.getName(),
+                    beer.getAbv(),
+                    beer.getStyle(),
+                    beer.getDescription(),
+                    beer.getManufacturer() != null ? beer.getManufacturer().getId() : null,
+                    beer.getCreatedAt(),
+                    beer.getUpdatedAt());
+        }
+    }
+
+    public static BeerChangedEvent created(Beer beer) {
+        return new BeerChangedEvent(ChangeType.CREATED, beer.getId(), null, BeerState.of(beer));
+    }
+
+    public static BeerChangedEvent updated(BeerState previous, Beer beer) {
+        return new BeerChangedEvent(ChangeType.UPDATED, beer.getId(), previous, BeerState.of(beer));
+    }
+
+    public static BeerChangedEvent deleted(Beer beer) {
+        return new BeerChangedEvent(ChangeType.DELETED, beer.getId(), BeerState.of(beer), null);
+    }
+}
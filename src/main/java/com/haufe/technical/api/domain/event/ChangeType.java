@@ -0,0 +1,7 @@
+package com.haufe.technical.api.domain.event;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,48 @@
+package com.haufe.technical.api.domain.event;
+
+import com.haufe.technical.api.domain.entity.Manufacturer;
+
+import java.time.Instant;
+
+/**
+ * Published by the manufacturer service, within the transaction, whenever a manufacturer is created,
+ * updated or deleted.
+ *
+ * @param type     the kind of change
+ * @param id       the ID of the changed manufacturer
+ * @param previous the state before the change, null on creation
+ * @param current  the state after the change, null on deletion
+ */
+public record ManufacturerChangedEvent(ChangeType type, Long id, ManufacturerState previous, ManufacturerState current) {
+
+    /**
+     * @param createdAt when the manufacturer was created, if known
+     * @param updatedAt when the manufacturer was last updated before this state was taken, if known
+     */
+    public record ManufacturerState(Long id, String name, String country, Instant createdAt, Instant updatedAt) {
+
+        public ManufacturerState(Long id, String name, String country) {
+            this(id, name, country, null, null);
+        }
+
+        public static ManufacturerState of(Manufacturer manufacturer) {
+            return new ManufacturerState(manufacturer.getId(), manufacturer.getName(), manufacturer.getCountry(),
+                    manufacturer.getCreatedAt(), manufacturer.getUpdatedAt());
+        }
+    }
+
+    public static ManufacturerChangedEvent created(Manufacturer manufacturer) {
+        return new ManufacturerChangedEvent(
+                ChangeType.CREATED, manufacturer.getId(), null, ManufacturerState.of(manufacturer));
+    }
+
+    public static ManufacturerChangedEvent updated(ManufacturerState previous, Manufacturer manufacturer) {
+        return new ManufacturerChangedEvent(
+                ChangeType.UPDATED, manufacturer.getId(), previous, ManufacturerState.of(manufacturer));
+    }
+
+    public static ManufacturerChangedEvent deleted(Manufacturer manufacturer) {
+        return new ManufacturerChangedEvent(
+                ChangeType.DELETED, manufacturer.getId(), ManufacturerState.of(manufacturer), null);
+    }
+}
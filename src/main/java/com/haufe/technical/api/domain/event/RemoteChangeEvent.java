@@ -0,0 +1,22 @@
+package com.haufe.technical.api.domain.event;
+
+import java.util.List;
+
+/**
+ * Published by the cluster invalidation service, outside any transaction, with the changes committed by
+ * the other instances since its previous poll. The in-process caches must discard or reload the changed
+ * entities; unlike the local change events, the previous and current states are not known.
+ *
+ * @param changes the changes, in the order they were polled
+ */
+public record RemoteChangeEvent(List<Change> changes) {
+    public static final String BEER = "beer";
+    public static final String MANUFACTURER = "manufacturer";
+
+    /**
+     * @param entity {@link #BEER} or {@link #MANUFACTURER}
+     * @param id     the ID of the changed entity
+     * @param type   the kind of change
+     */
+    public record Change(String entity, Long id, ChangeType type) {}
+}
@@ -0,0 +1,23 @@
+package com.haufe.technical.api.domain.repository;
+
+/**
+ * A bucket of the ABV histogram: the number of beers whose ABV rounds to {@code bucket / PER_UNIT}.
+ */
+public record AbvBucket(long bucket, long beers) {
+    /**
+     * Buckets per ABV unit, i.e. a resolution of 0.1%, the precision the ABVs are labelled with.
+     */
+    public static final int PER_UNIT = 10;
+
+    public static long of(float abv) {
+        // In double precision, like the query
+        return Math.round((double) abv * PER_UNIT);
+    }
+
+    /**
+     * @return the ABV the beers of the bucket round to
+     */
+    public static float abv(long bucket) {
+        return (float) ((double) bucket / PER_UNIT);
+    }
+}
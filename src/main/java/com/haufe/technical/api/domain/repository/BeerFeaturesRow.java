@@ -0,0 +1,6 @@
+package com.haufe.technical.api.domain.repository;
+
+/**
+ * Projection of a beer to the attributes its similarity is computed from.
+ */
+public record BeerFeaturesRow(Long id, String style, Float abv, String description) {}
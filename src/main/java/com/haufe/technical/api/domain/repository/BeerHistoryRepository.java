@@ -0,0 +1,77 @@
+package com.haufe.technical.api.domain.repository;
+
+import com.haufe.technical.api.controller.dto.beer.BeerVersionDto;
+import com.haufe.technical.api.domain.event.BeerChangedEvent;
+import com.haufe.technical.api.domain.event.ChangeType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Append-only history of the beers, one row per change. Every lookup goes through the
+ * {@code (BEER_ID, VALID_FROM)} index.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BeerHistoryRepository {
+    private static final String COLUMNS = "VALID_FROM, CHANGE_TYPE, NAME, ABV, \"STYLE\", DESCRIPTION, MANUFACTURER_ID";
+    private static final RowMapper<BeerVersionDto> ROW_MAPPER = (resultSet, rowNum) -> new BeerVersionDto(
+            resultSet.getTimestamp("VALID_FROM").toInstant(),
+            ChangeType.valueOf(resultSet.getString("CHANGE_TYPE")),
+            resultSet.getString("NAME"),
+            resultSet.getObject("ABV", Float.class),
+            resultSet.getString("STYLE"),
+            resultSet.getString("DESCRIPTION"),
+            resultSet.getObject("MANUFACTURER_ID", Long.class));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param state the state after the change, null on deletion
+     */
+    public void append(Long id, ChangeType type, Instant validFrom, BeerChangedEvent.BeerState state) {
+        jdbcTemplate.update("INSERT INTO BEER_HISTORY (BEER_ID, " + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                id,
+                Timestamp.from(validFrom),
+                type.name(),
+                state != null ? state.name() : null,
+                state != null ? state.abv() : null,
+                state != null ? state.style() : null,
+                state != null ? state.description() : null,
+                state != null ? state.manufacturerId() : null);
+    }
+
+    /**
+     * @return the version valid at the given instant, if the beer had changed by then
+     */
+    public Optional<BeerVersionDto> findAsOf(Long id, Instant instant) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM BEER_HISTORY WHERE BEER_ID = ? AND VALID_FROM <= ? "
+                        + "ORDER BY VALID_FROM DESC, HISTORY_ID DESC LIMIT 1",
+                ROW_MAPPER, id, Timestamp.from(instant)).stream().findFirst();
+    }
+
+    public boolean hasHistory(Long id) {
+        return !jdbcTemplate.queryForList("SELECT 1 FROM BEER_HISTORY WHERE BEER_ID = ? LIMIT 1", Integer.class, id).isEmpty();
+    }
+
+    /**
+     * @return the versions of the beer, from the oldest one
+     */
+    public Page<BeerVersionDto> findAll(Long id, Pageable pageable) {
+        final String query = "SELECT " + COLUMNS + " FROM BEER_HISTORY WHERE BEER_ID = ? ORDER BY VALID_FROM, HISTORY_ID";
+        final List<BeerVersionDto> content = pageable.isPaged()
+                ? jdbcTemplate.query(query + " LIMIT ? OFFSET ?", ROW_MAPPER, id, pageable.getPageSize(), pageable.getOffset())
+                : jdbcTemplate.query(query, ROW_MAPPER, id);
+        return PageableExecutionUtils.getPage(content, pageable, () -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM BEER_HISTORY WHERE BEER_ID = ?", Long.class, id));
+    }
+}
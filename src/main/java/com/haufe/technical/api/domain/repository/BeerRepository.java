@@ -1,11 +1,61 @@
 package com.haufe.technical.api.domain.repository;
 
 import com.haufe.technical.api.domain.entity.Beer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface BeerRepository extends CrudRepository<Beer, Long>, PagingAndSortingRepository<Beer, Long> {
+    String ABV_BUCKET = "cast(round(cast(b.abv as Double) * " + AbvBucket.PER_UNIT + ", 0) as Long)";
+
     boolean existsByManufacturerId(Long manufacturerId);
+
+    /**
+     * Lists a page of beers without counting them, see {@code RowCounterService} for the total.
+     */
+    Slice<Beer> findAllBy(Pageable pageable);
+
+    long countByManufacturerId(Long manufacturerId);
+
+    /**
+     * Builds the ABV histogram of the beers, with one row per {@link AbvBucket}.
+     */
+    @Query("select new com.haufe.technical.api.domain.repository.AbvBucket(" + ABV_BUCKET + ", count(b.id)) "
+            + "from Beer b where b.abv is not null group by " + ABV_BUCKET)
+    List<AbvBucket> aggregateAbv();
+
+    /**
+     * Keyset pagination over the beers of a manufacturer.
+     *
+     * @param after    the last ID of the previous batch, 0 to start
+     * @param pageable the batch size
+     * @return the next batch of beer IDs of the manufacturer, by ID
+     */
+    @Query("select b.id from Beer b where b.manufacturer.id = :manufacturerId and b.id > :after order by b.id")
+    List<Long> findIdsByManufacturerAfter(Long manufacturerId, Long after, Pageable pageable);
+
+    /**
+     * Keyset pagination over the beer names.
+     *
+     * @param after    the last ID of the previous batch, 0 to start
+     * @param pageable the batch size
+     * @return the next batch of beer IDs and names, by ID
+     */
+    @Query("select new com.haufe.technical.api.domain.repository.EntityName(b.id, b.name) "
+            + "from Beer b where b.id > :after order by b.id")
+    List<EntityName> findNamesAfter(Long after, Pageable pageable);
+
+    @Query("select new com.haufe.technical.api.domain.repository.EntityName(b.id, b.name) from Beer b where b.id in :ids")
+    List<EntityName> findNamesByIdIn(Collection<Long> ids);
+
+    @Query("select new com.haufe.technical.api.domain.repository.BeerFeaturesRow(b.id, b.style, b.abv, b.description) "
+            + "from Beer b where b.id in :ids")
+    List<BeerFeaturesRow> findFeaturesByIdIn(Collection<Long> ids);
 }
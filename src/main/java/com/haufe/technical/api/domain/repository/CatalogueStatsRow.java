@@ -0,0 +1,16 @@
+package com.haufe.technical.api.domain.repository;
+
+/**
+ * A group of the catalogue aggregation: the beers of a manufacturer with a given style, and the sum of
+ * their ABVs. Manufacturers without beers get a single row with no style and zero counts.
+ *
+ * @param beersWithAbv the beers of the group with an ABV
+ * @param abvSum       the sum of their ABVs, null when there are none
+ */
+public record CatalogueStatsRow(Long manufacturerId,
+                                String manufacturerName,
+                                String country,
+                                String style,
+                                long beers,
+                                long beersWithAbv,
+                                Double abvSum) {}
@@ -0,0 +1,6 @@
+package com.haufe.technical.api.domain.repository;
+
+/**
+ * Projection of an entity to its ID and name.
+ */
+public record EntityName(Long id, String name) {}
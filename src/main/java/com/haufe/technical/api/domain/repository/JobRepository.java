@@ -0,0 +1,64 @@
+package com.haufe.technical.api.domain.repository;
+
+import com.haufe.technical.api.domain.entity.Job;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface JobRepository extends CrudRepository<Job, Long> {
+
+    /**
+     * @param expired the heartbeat before which a running job is considered abandoned by its instance
+     * @return the IDs of the queued and abandoned jobs, oldest first
+     */
+    @Query("select j.id from Job j where j.status = 'QUEUED' or (j.status = 'RUNNING' and j.heartbeatAt < :expired) "
+            + "order by j.id")
+    List<Long> findClaimable(Instant expired, Pageable pageable);
+
+    /**
+     * Atomically takes a queued or abandoned job, so that only one instance runs it. The version is
+     * incremented, so that a chunk of the instance that abandoned the job fails to commit.
+     *
+     * @return whether the job was claimed
+     */
+    @Transactional
+    @Modifying
+    @Query("update versioned Job j set j.status = 'RUNNING', j.owner = :owner, j.heartbeatAt = :now, j.updatedAt = :now "
+            + "where j.id = :id and (j.status = 'QUEUED' or (j.status = 'RUNNING' and j.heartbeatAt < :expired))")
+    int claim(Long id, String owner, Instant now, Instant expired);
+
+    @Transactional
+    @Modifying
+    @Query("update Job j set j.heartbeatAt = :now where j.id = :id and j.owner = :owner")
+    int heartbeat(Long id, String owner, Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("update Job j set j.status = 'CANCELLED', j.updatedAt = :now where j.id = :id and j.status = 'QUEUED'")
+    int cancelQueued(Long id, Instant now);
+
+    /**
+     * Asks a running job to stop after its current chunk. The version is left untouched, so that the
+     * chunk still commits.
+     */
+    @Transactional
+    @Modifying
+    @Query("update Job j set j.cancelRequested = true where j.id = :id")
+    int requestCancel(Long id);
+
+    /**
+     * Requeues the running jobs of an instance shutting down, so that they resume without waiting for
+     * their heartbeat to expire.
+     */
+    @Transactional
+    @Modifying
+    @Query("update Job j set j.status = 'QUEUED', j.owner = null where j.owner = :owner and j.status = 'RUNNING'")
+    int release(String owner);
+}
@@ -0,0 +1,72 @@
+package com.haufe.technical.api.domain.repository;
+
+import com.haufe.technical.api.controller.dto.manufacturer.ManufacturerVersionDto;
+import com.haufe.technical.api.domain.event.ChangeType;
+import com.haufe.technical.api.domain.event.ManufacturerChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Append-only history of the manufacturers, one row per change. Every lookup goes through the
+ * {@code (MANUFACTURER_ID, VALID_FROM)} index.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ManufacturerHistoryRepository {
+    private static final String COLUMNS = "VALID_FROM, CHANGE_TYPE, NAME, COUNTRY";
+    private static final RowMapper<ManufacturerVersionDto> ROW_MAPPER = (resultSet, rowNum) -> new ManufacturerVersionDto(
+            resultSet.getTimestamp("VALID_FROM").toInstant(),
+            ChangeType.valueOf(resultSet.getString("CHANGE_TYPE")),
+            resultSet.getString("NAME"),
+            resultSet.getString("COUNTRY"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param state the state after the change, null on deletion
+     */
+    public void append(Long id, ChangeType type, Instant validFrom, ManufacturerChangedEvent.ManufacturerState state) {
+        jdbcTemplate.update("INSERT INTO MANUFACTURER_HISTORY (MANUFACTURER_ID, " + COLUMNS + ") VALUES (?, ?, ?, ?, ?)",
+                id,
+                Timestamp.from(validFrom),
+                type.name(),
+                state != null ? state.name() : null,
+                state != null ? state.country() : null);
+    }
+
+    /**
+     * @return the version valid at the given instant, if the manufacturer had changed by then
+     */
+    public Optional<ManufacturerVersionDto> findAsOf(Long id, Instant instant) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM MANUFACTURER_HISTORY "
+                        + "WHERE MANUFACTURER_ID = ? AND VALID_FROM <= ? ORDER BY VALID_FROM DESC, HISTORY_ID DESC LIMIT 1",
+                ROW_MAPPER, id, Timestamp.from(instant)).stream().findFirst();
+    }
+
+    public boolean hasHistory(Long id) {
+        return !jdbcTemplate.queryForList("SELECT 1 FROM MANUFACTURER_HISTORY WHERE MANUFACTURER_ID = ? LIMIT 1", Integer.class, id).isEmpty();
+    }
+
+    /**
+     * @return the versions of the manufacturer, from the oldest one
+     */
+    public Page<ManufacturerVersionDto> findAll(Long id, Pageable pageable) {
+        final String query = "SELECT " + COLUMNS + " FROM MANUFACTURER_HISTORY WHERE MANUFACTURER_ID = ? "
+                + "ORDER BY VALID_FROM, HISTORY_ID";
+        final List<ManufacturerVersionDto> content = pageable.isPaged()
+                ? jdbcTemplate.query(query + " LIMIT ? OFFSET ?", ROW_MAPPER, id, pageable.getPageSize(), pageable.getOffset())
+                : jdbcTemplate.query(query, ROW_MAPPER, id);
+        return PageableExecutionUtils.getPage(content, pageable, () -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM MANUFACTURER_HISTORY WHERE MANUFACTURER_ID = ?", Long.class, id));
+    }
+}
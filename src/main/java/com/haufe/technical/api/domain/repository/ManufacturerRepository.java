@@ -1,12 +1,48 @@
 package com.haufe.technical.api.domain.repository;
 
 import com.haufe.technical.api.domain.entity.Manufacturer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface ManufacturerRepository extends
         JpaRepository<Manufacturer, Long>, PagingAndSortingRepository<Manufacturer, Long> {
     boolean existsByName(String name);
+
+    /**
+     * Lists a page of manufacturers without counting them, see {@code RowCounterService} for the total.
+     */
+    Slice<Manufacturer> findAllBy(Pageable pageable);
+
+    /**
+     * Aggregates the beers by manufacturer and style, see {@link BeerRepository#aggregateAbv()} for the ABVs.
+     */
+    @Query("""
+            select new com.haufe.technical.api.domain.repository.CatalogueStatsRow(
+                m.id, m.name, m.country, b.style, count(b.id), count(b.abv), sum(cast(b.abv as Double)))
+            from Manufacturer m left join m.beers b
+            group by m.id, m.name, m.country, b.style""")
+    List<CatalogueStatsRow> aggregateCatalogue();
+
+    /**
+     * Keyset pagination over the manufacturer names.
+     *
+     * @param after    the last ID of the previous batch, 0 to start
+     * @param pageable the batch size
+     * @return the next batch of manufacturer IDs and names, by ID
+     */
+    @Query("select new com.haufe.technical.api.domain.repository.EntityName(m.id, m.name) "
+            + "from Manufacturer m where m.id > :after order by m.id")
+    List<EntityName> findNamesAfter(Long after, Pageable pageable);
+
+    @Query("select new com.haufe.technical.api.domain.repository.EntityName(m.id, m.name) "
+            + "from Manufacturer m where m.id in :ids")
+    List<EntityName> findNamesByIdIn(Collection<Long> ids);
 }
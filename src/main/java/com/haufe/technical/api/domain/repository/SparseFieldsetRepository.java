@@ -0,0 +1,81 @@
+package com.haufe.technical.api.domain.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Reads only the requested columns of an entity, returning each row as a map of response field to value.
+ * The fields are given as a map of response field name to entity attribute name.
+ * The listings are slices, the totals come from {@code RowCounterService}.
+ */
+@Repository
+@Transactional(readOnly = true)
+public class SparseFieldsetRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public <T> Slice<Map<String, Object>> findAll(Class<T> entityType, Map<String, String> fields, Pageable pageable) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        final Root<T> root = query.from(entityType);
+        query.multiselect(selections(root, fields))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        final TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            // One more row tells whether there is a next slice
+            typedQuery.setMaxResults(pageable.getPageSize() + 1);
+        }
+
+        final List<Map<String, Object>> rows = typedQuery.getResultList().stream()
+                .map(tuple -> toMap(tuple, fields))
+                .toList();
+        final boolean hasNext = pageable.isPaged() && rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    public <T> Optional<Map<String, Object>> findById(Class<T> entityType, Long id, Map<String, String> fields) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        final Root<T> root = query.from(entityType);
+        query.multiselect(selections(root, fields))
+                .where(cb.equal(root.get("id"), id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(1)
+                .getResultList()
+                .stream()
+                .findFirst()
+                .map(tuple -> toMap(tuple, fields));
+    }
+
+    private static List<Selection<?>> selections(Root<?> root, Map<String, String> fields) {
+        return fields.entrySet().stream()
+                .<Selection<?>>map(field -> root.get(field.getValue()).alias(field.getKey()))
+                .toList();
+    }
+
+    private static Map<String, Object> toMap(Tuple tuple, Map<String, String> fields) {
+        final Map<String, Object> row = new LinkedHashMap<>();
+        fields.keySet().forEach(field -> row.put(field, tuple.get(field)));
+        return row;
+    }
+}
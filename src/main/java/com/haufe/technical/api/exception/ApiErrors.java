@@ -0,0 +1,47 @@
+package com.haufe.technical.api.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The common errors of the API, thrown as a {@link StacklessApiException}.
+ */
+public final class ApiErrors {
+    public static final ErrorTemplate BEER_NOT_FOUND =
+            ErrorTemplate.of(HttpStatus.NOT_FOUND, "Beer with ID ", " not found");
+    public static final ErrorTemplate MANUFACTURER_NOT_FOUND =
+            ErrorTemplate.of(HttpStatus.NOT_FOUND, "Manufacturer with id ", " not found");
+    public static final ErrorTemplate BEER_NOT_FOUND_AS_OF =
+            ErrorTemplate.of(HttpStatus.NOT_FOUND, "Beer with ID ", " did not exist at ", "");
+    public static final ErrorTemplate MANUFACTURER_NOT_FOUND_AS_OF =
+            ErrorTemplate.of(HttpStatus.NOT_FOUND, "Manufacturer with ID ", " did not exist at ", "");
+    public static final ErrorTemplate JOB_NOT_FOUND =
+            ErrorTemplate.of(HttpStatus.NOT_FOUND, "Job with ID ", " not found");
+    public static final ErrorTemplate NO_FIELD_REQUESTED =
+            ErrorTemplate.of(HttpStatus.BAD_REQUEST, "At least one field must be requested");
+    public static final ErrorTemplate MANUFACTURER_NAME_MISSING =
+            ErrorTemplate.of(HttpStatus.BAD_REQUEST, "Manufacturer name must not be null");
+    public static final ErrorTemplate MANUFACTURER_NAME_TAKEN =
+            ErrorTemplate.of(HttpStatus.BAD_REQUEST, "Manufacturer with name ", " already exists");
+    public static final ErrorTemplate MANUFACTURER_HAS_BEERS =
+            ErrorTemplate.of(HttpStatus.BAD_REQUEST,
+                    "Cannot delete manufacturer with id ", " because it has associated beers");
+
+    /** By the allowed fields, which are constants of the services */
+    private static final Map<Set<String>, ErrorTemplate> UNKNOWN_FIELD = new ConcurrentHashMap<>();
+
+    private ApiErrors() {
+    }
+
+    /**
+     * @param allowed the fields that can be requested, listed in the message
+     * @return the error of an unknown requested field, whose name is the argument
+     */
+    public static ErrorTemplate unknownField(Set<String> allowed) {
+        return UNKNOWN_FIELD.computeIfAbsent(allowed, fields -> ErrorTemplate.of(
+                HttpStatus.BAD_REQUEST, "Unknown field '", "'. Allowed fields: " + String.join(", ", fields)));
+    }
+}
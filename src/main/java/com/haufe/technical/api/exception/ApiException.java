@@ -11,4 +11,12 @@ public class ApiException extends Exception {
         super(message);
         this.code = code;
     }
+
+    /**
+     * For the expected errors that do not need a stack trace, see {@link StacklessApiException}.
+     */
+    protected ApiException(HttpStatus code, String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+        this.code = code;
+    }
 }
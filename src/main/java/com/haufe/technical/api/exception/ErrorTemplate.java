@@ -0,0 +1,109 @@
+package com.haufe.technical.api.exception;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A common error, with a message made of constant parts around its arguments, e.g. {@code Beer with ID 7
+ * not found}. The JSON error body is encoded once around the arguments, so answering the error neither
+ * builds the message nor goes through the generic serialization.
+ */
+public final class ErrorTemplate {
+    private static final byte[] BODY_START = "{\"error\":{\"description\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BODY_END = "\"}}".getBytes(StandardCharsets.UTF_8);
+
+    @Getter
+    private final HttpStatus status;
+    private final String[] parts;
+    /** The encoded parts, the first one starting the body and the last one ending it */
+    private final byte[][] bodyParts;
+    /** The only exception of a template without argument, which is immutable */
+    private final StacklessApiException constant;
+
+    private ErrorTemplate(HttpStatus status, String[] parts) {
+        this.status = status;
+        this.parts = parts.clone();
+        this.bodyParts = new byte[parts.length][];
+        for (int i = 0; i < parts.length; ++i) {
+            bodyParts[i] = JsonStringEncoder.getInstance().quoteAsUTF8(parts[i]);
+        }
+        bodyParts[0] = concat(BODY_START, bodyParts[0]);
+        bodyParts[parts.length - 1] = concat(bodyParts[parts.length - 1], BODY_END);
+        this.constant = parts.length == 1 ? new StacklessApiException(this, new Object[0]) : null;
+    }
+
+    /**
+     * @param parts the message around the arguments, e.g. {@code "Beer with ID ", " not found"} for a single
+     *              argument, or the whole message for the errors without argument
+     */
+    public static ErrorTemplate of(HttpStatus status, String... parts) {
+        if (parts.length == 0) {
+            throw new IllegalArgumentException("An error template needs a message");
+        }
+        return new ErrorTemplate(status, parts);
+    }
+
+    /**
+     * @param arguments the values between the parts, only converted to strings when the message or the body
+     *                  are needed
+     */
+    public StacklessApiException exception(Object... arguments) {
+        if (arguments.length != parts.length - 1) {
+            throw new IllegalArgumentException(
+                    "Expected " + (parts.length - 1) + " arguments, got " + arguments.length);
+        }
+        return constant != null ? constant : new StacklessApiException(this, arguments);
+    }
+
+    String message(Object[] arguments) {
+        final StringBuilder message = new StringBuilder(parts[0]);
+        for (int i = 0; i < arguments.length; ++i) {
+            if (arguments[i] != null) {
+                message.append(arguments[i]);
+            }
+            message.append(parts[i + 1]);
+        }
+        return message.toString();
+    }
+
+    byte[] body(Object[] arguments) {
+        final byte[][] encodedArguments = new byte[arguments.length][];
+        int length = 0;
+        for (int i = 0; i < arguments.length; ++i) {
+            encodedArguments[i] = encode(arguments[i]);
+            length += encodedArguments[i].length;
+        }
+        for (byte[] part : bodyParts) {
+            length += part.length;
+        }
+
+        final byte[] body = new byte[length];
+        int offset = copy(bodyParts[0], body, 0);
+        for (int i = 0; i < arguments.length; ++i) {
+            offset = copy(encodedArguments[i], body, offset);
+            offset = copy(bodyParts[i + 1], body, offset);
+        }
+        return body;
+    }
+
+    private static byte[] encode(Object argument) {
+        return argument == null ? new byte[0]
+                : argument instanceof Number ? argument.toString().getBytes(StandardCharsets.US_ASCII)
+                : JsonStringEncoder.getInstance().quoteAsUTF8(argument.toString());
+    }
+
+    private static int copy(byte[] source, byte[] target, int offset) {
+        System.arraycopy(source, 0, target, offset, source.length);
+        return offset + source.length;
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        final byte[] bytes = new byte[first.length + second.length];
+        System.arraycopy(first, 0, bytes, 0, first.length);
+        System.arraycopy(second, 0, bytes, first.length, second.length);
+        return bytes;
+    }
+}
@@ -0,0 +1,33 @@
+package com.haufe.technical.api.exception;
+
+/**
+ * An expected {@link ApiException}, such as a missing entity, cheap enough to be thrown for every request
+ * of a flood: it has no stack trace, and its message and JSON body are only built from its
+ * {@link ErrorTemplate} when needed.
+ */
+public class StacklessApiException extends ApiException {
+    private final transient ErrorTemplate template;
+    private final transient Object[] arguments;
+    private String message;
+
+    StacklessApiException(ErrorTemplate template, Object[] arguments) {
+        super(template.getStatus(), null, false);
+        this.template = template;
+        this.arguments = arguments;
+    }
+
+    @Override
+    public String getMessage() {
+        if (message == null) {
+            message = template.message(arguments);
+        }
+        return message;
+    }
+
+    /**
+     * @return the error body, {@code {"error":{"description":"<message>"}}} encoded in UTF-8
+     */
+    public byte[] body() {
+        return template.body(arguments);
+    }
+}
@@ -5,28 +5,49 @@ import com.haufe.technical.api.controller.dto.beer.BeerReadResponseDto;
 import com.haufe.technical.api.controller.dto.beer.BeerUpsertDto;
 import com.haufe.technical.api.controller.dto.beer.BeerUpsertResponseDto;
 import com.haufe.technical.api.domain.entity.Beer;
+import com.haufe.technical.api.domain.event.BeerChangedEvent;
 import com.haufe.technical.api.domain.repository.BeerRepository;
 import com.haufe.technical.api.domain.repository.ManufacturerRepository;
+import com.haufe.technical.api.domain.repository.SparseFieldsetRepository;
+import com.haufe.technical.api.exception.ApiErrors;
 import com.haufe.technical.api.exception.ApiException;
+import com.haufe.technical.api.service.coalescing.RequestCoalescer;
+import com.haufe.technical.api.service.counter.RowCounterService;
+import com.haufe.technical.api.service.fields.FieldSet;
+import com.haufe.technical.api.service.snapshot.CatalogueSnapshotService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpStatus;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class BeerService {
+    private static final Map<String, String> READ_FIELDS = FieldSet.allowed("name", "avb:abv", "style", "description");
+    private static final Map<String, String> LIST_FIELDS =
+            FieldSet.allowed("id", "name", "avb:abv", "style", "description");
+
     private final ManufacturerRepository manufacturerRepository;
     private final BeerRepository beerRepository;
+    private final SparseFieldsetRepository sparseFieldsetRepository;
+    private final RequestCoalescer requestCoalescer;
+    private final CatalogueSnapshotService snapshotService;
+    private final RowCounterService rowCounterService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public BeerUpsertResponseDto create(Long manufacturerId, BeerUpsertDto request) throws ApiException {
         if (!manufacturerRepository.existsById(manufacturerId)) {
-            throw new ApiException(HttpStatus.NOT_FOUND, "Manufacturer with ID " + manufacturerId + " not found.");
+            throw ApiErrors.MANUFACTURER_NOT_FOUND.exception(manufacturerId);
         }
 
         final Beer beer = Beer.builder()
@@ -39,6 +60,7 @@ public class BeerService {
 
         Beer savedBeer = beerRepository.save(beer);
         log.atInfo().log(() -> "Created beer: " + savedBeer);
+        eventPublisher.publishEvent(BeerChangedEvent.created(savedBeer));
 
         return new BeerUpsertResponseDto(savedBeer.getId(), savedBeer.getName());
     }
@@ -46,7 +68,8 @@ public class BeerService {
     @Transactional
     public void update(Long id, BeerUpsertDto request) throws ApiException {
         Beer beer = beerRepository.findById(id)
-                .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Beer with ID " + id + " not found."));
+                .orElseThrow(() -> ApiErrors.BEER_NOT_FOUND.exception(id));
+        final BeerChangedEvent.BeerState previous = BeerChangedEvent.BeerState.of(beer);
 
         beer.setName(request.name());
         beer.setAbv(request.avb());
@@ -55,35 +78,102 @@ public class BeerService {
 
         Beer savedBeer = beerRepository.save(beer);
         log.atInfo().log(() -> "Updated beer: " + savedBeer);
+        eventPublisher.publishEvent(BeerChangedEvent.updated(previous, beer));
     }
 
     public BeerReadResponseDto read(Long id) throws ApiException {
-        return beerRepository.findById(id)
-                .map(beer -> new BeerReadResponseDto(
-                        beer.getName(),
-                        beer.getAbv(),
-                        beer.getStyle(),
-                        beer.getDescription()))
-                .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Beer with ID " + id + " not found"));
+        final Optional<BeerReadResponseDto> fromSnapshot = snapshotService.readBeer(id);
+        if (fromSnapshot.isPresent()) {
+            return fromSnapshot.get();
+        }
+
+        return requestCoalescer.coalesce(new RequestCoalescer.Key("beer", "read", id), () ->
+                beerRepository.findById(id)
+                        .map(beer -> new BeerReadResponseDto(
+                                beer.getName(),
+                                beer.getAbv(),
+                                beer.getStyle(),
+                                beer.getDescription()))
+                        .orElseThrow(() -> ApiErrors.BEER_NOT_FOUND.exception(id)));
     }
 
     public Page<BeerListResponseDto> list(Pageable pageable) {
-        return beerRepository.findAll(pageable)
-                .map(beer -> new BeerListResponseDto(
-                        beer.getId(),
-                        beer.getName(),
-                        beer.getAbv(),
-                        beer.getStyle(),
-                        beer.getDescription()));
+        return rowCounterService.page(RowCounterService.Table.BEER, slice(pageable));
+    }
+
+    /**
+     * Lists the beers without their total.
+     *
+     * @param pageable the page to list
+     * @return the slice of beers
+     */
+    public Slice<BeerListResponseDto> slice(Pageable pageable) {
+        final Optional<Page<BeerListResponseDto>> fromSnapshot = snapshotService.listBeers(pageable);
+        if (fromSnapshot.isPresent()) {
+            return fromSnapshot.get();
+        }
+
+        return requestCoalescer.coalesce(new RequestCoalescer.Key("beer", "list", pageable), () ->
+                beerRepository.findAllBy(pageable)
+                        .map(beer -> new BeerListResponseDto(
+                                beer.getId(),
+                                beer.getName(),
+                                beer.getAbv(),
+                                beer.getStyle(),
+                                beer.getDescription())));
     }
 
+    /**
+     * Reads only the requested fields of a beer.
+     *
+     * @param id     the ID of the beer to read
+     * @param fields the comma separated fields to read
+     * @return the requested fields and their values
+     * @throws ApiException if a field is unknown or the beer is not found
+     */
+    public Map<String, Object> read(Long id, String fields) throws ApiException {
+        final FieldSet fieldSet = FieldSet.parse(fields, READ_FIELDS);
+        return requestCoalescer.coalesce(new RequestCoalescer.Key("beer", "read", List.of(id, fieldSet)), () ->
+                sparseFieldsetRepository.findById(Beer.class, id, fieldSet.attributes())
+                        .orElseThrow(() -> ApiErrors.BEER_NOT_FOUND.exception(id)));
+    }
+
+    /**
+     * Lists only the requested fields of the beers.
+     *
+     * @param pageable the page to list
+     * @param fields   the comma separated fields to read
+     * @return a page with the requested fields and their values
+     * @throws ApiException if a field is unknown
+     */
+    public Page<Map<String, Object>> list(Pageable pageable, String fields) throws ApiException {
+        return rowCounterService.page(RowCounterService.Table.BEER, slice(pageable, fields));
+    }
+
+    /**
+     * Lists only the requested fields of the beers, without their total.
+     *
+     * @param pageable the page to list
+     * @param fields   the comma separated fields to read
+     * @return a slice with the requested fields and their values
+     * @throws ApiException if a field is unknown
+     */
+    public Slice<Map<String, Object>> slice(Pageable pageable, String fields) throws ApiException {
+        final FieldSet fieldSet = FieldSet.parse(fields, LIST_FIELDS);
+        return requestCoalescer.coalesce(new RequestCoalescer.Key("beer", "list", List.of(pageable, fieldSet)), () ->
+                sparseFieldsetRepository.findAll(Beer.class, fieldSet.attributes(), pageable));
+    }
+
+    @Transactional
     public void delete(Long id) throws ApiException {
-        if (!beerRepository.existsById(id)) {
+        final Beer beer = beerRepository.findById(id).orElse(null);
+        if (beer == null) {
             log.warn("Attempted to delete non-existing beer with id: {}", id);
-            throw new ApiException(HttpStatus.NOT_FOUND, "Beer with ID " + id + " not found");
+            throw ApiErrors.BEER_NOT_FOUND.exception(id);
         }
 
-        beerRepository.deleteById(id);
+        beerRepository.delete(beer);
         log.info("Deleted beer with id: {}", id);
+        eventPublisher.publishEvent(BeerChangedEvent.deleted(beer));
     }
 }
@@ -5,41 +5,57 @@ import com.haufe.technical.api.controller.dto.manufacturer.ManufacturerReadRespo
 import com.haufe.technical.api.controller.dto.manufacturer.ManufacturerUpsertDto;
 import com.haufe.technical.api.controller.dto.manufacturer.ManufacturerUpsertResponseDto;
 import com.haufe.technical.api.domain.entity.Manufacturer;
+import com.haufe.technical.api.domain.event.ManufacturerChangedEvent;
 import com.haufe.technical.api.domain.repository.BeerRepository;
 import com.haufe.technical.api.domain.repository.ManufacturerRepository;
+import com.haufe.technical.api.domain.repository.SparseFieldsetRepository;
+import com.haufe.technical.api.exception.ApiErrors;
 import com.haufe.technical.api.exception.ApiException;
+import com.haufe.technical.api.service.coalescing.RequestCoalescer;
+import com.haufe.technical.api.service.counter.RowCounterService;
+import com.haufe.technical.api.service.fields.FieldSet;
+import com.haufe.technical.api.service.snapshot.CatalogueSnapshotService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpStatus;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ManufacturerService {
+    private static final Map<String, String> READ_FIELDS = FieldSet.allowed("name", "country");
+    private static final Map<String, String> LIST_FIELDS = FieldSet.allowed("id", "name", "country");
+
     private final ManufacturerRepository manufacturerRepository;
     private final BeerRepository beerRepository;
+    private final SparseFieldsetRepository sparseFieldsetRepository;
+    private final RequestCoalescer requestCoalescer;
+    private final CatalogueSnapshotService snapshotService;
+    private final RowCounterService rowCounterService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ManufacturerUpsertResponseDto create(ManufacturerUpsertDto request) throws ApiException {
         // Validate request
         if (StringUtils.isBlank(request.name())) {
             log.warn("Attempted to create manufacturer with missing name");
-            throw new ApiException(
-                    HttpStatus.BAD_REQUEST,
-                    "Manufacturer name must not be null");
+            throw ApiErrors.MANUFACTURER_NAME_MISSING.exception();
         }
 
         // Check for duplicate manufacturer name
         if (manufacturerRepository.existsByName(request.name())) {
             log.warn("Attempted to create manufacturer with duplicate name: {}", request.name());
-            throw new ApiException(
-                    HttpStatus.BAD_REQUEST,
-                    "Manufacturer with name " + request.name() + " already exists");
+            throw ApiErrors.MANUFACTURER_NAME_TAKEN.exception(request.name());
         }
 
         // Create a new Manufacturer entity
@@ -55,6 +71,7 @@ public class ManufacturerService {
 
         final Manufacturer savedManufacturer = manufacturerRepository.save(manufacturer);
         log.atInfo().log(() -> "Created manufacturer: " + savedManufacturer);
+        eventPublisher.publishEvent(ManufacturerChangedEvent.created(savedManufacturer));
 
         return savedManufacturer;
     }
@@ -62,7 +79,9 @@ public class ManufacturerService {
     @Transactional
     public void update(Long id, ManufacturerUpsertDto request) throws ApiException {
         Manufacturer manufacturer = manufacturerRepository.findById(id)
-                .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Manufacturer with id " + id + " not found"));
+                .orElseThrow(() -> ApiErrors.MANUFACTURER_NOT_FOUND.exception(id));
+        final ManufacturerChangedEvent.ManufacturerState previous =
+                ManufacturerChangedEvent.ManufacturerState.of(manufacturer);
 
         // Don't allow clearing the name
         if (StringUtils.isNotBlank(request.name())) {
@@ -72,43 +91,107 @@ public class ManufacturerService {
 
         if (manufacturerRepository.existsByName(manufacturer.getName())) {
             log.warn("Attempted to update manufacturer with duplicate name: {}", manufacturer.getName());
-            throw new ApiException(
-                    HttpStatus.BAD_REQUEST,
-                    "Manufacturer with name " + manufacturer.getName() + " already exists");
+            throw ApiErrors.MANUFACTURER_NAME_TAKEN.exception(manufacturer.getName());
         }
 
         Manufacturer savedManufacturer = manufacturerRepository.save(manufacturer);
         log.atInfo().log(() -> "Updated manufacturer: " + savedManufacturer);
+        eventPublisher.publishEvent(ManufacturerChangedEvent.updated(previous, manufacturer));
     }
 
     public ManufacturerReadResponseDto read(Long id) throws ApiException {
-        return manufacturerRepository.findById(id)
-                .map(manufacturer -> new ManufacturerReadResponseDto(manufacturer.getName(), manufacturer.getCountry()))
-                .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Manufacturer with id " + id + " not found"));
+        final Optional<ManufacturerReadResponseDto> fromSnapshot = snapshotService.readManufacturer(id);
+        if (fromSnapshot.isPresent()) {
+            return fromSnapshot.get();
+        }
+
+        return requestCoalescer.coalesce(new RequestCoalescer.Key("manufacturer", "read", id), () ->
+                manufacturerRepository.findById(id)
+                        .map(manufacturer -> new ManufacturerReadResponseDto(manufacturer.getName(), manufacturer.getCountry()))
+                        .orElseThrow(() -> ApiErrors.MANUFACTURER_NOT_FOUND.exception(id)));
     }
 
     public Page<ManufacturerListResponseDto> list(Pageable pageable) {
-        return manufacturerRepository.findAll(pageable)
-                .map(manufacturer ->
-                        new ManufacturerListResponseDto(
-                                manufacturer.getId(),
-                                manufacturer.getName(),
-                                manufacturer.getCountry()));
+        return rowCounterService.page(RowCounterService.Table.MANUFACTURER, slice(pageable));
+    }
+
+    /**
+     * Lists the manufacturers without their total.
+     *
+     * @param pageable the page to list
+     * @return the slice of manufacturers
+     */
+    public Slice<ManufacturerListResponseDto> slice(Pageable pageable) {
+        final Optional<Page<ManufacturerListResponseDto>> fromSnapshot = snapshotService.listManufacturers(pageable);
+        if (fromSnapshot.isPresent()) {
+            return fromSnapshot.get();
+        }
+
+        return requestCoalescer.coalesce(new RequestCoalescer.Key("manufacturer", "list", pageable), () ->
+                manufacturerRepository.findAllBy(pageable)
+                        .map(manufacturer ->
+                                new ManufacturerListResponseDto(
+                                        manufacturer.getId(),
+                                        manufacturer.getName(),
+                                        manufacturer.getCountry())));
+    }
+
+    /**
+     * Reads only the requested fields of a manufacturer.
+     *
+     * @param id     the ID of the manufacturer to read
+     * @param fields the comma separated fields to read
+     * @return the requested fields and their values
+     * @throws ApiException if a field is unknown or the manufacturer is not found
+     */
+    public Map<String, Object> read(Long id, String fields) throws ApiException {
+        final FieldSet fieldSet = FieldSet.parse(fields, READ_FIELDS);
+        return requestCoalescer.coalesce(new RequestCoalescer.Key("manufacturer", "read", List.of(id, fieldSet)), () ->
+                sparseFieldsetRepository.findById(Manufacturer.class, id, fieldSet.attributes())
+                        .orElseThrow(() -> ApiErrors.MANUFACTURER_NOT_FOUND.exception(id)));
+    }
+
+    /**
+     * Lists only the requested fields of the manufacturers.
+     *
+     * @param pageable the page to list
+     * @param fields   the comma separated fields to read
+     * @return a page with the requested fields and their values
+     * @throws ApiException if a field is unknown
+     */
+    public Page<Map<String, Object>> list(Pageable pageable, String fields) throws ApiException {
+        return rowCounterService.page(RowCounterService.Table.MANUFACTURER, slice(pageable, fields));
+    }
+
+    /**
+     * Lists only the requested fields of the manufacturers, without their total.
+     *
+     * @param pageable the page to list
+     * @param fields   the comma separated fields to read
+     * @return a slice with the requested fields and their values
+     * @throws ApiException if a field is unknown
+     */
+    public Slice<Map<String, Object>> slice(Pageable pageable, String fields) throws ApiException {
+        final FieldSet fieldSet = FieldSet.parse(fields, LIST_FIELDS);
+        return requestCoalescer.coalesce(new RequestCoalescer.Key("manufacturer", "list", List.of(pageable, fieldSet)), () ->
+                sparseFieldsetRepository.findAll(Manufacturer.class, fieldSet.attributes(), pageable));
     }
 
     @Transactional
     public void delete(Long id) throws ApiException {
-        if (!manufacturerRepository.existsById(id)) {
+        final Manufacturer manufacturer = manufacturerRepository.findById(id).orElse(null);
+        if (manufacturer == null) {
             log.warn("Attempted to delete non-existing manufacturer with id: {}", id);
-            throw new ApiException(HttpStatus.NOT_FOUND, "Manufacturer with id " + id + " not found");
+            throw ApiErrors.MANUFACTURER_NOT_FOUND.exception(id);
         }
 
         if (beerRepository.existsByManufacturerId(id)) {
             log.warn("Attempted to delete manufacturer with id: {} that has associated beers", id);
-            throw new ApiException(HttpStatus.BAD_REQUEST, "Cannot delete manufacturer with id " + id + " because it has associated beers");
+            throw ApiErrors.MANUFACTURER_HAS_BEERS.exception(id);
         }
 
-        manufacturerRepository.deleteById(id);
+        manufacturerRepository.delete(manufacturer);
         log.info("Deleted manufacturer with id: {}", id);
+        eventPublisher.publishEvent(ManufacturerChangedEvent.deleted(manufacturer));
     }
 }
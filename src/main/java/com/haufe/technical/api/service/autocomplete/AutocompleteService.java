@@ -0,0 +1,130 @@
+package com.haufe.technical.api.service.autocomplete;
+
+import com.haufe.technical.api.controller.dto.autocomplete.AutocompleteSuggestionDto;
+import com.haufe.technical.api.domain.event.BeerChangedEvent;
+import com.haufe.technical.api.domain.event.ManufacturerChangedEvent;
+import com.haufe.technical.api.domain.event.RemoteChangeEvent;
+import com.haufe.technical.api.domain.repository.BeerRepository;
+import com.haufe.technical.api.domain.repository.EntityName;
+import com.haufe.technical.api.domain.repository.ManufacturerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Suggests beer and manufacturer names from an in-memory {@link PrefixIndex}.
+ * The index is loaded at startup and kept current from the beer and manufacturer change events,
+ * the names changed by other instances being reloaded from the database. The names changed while the
+ * index is loaded are not overwritten by the loaded ones, which may have been read before the changes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AutocompleteService {
+    public static final String BEER = "beer";
+    public static final String MANUFACTURER = "manufacturer";
+    public static final int MAX_LIMIT = 50;
+    private static final int BATCH_SIZE = 1000;
+
+    private final BeerRepository beerRepository;
+    private final ManufacturerRepository manufacturerRepository;
+    private final PrefixIndex<SuggestionKey> index = new PrefixIndex<>();
+    private volatile Set<SuggestionKey> changedDuringBuild;
+
+    record SuggestionKey(String type, Long id) implements Comparable<SuggestionKey> {
+        private static final Comparator<SuggestionKey> ORDER =
+                Comparator.comparing(SuggestionKey::type).thenComparing(SuggestionKey::id);
+
+        @Override
+        public int compareTo(SuggestionKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    /**
+     * Suggests the names starting with the query, or having a word starting with it.
+     *
+     * @param query the typed text, matched ignoring case and accents
+     * @param limit the maximum number of suggestions, capped to {@link #MAX_LIMIT}
+     * @return the matching beers and manufacturers
+     */
+    public List<AutocompleteSuggestionDto> suggest(String query, int limit) {
+        return index.search(query, Math.clamp(limit, 1, MAX_LIMIT))
+                .entrySet()
+                .stream()
+                .map(match -> new AutocompleteSuggestionDto(match.getKey().type(), match.getKey().id(), match.getValue()))
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        final Set<SuggestionKey> changed = ConcurrentHashMap.newKeySet();
+        changedDuringBuild = changed;
+        try {
+            load(BEER, changed, after -> beerRepository.findNamesAfter(after, PageRequest.ofSize(BATCH_SIZE)));
+            load(MANUFACTURER, changed,
+                    after -> manufacturerRepository.findNamesAfter(after, PageRequest.ofSize(BATCH_SIZE)));
+        } finally {
+            changedDuringBuild = null;
+        }
+        log.info("Indexed {} names for autocomplete", index.size());
+    }
+
+    private void load(String type, Set<SuggestionKey> changed, Function<Long, List<EntityName>> nextBatch) {
+        List<EntityName> batch = nextBatch.apply(0L);
+        while (!batch.isEmpty()) {
+            batch.forEach(entity ->
+                    index.putIf(new SuggestionKey(type, entity.id()), entity.name(), key -> !changed.contains(key)));
+            batch = nextBatch.apply(batch.getLast().id());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeerChanged(BeerChangedEvent event) {
+        changed(new SuggestionKey(BEER, event.id()), event.current() != null ? event.current().name() : null);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onManufacturerChanged(ManufacturerChangedEvent event) {
+        changed(new SuggestionKey(MANUFACTURER, event.id()), event.current() != null ? event.current().name() : null);
+    }
+
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        final Map<String, Set<Long>> idsByEntity = event.changes().stream()
+                .collect(Collectors.groupingBy(RemoteChangeEvent.Change::entity,
+                        Collectors.mapping(RemoteChangeEvent.Change::id, Collectors.toSet())));
+        idsByEntity.forEach((entity, ids) -> {
+            final List<EntityName> found = switch (entity) {
+                case RemoteChangeEvent.BEER -> beerRepository.findNamesByIdIn(ids);
+                case RemoteChangeEvent.MANUFACTURER -> manufacturerRepository.findNamesByIdIn(ids);
+                default -> throw new IllegalArgumentException("Unknown entity " + entity);
+            };
+            final Map<Long, String> names = found.stream()
+                    .collect(Collectors.toMap(EntityName::id, EntityName::name));
+            // The entities not found were deleted
+            ids.forEach(id -> changed(new SuggestionKey(entity, id), names.get(id)));
+        });
+    }
+
+    private void changed(SuggestionKey key, String name) {
+        // Recorded before indexing, so that a load of the key in between skips it
+        final Set<SuggestionKey> changed = changedDuringBuild;
+        if (changed != null) {
+            changed.add(key);
+        }
+        index.put(key, name);
+    }
+}
@@ -0,0 +1,162 @@
+package com.haufe.technical.api.service.autocomplete;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Concurrent in-memory prefix index of names.
+ * <p>
+ * Every name is indexed under its folded form (lower case, accents removed) and under every folded suffix
+ * starting at a word boundary, so that "ipa" matches both "IPA Imperial" and "Hazy IPA". The terms are kept
+ * in a sorted skip list: a prefix lookup is a range scan starting at the prefix, i.e. {@code O(log n + m)}
+ * for {@code m} matching terms, at most {@link #MAX_CANDIDATES} of which are ranked.
+ *
+ * @param <K> the type of the indexed entries keys
+ */
+public class PrefixIndex<K extends Comparable<K>> {
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WORD_BOUNDARY = Pattern.compile("[^\\p{L}\\p{N}]+");
+    /** Matching terms ranked per search, the following ones are ignored */
+    static final int MAX_CANDIDATES = 10_000;
+
+    private final ConcurrentNavigableMap<Term<K>, Indexed> terms = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<K, String> names = new ConcurrentHashMap<>();
+
+    private record Term<K extends Comparable<K>>(String text, K key) implements Comparable<Term<K>> {
+        @Override
+        public int compareTo(Term<K> other) {
+            final int byText = text.compareTo(other.text);
+            if (byText != 0) {
+                return byText;
+            }
+            // A null key is only used to look terms up: it sorts before any key with the same text
+            if (key == null || other.key == null) {
+                return key == other.key ? 0 : key == null ? -1 : 1;
+            }
+            return key.compareTo(other.key);
+        }
+    }
+
+    /**
+     * @param name      the indexed name
+     * @param wholeName whether the term is the whole name rather than one of its words
+     */
+    private record Indexed(String name, boolean wholeName) {}
+
+    /**
+     * A match of a search, ranked by how the name matches, then by its length.
+     */
+    private record Candidate<K extends Comparable<K>>(K key, String name, boolean wholeName)
+            implements Comparable<Candidate<K>> {
+        @Override
+        public int compareTo(Candidate<K> other) {
+            if (wholeName != other.wholeName) {
+                return wholeName ? -1 : 1;
+            }
+            final int byLength = Integer.compare(name.length(), other.name.length());
+            if (byLength != 0) {
+                return byLength;
+            }
+            final int byName = name.compareTo(other.name);
+            return byName != 0 ? byName : key.compareTo(other.key);
+        }
+    }
+
+    /**
+     * Indexes a name, replacing the one previously indexed under the same key. The terms of a key are
+     * replaced while holding its entry, so that concurrent puts of the same key apply one after the other.
+     */
+    public void put(K key, String name) {
+        putIf(key, name, k -> true);
+    }
+
+    /**
+     * Indexes a name like {@link #put}, unless the condition, evaluated while holding the entry of the key,
+     * rejects it.
+     */
+    public void putIf(K key, String name, Predicate<? super K> condition) {
+        names.compute(key, (k, previous) -> {
+            if (Objects.equals(previous, name) || !condition.test(key)) {
+                return previous;
+            }
+            if (previous != null) {
+                termsOf(previous).forEach(text -> terms.remove(new Term<>(text, key)));
+            }
+            if (name != null) {
+                final String wholeName = fold(name).strip();
+                termsOf(name).forEach(text ->
+                        terms.put(new Term<>(text, key), new Indexed(name, text.equals(wholeName))));
+            }
+            return name;
+        });
+    }
+
+    public void remove(K key) {
+        put(key, null);
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    /**
+     * Finds the names starting with the given prefix, or having a word starting with it.
+     *
+     * @param prefix the prefix, matched ignoring case and accents
+     * @param limit  the maximum number of matches
+     * @return the matching keys and names, the names starting with the prefix first, then the shortest ones
+     */
+    public Map<K, String> search(String prefix, int limit) {
+        final String folded = fold(prefix).strip();
+        final Map<K, String> matches = new LinkedHashMap<>();
+        if (folded.isEmpty()) {
+            return matches;
+        }
+
+        // The best match of every key, a name starting with the prefix may also have a word starting with it
+        final Map<K, Candidate<K>> candidates = new HashMap<>();
+        int scanned = 0;
+        for (Map.Entry<Term<K>, Indexed> entry : terms.tailMap(new Term<>(folded, null)).entrySet()) {
+            if (scanned++ >= MAX_CANDIDATES || !entry.getKey().text().startsWith(folded)) {
+                break;
+            }
+            final Candidate<K> candidate =
+                    new Candidate<>(entry.getKey().key(), entry.getValue().name(), entry.getValue().wholeName());
+            candidates.merge(candidate.key(), candidate,
+                    (first, second) -> first.compareTo(second) <= 0 ? first : second);
+        }
+
+        candidates.values().stream()
+                .sorted()
+                .limit(limit)
+                .forEach(candidate -> matches.put(candidate.key(), candidate.name()));
+        return matches;
+    }
+
+    static String fold(String text) {
+        return MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> termsOf(String name) {
+        final String folded = fold(name).strip();
+        final Set<String> terms = new HashSet<>();
+        terms.add(folded);
+
+        final Matcher boundaries = WORD_BOUNDARY.matcher(folded);
+        while (boundaries.find()) {
+            if (boundaries.end() < folded.length()) {
+                terms.add(folded.substring(boundaries.end()));
+            }
+        }
+        return terms;
+    }
+}
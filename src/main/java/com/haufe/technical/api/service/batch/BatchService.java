@@ -0,0 +1,170 @@
+package com.haufe.technical.api.service.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haufe.technical.api.controller.dto.batch.BatchOperationDto;
+import com.haufe.technical.api.controller.dto.batch.BatchRequestDto;
+import com.haufe.technical.api.controller.dto.batch.BatchResponseDto;
+import com.haufe.technical.api.controller.dto.batch.BatchResultDto;
+import com.haufe.technical.api.controller.dto.beer.BeerUpsertDto;
+import com.haufe.technical.api.controller.dto.beer.BeerUpsertResponseDto;
+import com.haufe.technical.api.controller.dto.manufacturer.ManufacturerUpsertDto;
+import com.haufe.technical.api.controller.dto.manufacturer.ManufacturerUpsertResponseDto;
+import com.haufe.technical.api.exception.ApiException;
+import com.haufe.technical.api.service.BeerService;
+import com.haufe.technical.api.service.ManufacturerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Executes an ordered list of write operations in a single transaction.
+ * <p>
+ * Every operation goes through the same service method as its equivalent API request, so the validations
+ * and the change events are the same; the events are only delivered once the whole batch is committed.
+ * When an operation fails, the whole batch is rolled back.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BatchService {
+    public static final int MAX_OPERATIONS = 1000;
+    private static final Pattern PATH = Pattern.compile("/api/(beer|manufacturer)(?:/([^/]+))?/?");
+    private static final String REFERENCE_PREFIX = "$";
+
+    private final ManufacturerService manufacturerService;
+    private final BeerService beerService;
+    private final ObjectMapper objectMapper;
+
+    @FunctionalInterface
+    private interface Handler {
+        Object execute(BatchService service, Long id, JsonNode body) throws ApiException;
+    }
+
+    private static final Map<String, Handler> ROUTES = Map.of(
+            "POST manufacturer", (service, id, body) ->
+                    service.manufacturerService.create(service.body(body, ManufacturerUpsertDto.class)),
+            "PUT manufacturer/{id}", (service, id, body) -> {
+                service.manufacturerService.update(id, service.body(body, ManufacturerUpsertDto.class));
+                return null;
+            },
+            "DELETE manufacturer/{id}", (service, id, body) -> {
+                service.manufacturerService.delete(id);
+                return null;
+            },
+            "POST beer/{id}", (service, id, body) ->
+                    service.beerService.create(id, service.body(body, BeerUpsertDto.class)),
+            "PUT beer/{id}", (service, id, body) -> {
+                service.beerService.update(id, service.body(body, BeerUpsertDto.class));
+                return null;
+            },
+            "DELETE beer/{id}", (service, id, body) -> {
+                service.beerService.delete(id);
+                return null;
+            });
+
+    /**
+     * Executes the operations in order.
+     *
+     * @param request the operations
+     * @return the result of every operation
+     * @throws ApiException if the batch is invalid or one of its operations fails,
+     *                      with the status and the message of the failed operation
+     */
+    @Transactional(rollbackFor = ApiException.class)
+    public BatchResponseDto execute(BatchRequestDto request) throws ApiException {
+        final List<BatchOperationDto> operations = request.operations();
+        if (operations == null || operations.isEmpty() || operations.size() > MAX_OPERATIONS) {
+            throw new ApiException(HttpStatus.BAD_REQUEST,
+                    "A batch must have between 1 and " + MAX_OPERATIONS + " operations");
+        }
+
+        final Map<String, Long> createdIds = new HashMap<>();
+        final List<BatchResultDto> results = new ArrayList<>(operations.size());
+        for (int index = 0; index < operations.size(); ++index) {
+            final BatchOperationDto operation = operations.get(index);
+            try {
+                final Object result = execute(operation, createdIds);
+                if (operation.id() != null) {
+                    if (createdIds.containsKey(operation.id())) {
+                        throw new ApiException(HttpStatus.BAD_REQUEST, "Duplicated operation id '" + operation.id() + "'");
+                    }
+                    createdIds.put(operation.id(), createdId(result));
+                }
+                results.add(new BatchResultDto(operation.id(), HttpStatus.OK.value(), result));
+            } catch (ApiException e) {
+                throw new ApiException(e.getCode(), "Operation %d (%s %s) failed: %s"
+                        .formatted(index, operation.method(), operation.path(), e.getMessage()));
+            }
+        }
+
+        log.info("Executed batch of {} operations", operations.size());
+        return new BatchResponseDto(results);
+    }
+
+    private Object execute(BatchOperationDto operation, Map<String, Long> createdIds) throws ApiException {
+        final Matcher path = PATH.matcher(Objects.requireNonNullElse(operation.path(), ""));
+        if (operation.method() == null || !path.matches()) {
+            throw unsupported(operation);
+        }
+
+        final String entity = path.group(1);
+        final String idSegment = path.group(2);
+        final Handler handler = ROUTES.get(
+                operation.method().toUpperCase(Locale.ROOT) + " " + entity + (idSegment != null ? "/{id}" : ""));
+        if (handler == null) {
+            throw unsupported(operation);
+        }
+        return handler.execute(this, idSegment != null ? resolveId(idSegment, createdIds) : null, operation.body());
+    }
+
+    private static Long resolveId(String segment, Map<String, Long> createdIds) throws ApiException {
+        if (segment.startsWith(REFERENCE_PREFIX)) {
+            final Long id = createdIds.get(segment.substring(REFERENCE_PREFIX.length()));
+            if (id == null) {
+                throw new ApiException(HttpStatus.BAD_REQUEST,
+                        "Unknown reference '" + segment + "', it must name an earlier creation");
+            }
+            return id;
+        }
+
+        try {
+            return Long.valueOf(segment);
+        } catch (NumberFormatException e) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Invalid ID '" + segment + "'");
+        }
+    }
+
+    private static Long createdId(Object result) {
+        if (result instanceof ManufacturerUpsertResponseDto manufacturer) {
+            return manufacturer.id();
+        }
+        if (result instanceof BeerUpsertResponseDto beer) {
+            return beer.id();
+        }
+        return null;
+    }
+
+    private <T> T body(JsonNode body, Class<T> type) throws ApiException {
+        if (body == null || body.isNull()) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Missing body");
+        }
+        try {
+            return objectMapper.treeToValue(body, type);
+        } catch (JsonProcessingException e) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Invalid body: " + e.getOriginalMessage());
+        }
+    }
+
+    private static ApiException unsupported(BatchOperationDto operation) {
+        return new ApiException(HttpStatus.BAD_REQUEST, "Unsupported operation " + operation.method() + " "
+                + operation.path() + ". Allowed operations: POST, PUT and DELETE of /api/manufacturer and /api/beer");
+    }
+}
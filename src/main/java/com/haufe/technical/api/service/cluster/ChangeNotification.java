@@ -0,0 +1,16 @@
+package com.haufe.technical.api.service.cluster;
+
+import com.haufe.technical.api.domain.event.ChangeType;
+
+import java.time.Instant;
+
+/**
+ * A committed change, as exchanged between the instances.
+ *
+ * @param entity     the changed entity, {@code beer} or {@code manufacturer}
+ * @param id         the ID of the changed entity
+ * @param type       the kind of change
+ * @param instanceId the instance that made the change
+ * @param changedAt  when the change was made, on the clock of that instance
+ */
+public record ChangeNotification(String entity, Long id, ChangeType type, String instanceId, Instant changedAt) {}
@@ -0,0 +1,135 @@
+package com.haufe.technical.api.service.cluster;
+
+import com.haufe.technical.api.config.ClusterProperties;
+import com.haufe.technical.api.domain.event.BeerChangedEvent;
+import com.haufe.technical.api.domain.event.ChangeType;
+import com.haufe.technical.api.domain.event.ManufacturerChangedEvent;
+import com.haufe.technical.api.domain.event.RemoteChangeEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps the in-process caches of every instance consistent with the changes made by the others.
+ * <p>
+ * Every change is published to the {@link InvalidationTransport} right before its transaction commits,
+ * so it is delivered if and only if it is committed. The changes of the other instances are polled and
+ * republished locally as a {@link RemoteChangeEvent}, so that the caches are invalidated cluster-wide
+ * within the poll interval.
+ * <p>
+ * Exposes how stale the caches may be: {@code api.cluster.invalidation.lag}, the delay between a change
+ * and its invalidation here, measured on the clocks of both instances; and
+ * {@code api.cluster.invalidation.staleness}, the seconds since the last successful poll.
+ */
+@Service
+@Slf4j
+public class ClusterInvalidationService {
+    private final ClusterProperties properties;
+    private final InvalidationTransport transport;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+    private final String instanceId;
+    private final MeterRegistry meterRegistry;
+    private final Timer lag;
+    private volatile Instant lastPoll;
+
+    @Autowired
+    public ClusterInvalidationService(ClusterProperties properties, InvalidationTransport transport,
+                                      ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this(properties, transport, eventPublisher, meterRegistry, Clock.systemUTC());
+    }
+
+    ClusterInvalidationService(ClusterProperties properties, InvalidationTransport transport,
+                               ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry, Clock clock) {
+        this.properties = properties;
+        this.transport = transport;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.instanceId = StringUtils.isNotBlank(properties.instanceId())
+                ? properties.instanceId()
+                : UUID.randomUUID().toString();
+        this.meterRegistry = meterRegistry;
+        this.lastPoll = clock.instant();
+        this.lag = Timer.builder("api.cluster.invalidation.lag")
+                .description("Delay between a change on another instance and its invalidation here")
+                .register(meterRegistry);
+        Gauge.builder("api.cluster.invalidation.staleness", this,
+                        service -> Duration.between(service.lastPoll, clock.instant()).toMillis() / 1000.0)
+                .description("Seconds since the changes of the other instances were last polled")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public String instanceId() {
+        return instanceId;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onBeerChanged(BeerChangedEvent event) {
+        publish(RemoteChangeEvent.BEER, event.id(), event.type());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onManufacturerChanged(ManufacturerChangedEvent event) {
+        publish(RemoteChangeEvent.MANUFACTURER, event.id(), event.type());
+    }
+
+    private void publish(String entity, Long id, ChangeType type) {
+        if (properties.enabled()) {
+            transport.publish(new ChangeNotification(entity, id, type, instanceId, clock.instant()));
+        }
+    }
+
+    /**
+     * Polls the changes of the other instances and republishes them locally.
+     */
+    @Scheduled(fixedDelayString = "${api.cluster.poll-interval:PT1S}")
+    public void poll() {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        final List<ChangeNotification> notifications = transport.poll();
+        final Instant now = clock.instant();
+        final List<RemoteChangeEvent.Change> changes = notifications.stream()
+                .filter(notification -> !instanceId.equals(notification.instanceId()))
+                .map(notification -> {
+                    lag.record(Duration.between(notification.changedAt(), now).abs());
+                    Counter.builder("api.cluster.invalidations")
+                            .description("Changes of the other instances invalidated here")
+                            .tag("entity", notification.entity())
+                            .register(meterRegistry)
+                            .increment();
+                    return new RemoteChangeEvent.Change(notification.entity(), notification.id(), notification.type());
+                })
+                .toList();
+        lastPoll = now;
+
+        if (!changes.isEmpty()) {
+            log.debug("Invalidating {} changes of other instances", changes.size());
+            eventPublisher.publishEvent(new RemoteChangeEvent(changes));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${api.cluster.retention:PT1H}")
+    public void purge() {
+        if (properties.enabled()) {
+            transport.purge(clock.instant().minus(properties.retention()));
+        }
+    }
+}
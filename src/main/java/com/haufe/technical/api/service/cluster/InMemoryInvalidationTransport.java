@@ -0,0 +1,29 @@
+package com.haufe.technical.api.service.cluster;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Delivers the changes within the JVM only. Stands in for the {@link JdbcInvalidationTransport} in tests
+ * and in single instance deployments, where there is nobody else to notify.
+ */
+public class InMemoryInvalidationTransport implements InvalidationTransport {
+    private final Queue<ChangeNotification> pending = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void publish(ChangeNotification notification) {
+        pending.add(notification);
+    }
+
+    @Override
+    public List<ChangeNotification> poll() {
+        final List<ChangeNotification> notifications = new ArrayList<>();
+        ChangeNotification notification;
+        while ((notification = pending.poll()) != null) {
+            notifications.add(notification);
+        }
+        return notifications;
+    }
+}
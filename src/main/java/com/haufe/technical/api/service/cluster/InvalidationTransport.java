@@ -0,0 +1,26 @@
+package com.haufe.technical.api.service.cluster;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Exchanges the changes between the instances of the application.
+ */
+public interface InvalidationTransport {
+
+    /**
+     * Publishes a change, within the transaction making it so that it is only delivered once committed.
+     */
+    void publish(ChangeNotification notification);
+
+    /**
+     * @return the changes committed since the last poll, by any instance including this one
+     */
+    List<ChangeNotification> poll();
+
+    /**
+     * Forgets the changes made before the given instant.
+     */
+    default void purge(Instant before) {
+    }
+}
@@ -0,0 +1,164 @@
+package com.haufe.technical.api.service.cluster;
+
+import com.haufe.technical.api.domain.event.ChangeType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.LongSupplier;
+
+/**
+ * Exchanges the changes through the {@code CHANGE_LOG} table, written in the transaction of every change
+ * and polled by every instance past its watermark, the highest ID up to which all changes were delivered.
+ * <p>
+ * IDs are assigned on insert but committed in any order, so a change with a lower ID may become visible
+ * after one with a higher ID. The watermark therefore stops at a gap until the missing ID is delivered, or
+ * until the gap is older than the gap timeout, assuming then that its transaction was rolled back. The
+ * skipped IDs are still polled for the late window, in case their transaction was only slow to commit, and
+ * delivered once if they show up.
+ */
+@Slf4j
+public class JdbcInvalidationTransport implements InvalidationTransport {
+    private static final RowMapper<Row> ROW_MAPPER = (resultSet, rowNum) -> new Row(
+            resultSet.getLong("ID"),
+            new ChangeNotification(
+                    resultSet.getString("ENTITY"),
+                    resultSet.getLong("ENTITY_ID"),
+                    ChangeType.valueOf(resultSet.getString("CHANGE_TYPE")),
+                    resultSet.getString("INSTANCE_ID"),
+                    resultSet.getTimestamp("CHANGED_AT").toInstant()));
+
+    /**
+     * Bounds the skipped IDs polled again, the oldest ones are given up first.
+     */
+    static final int MAX_SKIPPED = 1000;
+    private static final String SELECT = "SELECT ID, ENTITY, ENTITY_ID, CHANGE_TYPE, INSTANCE_ID, CHANGED_AT "
+            + "FROM CHANGE_LOG ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long gapTimeoutNanos;
+    private final long lateWindowNanos;
+    private final LongSupplier nanoClock;
+    private final NavigableSet<Long> deliveredAboveWatermark = new TreeSet<>();
+    /**
+     * The IDs skipped below the watermark, with the time they were skipped at.
+     */
+    private final NavigableMap<Long, Long> skipped = new TreeMap<>();
+    private long watermark = -1;
+    private Long gapSince;
+
+    private record Row(long id, ChangeNotification notification) {}
+
+    public JdbcInvalidationTransport(JdbcTemplate jdbcTemplate, Duration gapTimeout, Duration lateWindow) {
+        this(jdbcTemplate, gapTimeout, lateWindow, System::nanoTime);
+    }
+
+    JdbcInvalidationTransport(JdbcTemplate jdbcTemplate, Duration gapTimeout, Duration lateWindow,
+                              LongSupplier nanoClock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.gapTimeoutNanos = gapTimeout.toNanos();
+        this.lateWindowNanos = lateWindow.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public void publish(ChangeNotification notification) {
+        jdbcTemplate.update("INSERT INTO CHANGE_LOG (ENTITY, ENTITY_ID, CHANGE_TYPE, INSTANCE_ID, CHANGED_AT) "
+                        + "VALUES (?, ?, ?, ?, ?)",
+                notification.entity(),
+                notification.id(),
+                notification.type().name(),
+                notification.instanceId(),
+                Timestamp.from(notification.changedAt()));
+    }
+
+    @Override
+    public synchronized List<ChangeNotification> poll() {
+        if (watermark < 0) {
+            // Start from the current end of the log, the caches are loaded from the current state
+            watermark = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(ID), 0) FROM CHANGE_LOG", Long.class);
+            return List.of();
+        }
+
+        final List<ChangeNotification> notifications = new ArrayList<>(pollSkipped());
+        for (Row row : jdbcTemplate.query(SELECT + "WHERE ID > ? ORDER BY ID", ROW_MAPPER, watermark)) {
+            if (deliveredAboveWatermark.add(row.id())) {
+                notifications.add(row.notification());
+            }
+        }
+        advanceWatermark();
+        return notifications;
+    }
+
+    /**
+     * @return the changes of the skipped IDs committed late, each removed from the skipped IDs once delivered
+     */
+    private List<ChangeNotification> pollSkipped() {
+        final long now = nanoClock.getAsLong();
+        // Skipped in the order of their IDs, the oldest come first
+        while (!skipped.isEmpty() && now - skipped.firstEntry().getValue() >= lateWindowNanos) {
+            skipped.pollFirstEntry();
+        }
+        if (skipped.isEmpty()) {
+            return List.of();
+        }
+
+        final String placeholders = String.join(", ", Collections.nCopies(skipped.size(), "?"));
+        final List<ChangeNotification> notifications = new ArrayList<>();
+        for (Row row : jdbcTemplate.query(SELECT + "WHERE ID IN (" + placeholders + ") ORDER BY ID", ROW_MAPPER,
+                skipped.keySet().toArray())) {
+            if (skipped.remove(row.id()) != null) {
+                log.debug("Delivering change log ID {}, committed after the gap timeout", row.id());
+                notifications.add(row.notification());
+            }
+        }
+        return notifications;
+    }
+
+    private void advanceWatermark() {
+        while (!deliveredAboveWatermark.isEmpty()) {
+            final long next = deliveredAboveWatermark.first();
+            if (next != watermark + 1) {
+                final long now = nanoClock.getAsLong();
+                if (gapSince == null) {
+                    gapSince = now;
+                }
+                if (now - gapSince < gapTimeoutNanos) {
+                    return;
+                }
+                log.debug("Skipping change log IDs {} to {}, assuming they were rolled back", watermark + 1, next - 1);
+                for (long id = Math.max(watermark + 1, next - MAX_SKIPPED); id < next; ++id) {
+                    skipped.put(id, now);
+                }
+                while (skipped.size() > MAX_SKIPPED) {
+                    skipped.pollFirstEntry();
+                }
+            }
+            watermark = deliveredAboveWatermark.pollFirst();
+            gapSince = null;
+        }
+    }
+
+    /**
+     * @return the highest ID up to which all changes were delivered
+     */
+    synchronized long watermark() {
+        return watermark;
+    }
+
+    @Override
+    public void purge(Instant before) {
+        final int purged = jdbcTemplate.update("DELETE FROM CHANGE_LOG WHERE CHANGED_AT < ?", Timestamp.from(before));
+        log.debug("Purged {} changes from the change log", purged);
+    }
+}
@@ -0,0 +1,157 @@
+package com.haufe.technical.api.service.coalescing;
+
+import com.haufe.technical.api.config.CoalescingProperties;
+import com.haufe.technical.api.domain.event.BeerChangedEvent;
+import com.haufe.technical.api.domain.event.ManufacturerChangedEvent;
+import com.haufe.technical.api.domain.event.RemoteChangeEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+/**
+ * Single-flight coalescing of identical concurrent reads.
+ * <p>
+ * The first caller for a given key (the leader) executes the loader; callers arriving with the same key
+ * while the leader is still running (the followers) wait for its result instead of hitting the database again.
+ * Nothing is cached: as soon as the leader finishes, the key is released and the next call loads again.
+ * The keys of an entity are also released once a change to it is committed, locally or by another instance:
+ * a leader started before the commit may return the previous state, which the later callers must not get.
+ */
+@Component
+@Slf4j
+public class RequestCoalescer {
+    private final ConcurrentMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final CoalescingProperties properties;
+    private final Counter leaders;
+    private final Counter followers;
+    private final Counter timeouts;
+
+    public RequestCoalescer(CoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.leaders = Counter.builder("api.coalescing.calls")
+                .description("Reads that executed the loader")
+                .tag("role", "leader")
+                .register(meterRegistry);
+        this.followers = Counter.builder("api.coalescing.calls")
+                .description("Reads that shared the result of an in-flight loader")
+                .tag("role", "follower")
+                .register(meterRegistry);
+        this.timeouts = Counter.builder("api.coalescing.timeouts")
+                .description("Followers that gave up waiting and loaded by themselves")
+                .register(meterRegistry);
+        Gauge.builder("api.coalescing.in-flight", inFlight, ConcurrentMap::size)
+                .description("Keys currently being loaded")
+                .register(meterRegistry);
+        Gauge.builder("api.coalescing.ratio", this, RequestCoalescer::ratio)
+                .description("Fraction of reads served from an in-flight call")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Identifies a read: the entity, as named in {@link RemoteChangeEvent}, the operation and its argument
+     * (an id, a {@code Pageable}...). The argument must implement {@code equals} and {@code hashCode}.
+     */
+    public record Key(String entity, String operation, Object argument) {}
+
+    @FunctionalInterface
+    public interface Loader<T, E extends Exception> {
+        T load() throws E;
+    }
+
+    /**
+     * Executes the loader, or waits for an identical in-flight execution and returns its result.
+     *
+     * @param key    the read identifier
+     * @param loader the actual read
+     * @return the loaded value, shared by every caller coalesced on the same execution
+     * @throws E the exception thrown by the loader, also propagated to the followers
+     */
+    public <T, E extends Exception> T coalesce(Key key, Loader<T, E> loader) throws E {
+        if (!properties.enabled()) {
+            return loader.load();
+        }
+
+        final CompletableFuture<Object> own = new CompletableFuture<>();
+        final CompletableFuture<Object> existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            followers.increment();
+            return await(key, existing, loader);
+        }
+
+        leaders.increment();
+        try {
+            final T result = loader.load();
+            own.complete(result);
+            return result;
+        } catch (Throwable t) {
+            own.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T, E extends Exception> T await(Key key, CompletableFuture<Object> existing, Loader<T, E> loader)
+            throws E {
+        try {
+            return (T) existing.get(properties.maxWait().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            log.debug("Timed out waiting for in-flight read {}, loading it directly", key);
+            return loader.load();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return loader.load();
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            // The only checked exception the leader's loader can throw
+            throw (E) cause;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeerChanged(BeerChangedEvent event) {
+        release(Set.of(RemoteChangeEvent.BEER));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onManufacturerChanged(ManufacturerChangedEvent event) {
+        release(Set.of(RemoteChangeEvent.MANUFACTURER));
+    }
+
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        release(event.changes().stream()
+                .map(RemoteChangeEvent.Change::entity)
+                .collect(Collectors.toSet()));
+    }
+
+    /**
+     * Releases the in-flight keys of the entities, their leaders keep running for the callers already
+     * waiting, the next ones start a new load. Only the keys being loaded are scanned.
+     */
+    private void release(Set<String> entities) {
+        inFlight.keySet().removeIf(key -> entities.contains(key.entity()));
+    }
+
+    private double ratio() {
+        final double coalesced = followers.count();
+        final double total = leaders.count() + coalesced;
+        return total == 0 ? 0 : coalesced / total;
+    }
+}
@@ -0,0 +1,222 @@
+package com.haufe.technical.api.service.counter;
+
+import com.haufe.technical.api.config.RowCounterProperties;
+import com.haufe.technical.api.domain.event.BeerChangedEvent;
+import com.haufe.technical.api.domain.event.ChangeType;
+import com.haufe.technical.api.domain.event.ManufacturerChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Maintains the row counts of the listed tables, so that the listings fill their totals without a
+ * {@code COUNT(*)} over the whole table.
+ * <p>
+ * Every count is the sum of a few rows of the {@code ROW_COUNTER} table, its stripes. The creations and
+ * deletions of a transaction are added up and written to a random stripe right before it commits, so the
+ * counts are exactly as transactional as the rows they count, and concurrent writers rarely wait for the
+ * same stripe. The stripes are written in a fixed order to rule out deadlocks.
+ * <p>
+ * The counters are reconciled with the actual counts at startup, which also covers the bulk loaded
+ * datasets, and periodically to correct the changes made directly in the database.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RowCounterService {
+    private final RowCounterProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Object pendingKey = new Object();
+
+    /**
+     * The counted tables, also the name of their counters.
+     */
+    public enum Table {
+        BEER,
+        MANUFACTURER
+    }
+
+    /**
+     * Turns a slice into a page, with the total of its table.
+     * <p>
+     * The total is only read from the counters when the slice does not tell it by itself, i.e. unless it
+     * is the last page. Pages, e.g. those of the snapshot, already have their total and are returned as is.
+     */
+    public <T> Page<T> page(Table table, Slice<T> slice) {
+        if (slice instanceof Page<T> page) {
+            return page;
+        }
+
+        final Pageable pageable = slice.getPageable();
+        final long read = (pageable.isPaged() ? pageable.getOffset() : 0) + slice.getNumberOfElements();
+        if (!slice.hasNext() && (slice.hasContent() || !slice.hasPrevious())) {
+            return new PageImpl<>(slice.getContent(), pageable, read);
+        }
+        if (!slice.hasContent()) {
+            // Past the end, only the counter knows where the end is
+            return new PageImpl<>(slice.getContent(), pageable, total(table));
+        }
+        // A counter may still miss rows committed meanwhile, the total is at least what was read
+        return new PageImpl<>(slice.getContent(), pageable, Math.max(total(table), slice.hasNext() ? read + 1 : read));
+    }
+
+    /**
+     * @return the number of rows of the table
+     */
+    public long total(Table table) {
+        if (!properties.enabled()) {
+            return count(table);
+        }
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(DELTA), 0) FROM ROW_COUNTER WHERE ENTITY = ?", Long.class, table.name());
+    }
+
+    @EventListener
+    public void onBeerChanged(BeerChangedEvent event) {
+        add(Table.BEER, event.type());
+    }
+
+    @EventListener
+    public void onManufacturerChanged(ManufacturerChangedEvent event) {
+        add(Table.MANUFACTURER, event.type());
+    }
+
+    private void add(Table table, ChangeType type) {
+        final long delta = switch (type) {
+            case CREATED -> 1;
+            case DELETED -> -1;
+            case UPDATED -> 0;
+        };
+        if (!properties.enabled() || delta == 0) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment(Map.of(table, delta));
+            return;
+        }
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(pendingKey);
+        if (pending == null) {
+            pending = new Pending();
+            TransactionSynchronizationManager.bindResource(pendingKey, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.deltas.merge(table, delta, Long::sum);
+    }
+
+    private void increment(Map<Table, Long> deltas) {
+        final int stripe = ThreadLocalRandom.current().nextInt(properties.stripes());
+        deltas.forEach((table, delta) -> {
+            if (delta != 0) {
+                jdbcTemplate.update("UPDATE ROW_COUNTER SET DELTA = DELTA + ? WHERE ENTITY = ? AND STRIPE = ?",
+                        delta, table.name(), stripe);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!properties.enabled()) {
+            return;
+        }
+        for (Table table : Table.values()) {
+            final long drift = reconcile(table);
+            log.info("Initialized the {} row counter to {}, after a drift of {}", table, total(table), drift);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${api.row-counter.reconcile-interval:PT5M}",
+            initialDelayString = "${api.row-counter.reconcile-interval:PT5M}")
+    public void reconcile() {
+        if (!properties.enabled()) {
+            return;
+        }
+        for (Table table : Table.values()) {
+            final long drift = reconcile(table);
+            if (drift != 0) {
+                log.warn("The {} row counter drifted from the database by {}", table, drift);
+            }
+        }
+    }
+
+    /**
+     * Corrects the counter of a table, creating its missing stripes. The stripes are locked while the
+     * rows are counted, so the transactions committing meanwhile are either counted or wait to add
+     * their changes afterwards.
+     *
+     * @return the difference between the actual count and the counter
+     */
+    private long reconcile(Table table) {
+        return transactionTemplate.execute(status -> {
+            final Set<Integer> stripes = new HashSet<>();
+            long counted = 0;
+            for (Map<String, Object> row : jdbcTemplate.queryForList(
+                    "SELECT STRIPE, DELTA FROM ROW_COUNTER WHERE ENTITY = ? FOR UPDATE", table.name())) {
+                stripes.add(((Number) row.get("STRIPE")).intValue());
+                counted += ((Number) row.get("DELTA")).longValue();
+            }
+            for (int stripe = 0; stripe < properties.stripes(); ++stripe) {
+                if (!stripes.contains(stripe)) {
+                    jdbcTemplate.update("INSERT INTO ROW_COUNTER (ENTITY, STRIPE, DELTA) VALUES (?, ?, 0)",
+                            table.name(), stripe);
+                }
+            }
+
+            final long drift = count(table) - counted;
+            if (drift != 0) {
+                jdbcTemplate.update("UPDATE ROW_COUNTER SET DELTA = DELTA + ? WHERE ENTITY = ? AND STRIPE = 0",
+                        drift, table.name());
+            }
+            return drift;
+        });
+    }
+
+    private long count(Table table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table.name(), Long.class);
+    }
+
+    /**
+     * The changes of a transaction not written to the counters yet.
+     */
+    private class Pending implements TransactionSynchronization {
+        private final Map<Table, Long> deltas = new EnumMap<>(Table.class);
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(pendingKey);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(pendingKey, this);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            increment(deltas);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(pendingKey);
+        }
+    }
+}
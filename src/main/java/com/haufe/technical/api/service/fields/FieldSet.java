@@ -0,0 +1,66 @@
+package com.haufe.technical.api.service.fields;
+
+import com.haufe.technical.api.exception.ApiErrors;
+import com.haufe.technical.api.exception.ApiException;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A sparse fieldset: the response fields requested by the client, in request order,
+ * mapped to the entity attributes they are read from.
+ *
+ * @param attributes response field name to entity attribute name
+ */
+public record FieldSet(Map<String, String> attributes) {
+
+    /**
+     * Builds the map of the fields that can be requested.
+     *
+     * @param fields the field names, as {@code "field"} or {@code "field:attribute"} when the response field
+     *               is not named after the entity attribute
+     * @return the allowed fields mapped to their entity attribute, in declaration order
+     */
+    public static Map<String, String> allowed(String... fields) {
+        final Map<String, String> allowed = new LinkedHashMap<>();
+        for (String field : fields) {
+            final int separator = field.indexOf(':');
+            if (separator < 0) {
+                allowed.put(field, field);
+            } else {
+                allowed.put(field.substring(0, separator), field.substring(separator + 1));
+            }
+        }
+        return Collections.unmodifiableMap(allowed);
+    }
+
+    /**
+     * Parses the comma separated {@code fields} query parameter.
+     *
+     * @param fields  the requested fields, e.g. {@code "id,name"}
+     * @param allowed the fields that can be requested, mapped to their entity attribute
+     * @return the requested field set
+     * @throws ApiException if a requested field is not allowed
+     */
+    public static FieldSet parse(String fields, Map<String, String> allowed) throws ApiException {
+        final Map<String, String> attributes = new LinkedHashMap<>();
+        for (String field : fields.split(",")) {
+            final String name = field.strip();
+            if (name.isEmpty()) {
+                continue;
+            }
+
+            final String attribute = allowed.get(name);
+            if (attribute == null) {
+                throw ApiErrors.unknownField(allowed.keySet()).exception(name);
+            }
+            attributes.put(name, attribute);
+        }
+
+        if (attributes.isEmpty()) {
+            throw ApiErrors.NO_FIELD_REQUESTED.exception();
+        }
+        return new FieldSet(Collections.unmodifiableMap(attributes));
+    }
+}
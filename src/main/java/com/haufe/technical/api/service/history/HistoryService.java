@@ -0,0 +1,163 @@
+package com.haufe.technical.api.service.history;
+
+import com.haufe.technical.api.controller.dto.beer.BeerVersionDto;
+import com.haufe.technical.api.controller.dto.manufacturer.ManufacturerVersionDto;
+import com.haufe.technical.api.domain.event.BeerChangedEvent;
+import com.haufe.technical.api.domain.event.ChangeType;
+import com.haufe.technical.api.domain.event.ManufacturerChangedEvent;
+import com.haufe.technical.api.domain.repository.BeerHistoryRepository;
+import com.haufe.technical.api.domain.repository.BeerRepository;
+import com.haufe.technical.api.domain.repository.ManufacturerHistoryRepository;
+import com.haufe.technical.api.domain.repository.ManufacturerRepository;
+import com.haufe.technical.api.exception.ApiErrors;
+import com.haufe.technical.api.exception.ApiException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Keeps the history of the beers and manufacturers, appending a version right before the transaction of
+ * every change commits, and answers what an entity looked like at a given instant.
+ * <p>
+ * The entities not changed since the history was introduced have no versions yet; their current state
+ * is reported as their only version, valid from their last update. Their first change appends that state
+ * as their first version, before the change itself.
+ */
+@Service
+@RequiredArgsConstructor
+public class HistoryService {
+    private final BeerHistoryRepository beerHistoryRepository;
+    private final ManufacturerHistoryRepository manufacturerHistoryRepository;
+    private final BeerRepository beerRepository;
+    private final ManufacturerRepository manufacturerRepository;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onBeerChanged(BeerChangedEvent event) {
+        final BeerChangedEvent.BeerState previous = event.previous();
+        if (previous != null && !beerHistoryRepository.hasHistory(event.id())) {
+            beerHistoryRepository.append(event.id(),
+                    baselineChange(previous.createdAt(), previous.updatedAt()),
+                    baselineValidFrom(previous.createdAt(), previous.updatedAt()),
+                    previous);
+        }
+        beerHistoryRepository.append(event.id(), event.type(), Instant.now(), event.current());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onManufacturerChanged(ManufacturerChangedEvent event) {
+        final ManufacturerChangedEvent.ManufacturerState previous = event.previous();
+        if (previous != null && !manufacturerHistoryRepository.hasHistory(event.id())) {
+            manufacturerHistoryRepository.append(event.id(),
+                    baselineChange(previous.createdAt(), previous.updatedAt()),
+                    baselineValidFrom(previous.createdAt(), previous.updatedAt()),
+                    previous);
+        }
+        manufacturerHistoryRepository.append(event.id(), event.type(), Instant.now(), event.current());
+    }
+
+    /**
+     * Reads a beer as it was at the given instant.
+     *
+     * @throws ApiException if the beer did not exist at that instant
+     */
+    public BeerVersionDto beerAsOf(Long id, Instant instant) throws ApiException {
+        return beerHistoryRepository.findAsOf(id, instant)
+                .or(() -> beerBaseline(id))
+                .filter(version -> version.change() != ChangeType.DELETED && !version.validFrom().isAfter(instant))
+                .orElseThrow(() -> ApiErrors.BEER_NOT_FOUND_AS_OF.exception(id, instant));
+    }
+
+    /**
+     * Lists the versions of a beer, from the oldest one.
+     *
+     * @throws ApiException if the beer never existed
+     */
+    public Page<BeerVersionDto> beerHistory(Long id, Pageable pageable) throws ApiException {
+        final Page<BeerVersionDto> versions = beerHistoryRepository.findAll(id, pageable);
+        if (versions.getTotalElements() > 0) {
+            return versions;
+        }
+        return beerBaseline(id)
+                .map(version -> baselinePage(version, pageable))
+                .orElseThrow(() -> ApiErrors.BEER_NOT_FOUND.exception(id));
+    }
+
+    /**
+     * Reads a manufacturer as it was at the given instant.
+     *
+     * @throws ApiException if the manufacturer did not exist at that instant
+     */
+    public ManufacturerVersionDto manufacturerAsOf(Long id, Instant instant) throws ApiException {
+        return manufacturerHistoryRepository.findAsOf(id, instant)
+                .or(() -> manufacturerBaseline(id))
+                .filter(version -> version.change() != ChangeType.DELETED && !version.validFrom().isAfter(instant))
+                .orElseThrow(() -> ApiErrors.MANUFACTURER_NOT_FOUND_AS_OF.exception(id, instant));
+    }
+
+    /**
+     * Lists the versions of a manufacturer, from the oldest one.
+     *
+     * @throws ApiException if the manufacturer never existed
+     */
+    public Page<ManufacturerVersionDto> manufacturerHistory(Long id, Pageable pageable) throws ApiException {
+        final Page<ManufacturerVersionDto> versions = manufacturerHistoryRepository.findAll(id, pageable);
+        if (versions.getTotalElements() > 0) {
+            return versions;
+        }
+        return manufacturerBaseline(id)
+                .map(version -> baselinePage(version, pageable))
+                .orElseThrow(() -> ApiErrors.MANUFACTURER_NOT_FOUND.exception(id));
+    }
+
+    /**
+     * @return the current state of a beer without history, as its only version
+     */
+    private Optional<BeerVersionDto> beerBaseline(Long id) {
+        if (beerHistoryRepository.hasHistory(id)) {
+            return Optional.empty();
+        }
+        return beerRepository.findById(id).map(beer -> new BeerVersionDto(
+                baselineValidFrom(beer.getCreatedAt(), beer.getUpdatedAt()),
+                baselineChange(beer.getCreatedAt(), beer.getUpdatedAt()),
+                beer.getName(),
+                beer.getAbv(),
+                beer.getStyle(),
+                beer.getDescription(),
+                beer.getManufacturer().getId()));
+    }
+
+    /**
+     * @return the current state of a manufacturer without history, as its only version
+     */
+    private Optional<ManufacturerVersionDto> manufacturerBaseline(Long id) {
+        if (manufacturerHistoryRepository.hasHistory(id)) {
+            return Optional.empty();
+        }
+        return manufacturerRepository.findById(id).map(manufacturer -> new ManufacturerVersionDto(
+                baselineValidFrom(manufacturer.getCreatedAt(), manufacturer.getUpdatedAt()),
+                baselineChange(manufacturer.getCreatedAt(), manufacturer.getUpdatedAt()),
+                manufacturer.getName(),
+                manufacturer.getCountry()));
+    }
+
+    private static Instant baselineValidFrom(Instant createdAt, Instant updatedAt) {
+        return Objects.requireNonNullElse(updatedAt != null ? updatedAt : createdAt, Instant.EPOCH);
+    }
+
+    private static ChangeType baselineChange(Instant createdAt, Instant updatedAt) {
+        return updatedAt == null || updatedAt.equals(createdAt) ? ChangeType.CREATED : ChangeType.UPDATED;
+    }
+
+    private static <T> Page<T> baselinePage(T version, Pageable pageable) {
+        return new PageImpl<>(pageable.isPaged() && pageable.getOffset() > 0 ? List.of() : List.of(version), pageable, 1);
+    }
+}
@@ -0,0 +1,228 @@
+package com.haufe.technical.api.service.idempotency;
+
+import com.haufe.technical.api.config.IdempotencyProperties;
+import com.haufe.technical.api.exception.ApiException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, expiring store of the responses of the requests carrying an {@code Idempotency-Key} header.
+ * <p>
+ * The first request with a given key executes the operation; its retries get the stored response back
+ * without executing it again, and the retries arriving while it is still running wait for it.
+ * Failed executions are not stored, so that a retry can succeed once the cause is fixed.
+ * Keys are scoped to the authenticated client, and a key reused with a different request is rejected.
+ */
+@Component
+public class IdempotencyStore {
+    public static final String HEADER = "Idempotency-Key";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final ConcurrentMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    // Including the discarded entries, only dequeued when eviction reaches them
+    private final AtomicInteger queued = new AtomicInteger();
+    private final IdempotencyProperties properties;
+    private final LongSupplier nanoClock;
+    private final Counter executions;
+    private final Counter replays;
+    private final Counter mismatches;
+    private final Counter timeouts;
+
+    @Autowired
+    public IdempotencyStore(IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    IdempotencyStore(IdempotencyProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+        this.executions = outcome(meterRegistry, "executed", "Requests executed for the first time");
+        this.replays = outcome(meterRegistry, "replayed", "Retries answered with the stored response");
+        this.mismatches = outcome(meterRegistry, "mismatch", "Keys reused with a different request");
+        this.timeouts = outcome(meterRegistry, "timeout", "Retries that gave up waiting for the first attempt");
+        Gauge.builder("api.idempotency.entries", entries, ConcurrentMap::size)
+                .description("Responses currently stored")
+                .register(meterRegistry);
+    }
+
+    private record Key(String client, String idempotencyKey) {}
+
+    private static final class Entry {
+        private final Key key;
+        private final Object fingerprint;
+        private final long expiresAt;
+        private final CompletableFuture<Object> response = new CompletableFuture<>();
+        private final AtomicBoolean dequeued = new AtomicBoolean();
+        private volatile boolean discarded;
+
+        private Entry(Key key, Object fingerprint, long expiresAt) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            // An attempt still in progress never expires, its retries must keep waiting for it
+            return response.isDone() && now - expiresAt > 0;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Operation<T, E extends Exception> {
+        T execute() throws E;
+    }
+
+    /**
+     * Executes the operation once per idempotency key.
+     *
+     * @param principal      the authenticated client, the keys of different clients never collide
+     * @param idempotencyKey the {@code Idempotency-Key} header, the operation is simply executed when missing
+     * @param fingerprint    identifies the request (endpoint, path variables and body),
+     *                       must implement {@code equals} and {@code hashCode}
+     * @param operation      the actual request
+     * @return the response of the first successful execution for this key
+     * @throws ApiException if the key is invalid, was used for a different request, or its first attempt
+     *                      is still in progress after waiting for it
+     * @throws E            the exception thrown by the operation
+     */
+    @SuppressWarnings("unchecked")
+    public <T, E extends Exception> T execute(Principal principal,
+                                              String idempotencyKey,
+                                              Object fingerprint,
+                                              Operation<T, E> operation) throws E, ApiException {
+        if (!properties.enabled() || idempotencyKey == null) {
+            return operation.execute();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new ApiException(HttpStatus.BAD_REQUEST,
+                    "The %s header must have between 1 and %d characters".formatted(HEADER, MAX_KEY_LENGTH));
+        }
+
+        final Key key = new Key(principal != null ? principal.getName() : "", idempotencyKey);
+        while (true) {
+            final long now = nanoClock.getAsLong();
+            final Entry own = new Entry(key, fingerprint, now + properties.ttl().toNanos());
+            final Entry existing = entries.putIfAbsent(key, own);
+            if (existing == null) {
+                insertionOrder.add(own);
+                queued.incrementAndGet();
+                evict(now);
+                return executeFirst(own, operation);
+            }
+
+            if (existing.isExpired(now)) {
+                discard(existing);
+                continue;
+            }
+            if (!existing.fingerprint.equals(fingerprint)) {
+                mismatches.increment();
+                throw new ApiException(HttpStatus.UNPROCESSABLE_ENTITY,
+                        "%s '%s' was already used for a different request".formatted(HEADER, idempotencyKey));
+            }
+
+            try {
+                final T response = (T) existing.response.get(properties.maxWait().toNanos(), TimeUnit.NANOSECONDS);
+                replays.increment();
+                return response;
+            } catch (ExecutionException e) {
+                // The first attempt failed and was not stored: this retry executes the request by itself
+                discard(existing);
+            } catch (TimeoutException e) {
+                timeouts.increment();
+                throw inProgress(idempotencyKey);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw inProgress(idempotencyKey);
+            }
+        }
+    }
+
+    private <T, E extends Exception> T executeFirst(Entry own, Operation<T, E> operation) throws E {
+        executions.increment();
+        try {
+            final T response = operation.execute();
+            own.response.complete(response);
+            return response;
+        } catch (Throwable t) {
+            discard(own);
+            own.response.completeExceptionally(t);
+            throw t;
+        }
+    }
+
+    /**
+     * Drops the oldest entries while the store is over capacity or they are expired.
+     * As every entry lives for the same time, the insertion order is also the expiration order.
+     * The attempts still in progress are skipped, their retries must keep waiting for them.
+     * The discarded entries met on the way are dequeued, and all of them once they outnumber the capacity.
+     */
+    private void evict(long now) {
+        final Iterator<Entry> oldestFirst = insertionOrder.iterator();
+        while (oldestFirst.hasNext()) {
+            final Entry oldest = oldestFirst.next();
+            if (oldest.discarded) {
+                dequeue(oldest, oldestFirst);
+                continue;
+            }
+            if (!oldest.response.isDone()) {
+                continue;
+            }
+            final int stored = entries.size();
+            if (stored <= properties.maxEntries() && !oldest.isExpired(now)) {
+                if (queued.get() - stored <= properties.maxEntries()) {
+                    return;
+                }
+                continue;
+            }
+            discard(oldest);
+            dequeue(oldest, oldestFirst);
+        }
+    }
+
+    /**
+     * Removes an entry from the map, unless it was already removed. It is left in the insertion order,
+     * whose removals are linear, until eviction reaches it.
+     */
+    private void discard(Entry entry) {
+        if (entries.remove(entry.key, entry)) {
+            entry.discarded = true;
+        }
+    }
+
+    private void dequeue(Entry entry, Iterator<Entry> position) {
+        // Concurrent evictions may reach the same entry
+        if (entry.dequeued.compareAndSet(false, true)) {
+            position.remove();
+            queued.decrementAndGet();
+        }
+    }
+
+    int queued() {
+        return queued.get();
+    }
+
+    private static ApiException inProgress(String idempotencyKey) {
+        return new ApiException(HttpStatus.CONFLICT,
+                "A request with %s '%s' is still in progress".formatted(HEADER, idempotencyKey));
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome, String description) {
+        return Counter.builder("api.idempotency.requests")
+                .description(description)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
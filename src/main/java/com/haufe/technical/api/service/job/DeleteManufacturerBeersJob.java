@@ -0,0 +1,68 @@
+package com.haufe.technical.api.service.job;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.haufe.technical.api.domain.entity.Job;
+import com.haufe.technical.api.domain.repository.BeerRepository;
+import com.haufe.technical.api.domain.repository.ManufacturerRepository;
+import com.haufe.technical.api.exception.ApiErrors;
+import com.haufe.technical.api.exception.ApiException;
+import com.haufe.technical.api.service.BeerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Deletes every beer of a manufacturer, e.g. {@code {"manufacturerId": 1}}, so that the manufacturer can be
+ * deleted afterwards. The checkpoint is the last deleted beer ID; the beers are deleted by ascending ID.
+ */
+@Component
+@RequiredArgsConstructor
+public class DeleteManufacturerBeersJob implements JobHandler {
+    private static final String MANUFACTURER_ID = "manufacturerId";
+
+    private final BeerService beerService;
+    private final BeerRepository beerRepository;
+    private final ManufacturerRepository manufacturerRepository;
+
+    @Override
+    public Job.Type type() {
+        return Job.Type.DELETE_MANUFACTURER_BEERS;
+    }
+
+    @Override
+    public long prepare(JsonNode parameters) throws ApiException {
+        final long manufacturerId = manufacturerId(parameters);
+        if (!manufacturerRepository.existsById(manufacturerId)) {
+            throw ApiErrors.MANUFACTURER_NOT_FOUND.exception(manufacturerId);
+        }
+        return beerRepository.countByManufacturerId(manufacturerId);
+    }
+
+    @Override
+    public Chunk process(JsonNode parameters, long checkpoint, int size) throws ApiException {
+        final List<Long> ids = beerRepository.findIdsByManufacturerAfter(
+                manufacturerId(parameters), checkpoint, PageRequest.ofSize(size));
+        for (Long id : ids) {
+            try {
+                beerService.delete(id);
+            } catch (ApiException e) {
+                // Already deleted by a concurrent request
+                if (e.getCode() != HttpStatus.NOT_FOUND) {
+                    throw e;
+                }
+            }
+        }
+        return new Chunk(ids.size(), ids.isEmpty() ? checkpoint : ids.getLast(), ids.size() < size);
+    }
+
+    private static long manufacturerId(JsonNode parameters) throws ApiException {
+        final JsonNode manufacturerId = parameters != null ? parameters.get(MANUFACTURER_ID) : null;
+        if (manufacturerId == null || !manufacturerId.canConvertToLong()) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Missing parameter " + MANUFACTURER_ID);
+        }
+        return manufacturerId.asLong();
+    }
+}
@@ -0,0 +1,78 @@
+package com.haufe.technical.api.service.job;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haufe.technical.api.config.JobProperties;
+import com.haufe.technical.api.controller.dto.beer.BeerUpsertDto;
+import com.haufe.technical.api.domain.entity.Job;
+import com.haufe.technical.api.domain.repository.ManufacturerRepository;
+import com.haufe.technical.api.exception.ApiErrors;
+import com.haufe.technical.api.exception.ApiException;
+import com.haufe.technical.api.service.BeerService;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates the beers of a supplier catalogue, e.g.
+ * {@code {"manufacturerId": 1, "beers": [{"name": "Gose", "avb": 4.2, "style": "Gose"}]}}.
+ * The checkpoint is the index of the next beer to create.
+ */
+@Component
+@RequiredArgsConstructor
+public class ImportBeersJob implements JobHandler {
+    private final BeerService beerService;
+    private final ManufacturerRepository manufacturerRepository;
+    private final ObjectMapper objectMapper;
+    private final JobProperties properties;
+
+    record Parameters(Long manufacturerId, List<BeerUpsertDto> beers) {}
+
+    @Override
+    public Job.Type type() {
+        return Job.Type.IMPORT_BEERS;
+    }
+
+    @Override
+    public long prepare(JsonNode parameters) throws ApiException {
+        final Parameters request = parse(parameters, Parameters.class);
+        if (request.manufacturerId() == null || !manufacturerRepository.existsById(request.manufacturerId())) {
+            throw ApiErrors.MANUFACTURER_NOT_FOUND.exception(request.manufacturerId());
+        }
+        if (request.beers() == null || request.beers().isEmpty() || request.beers().size() > properties.maxItems()) {
+            throw new ApiException(HttpStatus.BAD_REQUEST,
+                    "An import must have between 1 and " + properties.maxItems() + " beers");
+        }
+        for (int index = 0; index < request.beers().size(); ++index) {
+            final BeerUpsertDto beer = request.beers().get(index);
+            if (beer == null || StringUtils.isBlank(beer.name())) {
+                throw new ApiException(HttpStatus.BAD_REQUEST, "Beer " + index + " of the import has no name");
+            }
+        }
+        return request.beers().size();
+    }
+
+    @Override
+    public Chunk process(JsonNode parameters, long checkpoint, int size) throws ApiException {
+        // Only the beers of the chunk are bound, the import can be large
+        final long manufacturerId = parameters.path("manufacturerId").asLong();
+        final JsonNode beers = parameters.path("beers");
+        final int to = (int) Math.min(checkpoint + size, beers.size());
+        for (int index = (int) checkpoint; index < to; ++index) {
+            beerService.create(manufacturerId, parse(beers.get(index), BeerUpsertDto.class));
+        }
+        return new Chunk(to - checkpoint, to, to == beers.size());
+    }
+
+    private <T> T parse(JsonNode node, Class<T> type) throws ApiException {
+        try {
+            return objectMapper.treeToValue(node, type);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Invalid parameters: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.haufe.technical.api.service.job;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.haufe.technical.api.domain.entity.Job;
+import com.haufe.technical.api.exception.ApiException;
+
+/**
+ * Runs one {@link Job.Type} of job, chunk by chunk. Every chunk is processed in the transaction that also
+ * commits the progress of the job, so a chunk is either fully applied along with its checkpoint or not
+ * at all, and resuming from the last checkpoint never applies an item twice.
+ */
+public interface JobHandler {
+
+    /**
+     * A processed chunk.
+     *
+     * @param processed  the number of items processed by the chunk
+     * @param checkpoint where the next chunk starts
+     * @param last       whether the job is complete
+     */
+    record Chunk(long processed, long checkpoint, boolean last) {}
+
+    Job.Type type();
+
+    /**
+     * Validates the parameters of a job when it is submitted.
+     *
+     * @return the number of items the job will process
+     * @throws ApiException if the parameters are invalid
+     */
+    long prepare(JsonNode parameters) throws ApiException;
+
+    /**
+     * Processes the next chunk of a job, within the transaction of the chunk.
+     *
+     * @param checkpoint the checkpoint returned by the previous chunk, 0 for the first one
+     * @param size       the maximum number of items to process
+     * @throws ApiException if an item cannot be processed, which fails the job
+     */
+    Chunk process(JsonNode parameters, long checkpoint, int size) throws ApiException;
+}
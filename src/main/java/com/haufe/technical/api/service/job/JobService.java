@@ -0,0 +1,290 @@
+package com.haufe.technical.api.service.job;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haufe.technical.api.config.JobProperties;
+import com.haufe.technical.api.controller.dto.job.JobDto;
+import com.haufe.technical.api.controller.dto.job.JobRequestDto;
+import com.haufe.technical.api.domain.entity.Job;
+import com.haufe.technical.api.domain.repository.JobRepository;
+import com.haufe.technical.api.exception.ApiErrors;
+import com.haufe.technical.api.exception.ApiException;
+import com.haufe.technical.api.service.cluster.ClusterInvalidationService;
+import com.haufe.technical.api.web.bulkhead.BulkheadRegistry;
+import com.haufe.technical.api.web.bulkhead.EndpointClass;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the bulk jobs in the background, on a fixed pool of workers.
+ * <p>
+ * The jobs are persisted, so any instance can report their progress or cancel them. The queued jobs are
+ * claimed by the instances with free workers; a running job reports its progress with every chunk, and is
+ * resumed from its last checkpoint by any instance once its owner stops reporting for the lease timeout,
+ * e.g. after a crash. An instance shutting down gracefully requeues its jobs right away.
+ * <p>
+ * The jobs yield to the online requests: before every chunk, a job pauses while any online bulkhead
+ * (point reads, listings and writes) is busier than the throttle utilization, and the chunks are small,
+ * so a job never holds database locks for long.
+ */
+@Service
+@Slf4j
+public class JobService {
+    private static final List<EndpointClass> ONLINE = List.of(
+            EndpointClass.POINT_READ, EndpointClass.LIST, EndpointClass.WRITE);
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    private final JobProperties properties;
+    private final JobRepository jobRepository;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final String instanceId;
+    private final Map<Job.Type, JobHandler> handlers = new EnumMap<>(Job.Type.class);
+    private final ExecutorService workers;
+    private final AtomicInteger running = new AtomicInteger();
+    private final Counter throttled;
+    private volatile boolean stopping;
+
+    public JobService(JobProperties properties, JobRepository jobRepository, List<JobHandler> handlers,
+                      BulkheadRegistry bulkheadRegistry, TransactionTemplate transactionTemplate,
+                      ObjectMapper objectMapper, ClusterInvalidationService clusterService,
+                      MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jobRepository = jobRepository;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.instanceId = clusterService.instanceId();
+        handlers.forEach(handler -> this.handlers.put(handler.type(), handler));
+        this.workers = Executors.newFixedThreadPool(properties.workers(),
+                Thread.ofPlatform().name("job-worker-", 1).factory());
+
+        Gauge.builder("api.jobs.running", running, AtomicInteger::get)
+                .description("Jobs running on this instance")
+                .register(meterRegistry);
+        this.throttled = Counter.builder("api.jobs.throttled")
+                .description("Pauses of the jobs to keep the online requests within their latency objectives")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a job.
+     *
+     * @return the queued job
+     * @throws ApiException if the type or the parameters of the job are invalid
+     */
+    public JobDto submit(JobRequestDto request, Principal principal) throws ApiException {
+        final JobHandler handler = request.type() != null ? handlers.get(request.type()) : null;
+        if (handler == null) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Unsupported job type " + request.type()
+                    + ". Allowed types: " + handlers.keySet());
+        }
+        if (request.parameters() == null || !request.parameters().isObject()) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Missing parameters");
+        }
+        final long total = handler.prepare(request.parameters());
+
+        final Job job = jobRepository.save(Job.builder()
+                .type(request.type())
+                .status(Job.Status.QUEUED)
+                .parameters(request.parameters().toString())
+                .total(total)
+                .createdBy(principal != null ? principal.getName() : null)
+                .build());
+        log.info("Queued job {} {} of {} items", job.getId(), job.getType(), total);
+        return JobDto.of(job);
+    }
+
+    public JobDto get(Long id) throws ApiException {
+        return JobDto.of(find(id));
+    }
+
+    /**
+     * Cancels a job. A queued job is cancelled right away; a running job stops after its current chunk,
+     * keeping the chunks already committed.
+     *
+     * @throws ApiException if the job does not exist or is already finished
+     */
+    public JobDto cancel(Long id) throws ApiException {
+        if (jobRepository.cancelQueued(id, Instant.now()) == 1) {
+            log.info("Cancelled queued job {}", id);
+            return get(id);
+        }
+
+        final Job job = find(id);
+        if (job.getStatus() == Job.Status.RUNNING) {
+            jobRepository.requestCancel(id);
+            log.info("Requested the cancellation of job {}", id);
+            return get(id);
+        }
+        if (job.getStatus() != Job.Status.CANCELLED) {
+            throw new ApiException(HttpStatus.CONFLICT, "Job with ID " + id + " is already " + job.getStatus());
+        }
+        return JobDto.of(job);
+    }
+
+    /**
+     * Claims as many queued or abandoned jobs as there are free workers.
+     */
+    @Scheduled(fixedDelayString = "${api.jobs.poll-interval:1s}")
+    public void dispatch() {
+        final int free = properties.workers() - running.get();
+        if (!properties.enabled() || stopping || free <= 0) {
+            return;
+        }
+
+        final Instant now = Instant.now();
+        final Instant expired = now.minus(properties.leaseTimeout());
+        for (Long id : jobRepository.findClaimable(expired, PageRequest.ofSize(free))) {
+            if (jobRepository.claim(id, instanceId, now, expired) == 1) {
+                running.incrementAndGet();
+                workers.execute(() -> {
+                    try {
+                        run(id);
+                    } finally {
+                        running.decrementAndGet();
+                    }
+                });
+            }
+        }
+    }
+
+    private void run(Long id) {
+        log.info("Running job {}", id);
+        final JsonNode parameters;
+        try {
+            parameters = jobRepository.findById(id)
+                    .map(Job::getParameters)
+                    .map(this::readTree)
+                    .orElse(null);
+        } catch (IllegalStateException e) {
+            fail(id, e);
+            return;
+        }
+
+        boolean done = parameters == null;
+        while (!done && !stopping) {
+            throttle(id);
+            try {
+                done = transactionTemplate.execute(status -> processChunk(id, parameters));
+            } catch (ObjectOptimisticLockingFailureException e) {
+                log.warn("Job {} was claimed by another instance, stopping it here", id);
+                return;
+            } catch (RuntimeException e) {
+                fail(id, e.getCause() instanceof ApiException apiException ? apiException : e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return whether the job is over, whatever the reason
+     */
+    private boolean processChunk(Long id, JsonNode parameters) {
+        final Job job = jobRepository.findById(id).orElse(null);
+        if (job == null || job.getStatus() != Job.Status.RUNNING || !instanceId.equals(job.getOwner())) {
+            return true;
+        }
+        if (job.isCancelRequested()) {
+            job.setStatus(Job.Status.CANCELLED);
+            log.info("Cancelled job {} after {} of {} items", id, job.getProcessed(), job.getTotal());
+            return true;
+        }
+
+        final JobHandler.Chunk chunk;
+        try {
+            chunk = handlers.get(job.getType()).process(parameters, job.getCheckpoint(), properties.chunkSize());
+        } catch (ApiException e) {
+            // Rolls the chunk back
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+
+        job.setProcessed(job.getProcessed() + chunk.processed());
+        job.setCheckpoint(chunk.checkpoint());
+        job.setHeartbeatAt(Instant.now());
+        if (chunk.last()) {
+            job.setStatus(Job.Status.SUCCEEDED);
+            log.info("Completed job {} of {} items", id, job.getProcessed());
+        }
+        return chunk.last();
+    }
+
+    /**
+     * Waits while the online requests are busy, reporting the progress meanwhile so that the job is not
+     * considered abandoned.
+     */
+    private void throttle(Long id) {
+        while (!stopping && ONLINE.stream()
+                .anyMatch(endpointClass -> bulkheadRegistry.get(endpointClass).utilization() > properties.throttleUtilization())) {
+            throttled.increment();
+            jobRepository.heartbeat(id, instanceId, Instant.now());
+            try {
+                Thread.sleep(properties.throttlePause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private JsonNode readTree(String parameters) {
+        try {
+            return objectMapper.readTree(parameters);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Invalid parameters: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private void fail(Long id, Exception cause) {
+        log.error("Job {} failed", id, cause);
+        transactionTemplate.executeWithoutResult(status -> jobRepository.findById(id).ifPresent(job -> {
+            job.setStatus(Job.Status.FAILED);
+            job.setError(StringUtils.abbreviate(cause.getMessage(), MAX_ERROR_LENGTH));
+        }));
+    }
+
+    private Job find(Long id) throws ApiException {
+        return jobRepository.findById(id)
+                .orElseThrow(() -> ApiErrors.JOB_NOT_FOUND.exception(id));
+    }
+
+    /**
+     * Stops the workers after their current chunk and requeues their jobs, so that another instance
+     * resumes them from their checkpoint.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        stopping = true;
+        workers.shutdown();
+        if (!workers.awaitTermination(properties.leaseTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("Jobs still running at shutdown, they will be resumed once their lease expires");
+            return;
+        }
+        final int released = jobRepository.release(instanceId);
+        if (released > 0) {
+            log.info("Requeued {} running jobs", released);
+        }
+    }
+}
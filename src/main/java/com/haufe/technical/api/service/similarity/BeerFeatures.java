@@ -0,0 +1,87 @@
+package com.haufe.technical.api.service.similarity;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Sparse feature vector of a beer, made of three blocks, each of unit length and scaled by the square root
+ * of its weight, so that the dot product of two vectors is the weighted sum of the similarities of each block:
+ * <ul>
+ *     <li>the style, one-hot encoded by its code in a {@link StyleDictionary};</li>
+ *     <li>the ABV, as an angle on a quarter circle, so that the similarity decreases with the ABV difference;</li>
+ *     <li>the description, as a bag of at most {@link #MAX_WORDS} words hashed into {@link #WORD_BUCKETS}
+ *     buckets, their weights quantized to a byte.</li>
+ * </ul>
+ * A missing style, ABV or description leaves its block empty. Hash collisions make unrelated words look alike
+ * now and then, which is fine for recommendations.
+ *
+ * @param style   the style code, {@link StyleDictionary#NONE} without style
+ * @param abvX    the first coordinate of the ABV block
+ * @param abvY    the second coordinate of the ABV block
+ * @param words   the buckets of the description words
+ * @param weights the quantized weights of the description words, see {@link #weight(byte)}
+ */
+record BeerFeatures(int style, float abvX, float abvY, byte[] words, byte[] weights) {
+    static final int WORD_BUCKETS = 128;
+    static final int MAX_WORDS = 16;
+    static final float MAX_ABV = 15f;
+    static final float STYLE_WEIGHT = 0.5f;
+    static final float ABV_WEIGHT = 0.3f;
+    static final float DESCRIPTION_WEIGHT = 0.2f;
+
+    private static final float WORD_SCALE = (float) Math.sqrt(DESCRIPTION_WEIGHT) / 255;
+    private static final Pattern WORD_BOUNDARY = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of("and", "the", "with", "for", "from", "beer", "notes", "hint");
+
+    /**
+     * @param style the style code, see {@link StyleDictionary#code(String)}
+     */
+    static BeerFeatures of(int style, Float abv, String description) {
+        float abvX = 0;
+        float abvY = 0;
+        if (abv != null) {
+            final double angle = Math.clamp(abv / MAX_ABV, 0, 1) * Math.PI / 2;
+            abvX = (float) (Math.cos(angle) * Math.sqrt(ABV_WEIGHT));
+            abvY = (float) (Math.sin(angle) * Math.sqrt(ABV_WEIGHT));
+        }
+
+        final Map<Integer, Integer> counts = new HashMap<>();
+        if (description != null) {
+            for (String word : WORD_BOUNDARY.split(description.toLowerCase(Locale.ROOT))) {
+                if (word.length() > 2 && !STOP_WORDS.contains(word)) {
+                    counts.merge(bucket(word, WORD_BUCKETS), 1, Integer::sum);
+                }
+            }
+        }
+        final int[][] kept = counts.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(MAX_WORDS)
+                .map(entry -> new int[]{entry.getKey(), entry.getValue()})
+                .toArray(int[][]::new);
+        double norm = 0;
+        for (int[] word : kept) {
+            norm += (double) word[1] * word[1];
+        }
+        final byte[] words = new byte[kept.length];
+        final byte[] weights = new byte[kept.length];
+        for (int i = 0; i < kept.length; ++i) {
+            words[i] = (byte) kept[i][0];
+            weights[i] = (byte) Math.round(kept[i][1] / Math.sqrt(norm) * 255);
+        }
+        return new BeerFeatures(style, abvX, abvY, words, weights);
+    }
+
+    /**
+     * @return the weight of a description word, including the square root of the description block weight
+     */
+    static float weight(byte quantized) {
+        return (quantized & 0xFF) * WORD_SCALE;
+    }
+
+    private static int bucket(String text, int buckets) {
+        return Math.floorMod(text.hashCode(), buckets);
+    }
+}
@@ -0,0 +1,189 @@
+package com.haufe.technical.api.service.similarity;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Exact nearest neighbour search over {@link BeerFeatures}, stored column by column in fixed-size slots of
+ * primitive arrays, about 50 bytes per beer.
+ * <p>
+ * The search is a brute-force scan computing the dot product with every beer: a sequential read of memory
+ * and a couple of dozen operations per beer, which is fast enough for millions of beers once split across
+ * the cores. Large indexes are scanned in parallel chunks, each keeping its own top k, merged at the end.
+ * Removing a beer moves the last one into its slot, so the arrays never have holes.
+ */
+final class FeatureIndex {
+    static final int PARALLEL_THRESHOLD = 50_000;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int WORDS = BeerFeatures.MAX_WORDS;
+    private static final Comparator<Neighbour> BEST_FIRST =
+            Comparator.comparingDouble(Neighbour::score).reversed().thenComparingLong(Neighbour::id);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int[] styles = new int[INITIAL_CAPACITY];
+    private float[] abvs = new float[INITIAL_CAPACITY * 2];
+    private byte[] wordCounts = new byte[INITIAL_CAPACITY];
+    private byte[] words = new byte[INITIAL_CAPACITY * WORDS];
+    private byte[] weights = new byte[INITIAL_CAPACITY * WORDS];
+    private int size;
+
+    record Neighbour(long id, float score) {}
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces the features of an ID.
+     */
+    void put(long id, BeerFeatures features) {
+        putIf(id, features, key -> true);
+    }
+
+    /**
+     * Adds or replaces the features of an ID like {@link #put}, unless the condition, evaluated while holding
+     * the write lock, rejects it.
+     */
+    void putIf(long id, BeerFeatures features, LongPredicate condition) {
+        lock.writeLock().lock();
+        try {
+            if (!condition.test(id)) {
+                return;
+            }
+            Integer slot = slots.get(id);
+            if (slot == null) {
+                if (size == ids.length) {
+                    grow();
+                }
+                slot = size++;
+                ids[slot] = id;
+                slots.put(id, slot);
+            }
+            styles[slot] = features.style();
+            abvs[slot * 2] = features.abvX();
+            abvs[slot * 2 + 1] = features.abvY();
+            wordCounts[slot] = (byte) features.words().length;
+            System.arraycopy(features.words(), 0, words, slot * WORDS, features.words().length);
+            System.arraycopy(features.weights(), 0, weights, slot * WORDS, features.weights().length);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void grow() {
+        final int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        styles = Arrays.copyOf(styles, capacity);
+        abvs = Arrays.copyOf(abvs, capacity * 2);
+        wordCounts = Arrays.copyOf(wordCounts, capacity);
+        words = Arrays.copyOf(words, capacity * WORDS);
+        weights = Arrays.copyOf(weights, capacity * WORDS);
+    }
+
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            final Integer slot = slots.remove(id);
+            if (slot == null) {
+                return;
+            }
+            final int last = --size;
+            if (slot != last) {
+                ids[slot] = ids[last];
+                styles[slot] = styles[last];
+                System.arraycopy(abvs, last * 2, abvs, slot * 2, 2);
+                wordCounts[slot] = wordCounts[last];
+                System.arraycopy(words, last * WORDS, words, slot * WORDS, WORDS);
+                System.arraycopy(weights, last * WORDS, weights, slot * WORDS, WORDS);
+                slots.put(ids[slot], slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the features of the ID, empty if not indexed
+     */
+    Optional<BeerFeatures> get(long id) {
+        lock.readLock().lock();
+        try {
+            final Integer slot = slots.get(id);
+            if (slot == null) {
+                return Optional.empty();
+            }
+            final int from = slot * WORDS;
+            final int to = from + wordCounts[slot];
+            return Optional.of(new BeerFeatures(styles[slot], abvs[slot * 2], abvs[slot * 2 + 1],
+                    Arrays.copyOfRange(words, from, to), Arrays.copyOfRange(weights, from, to)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the beers with the highest dot product with the query.
+     *
+     * @param query    the query features
+     * @param k        the number of neighbours
+     * @param excluded the ID left out of the results, usually the one of the query
+     * @return at most k neighbours, the most similar first
+     */
+    List<Neighbour> nearest(BeerFeatures query, int k, long excluded) {
+        final float[] queryWords = new float[BeerFeatures.WORD_BUCKETS];
+        for (int i = 0; i < query.words().length; ++i) {
+            queryWords[query.words()[i] & 0xFF] = BeerFeatures.weight(query.weights()[i]);
+        }
+
+        lock.readLock().lock();
+        try {
+            final int chunks = size < PARALLEL_THRESHOLD ? 1 : ForkJoinPool.getCommonPoolParallelism() * 4;
+            final int chunkSize = Math.ceilDiv(Math.max(size, 1), chunks);
+            final IntStream starts = IntStream.range(0, chunks).map(chunk -> chunk * chunkSize);
+            return (chunks > 1 ? starts.parallel() : starts)
+                    .mapToObj(start -> nearest(query, queryWords, k, excluded, start, Math.min(start + chunkSize, size)))
+                    .flatMap(Collection::stream)
+                    .sorted(BEST_FIRST)
+                    .limit(k)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Neighbour> nearest(BeerFeatures query, float[] queryWords, int k, long excluded, int from, int to) {
+        // Min-heap of the best k so far, its head is the worst of them
+        final PriorityQueue<Neighbour> best = new PriorityQueue<>(k + 1, BEST_FIRST.reversed());
+        for (int slot = from; slot < to; ++slot) {
+            if (ids[slot] == excluded) {
+                continue;
+            }
+            float score = abvs[slot * 2] * query.abvX() + abvs[slot * 2 + 1] * query.abvY();
+            if (query.style() != StyleDictionary.NONE && styles[slot] == query.style()) {
+                score += BeerFeatures.STYLE_WEIGHT;
+            }
+            final int offset = slot * WORDS;
+            for (int i = offset; i < offset + wordCounts[slot]; ++i) {
+                score += queryWords[words[i] & 0xFF] * BeerFeatures.weight(weights[i]);
+            }
+            if (best.size() < k || score > best.peek().score()) {
+                best.add(new Neighbour(ids[slot], score));
+                if (best.size() > k) {
+                    best.poll();
+                }
+            }
+        }
+        return new ArrayList<>(best);
+    }
+}
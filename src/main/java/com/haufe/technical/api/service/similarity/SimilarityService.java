@@ -0,0 +1,130 @@
+package com.haufe.technical.api.service.similarity;
+
+import com.haufe.technical.api.controller.dto.beer.SimilarBeerDto;
+import com.haufe.technical.api.domain.event.BeerChangedEvent;
+import com.haufe.technical.api.domain.event.RemoteChangeEvent;
+import com.haufe.technical.api.domain.repository.BeerFeaturesRow;
+import com.haufe.technical.api.domain.repository.BeerRepository;
+import com.haufe.technical.api.domain.repository.EntityName;
+import com.haufe.technical.api.exception.ApiErrors;
+import com.haufe.technical.api.exception.ApiException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StopWatch;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Recommends the beers most similar to a given one, by style, ABV and description, from an in-memory
+ * {@link FeatureIndex} of their {@link BeerFeatures}. The index is loaded at startup and kept current from
+ * the beer change events, the beers changed by other instances being reloaded from the database. The beers
+ * changed while the index is loaded are not overwritten by the loaded rows, which may predate the changes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SimilarityService {
+    public static final int MAX_K = 50;
+
+    private final BeerRepository beerRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final StyleDictionary styles = new StyleDictionary();
+    private final FeatureIndex index = new FeatureIndex();
+    private volatile Set<Long> changedDuringBuild;
+
+    /**
+     * Finds the beers most similar to a beer.
+     *
+     * @param id the ID of the beer
+     * @param k  the number of similar beers, capped to {@link #MAX_K}
+     * @return the similar beers, the most similar first
+     * @throws ApiException if the beer is not found
+     */
+    public List<SimilarBeerDto> similar(Long id, int k) throws ApiException {
+        final BeerFeatures query = index.get(id)
+                .orElseThrow(() -> ApiErrors.BEER_NOT_FOUND.exception(id));
+        final List<FeatureIndex.Neighbour> neighbours = index.nearest(query, Math.clamp(k, 1, MAX_K), id);
+
+        final Map<Long, String> names = beerRepository.findNamesByIdIn(
+                        neighbours.stream().map(FeatureIndex.Neighbour::id).toList())
+                .stream()
+                .collect(Collectors.toMap(EntityName::id, EntityName::name));
+        return neighbours.stream()
+                .filter(neighbour -> names.containsKey(neighbour.id()))
+                .map(neighbour -> new SimilarBeerDto(neighbour.id(), names.get(neighbour.id()), neighbour.score()))
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        final StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        final Set<Long> changed = ConcurrentHashMap.newKeySet();
+        changedDuringBuild = changed;
+        try {
+            jdbcTemplate.query("SELECT ID, ABV, \"STYLE\", DESCRIPTION FROM BEER", resultSet -> {
+                final float abv = resultSet.getFloat(2);
+                final Float nullableAbv = resultSet.wasNull() ? null : abv;
+                index.putIf(resultSet.getLong(1),
+                        features(resultSet.getString(3), nullableAbv, resultSet.getString(4)),
+                        id -> !changed.contains(id));
+            });
+        } finally {
+            changedDuringBuild = null;
+        }
+        stopWatch.stop();
+        log.info("Indexed {} beers of {} styles for similarity in {} ms",
+                index.size(), styles.size(), stopWatch.getTotalTimeMillis());
+    }
+
+    private BeerFeatures features(String style, Float abv, String description) {
+        return BeerFeatures.of(styles.code(style), abv, description);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeerChanged(BeerChangedEvent event) {
+        changed(event.id());
+        if (event.current() != null) {
+            index.put(event.id(), features(event.current().style(), event.current().abv(), event.current().description()));
+        } else {
+            index.remove(event.id());
+        }
+    }
+
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        final Set<Long> ids = event.changes().stream()
+                .filter(change -> RemoteChangeEvent.BEER.equals(change.entity()))
+                .map(RemoteChangeEvent.Change::id)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        ids.forEach(this::changed);
+        final Set<Long> deleted = new HashSet<>(ids);
+        for (BeerFeaturesRow beer : beerRepository.findFeaturesByIdIn(ids)) {
+            index.put(beer.id(), features(beer.style(), beer.abv(), beer.description()));
+            deleted.remove(beer.id());
+        }
+        deleted.forEach(index::remove);
+    }
+
+    private void changed(Long id) {
+        // Recorded before indexing, so that a load of the beer in between skips it
+        final Set<Long> changed = changedDuringBuild;
+        if (changed != null) {
+            changed.add(id);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.haufe.technical.api.service.similarity;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gives every distinct style, ignoring case and surrounding spaces, its own code, so that two beers share
+ * a style code only if they share the style. The codes are assigned on first sight and never reused;
+ * the styles are few enough to keep those of the deleted beers.
+ */
+final class StyleDictionary {
+    static final int NONE = -1;
+
+    private final ConcurrentMap<String, Integer> codes = new ConcurrentHashMap<>();
+    private final AtomicInteger nextCode = new AtomicInteger();
+
+    /**
+     * @return the code of the style, {@link #NONE} without style
+     */
+    int code(String style) {
+        if (style == null || style.isBlank()) {
+            return NONE;
+        }
+        return codes.computeIfAbsent(style.trim().toLowerCase(Locale.ROOT), key -> nextCode.getAndIncrement());
+    }
+
+    int size() {
+        return codes.size();
+    }
+}
@@ -0,0 +1,82 @@
+package com.haufe.technical.api.service.snapshot;
+
+import com.haufe.technical.api.controller.dto.beer.BeerListResponseDto;
+import com.haufe.technical.api.controller.dto.beer.BeerReadResponseDto;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Columnar copy of the beers.
+ */
+final class BeerTable extends ColumnTable<BeerListResponseDto> {
+    private final StringColumn names;
+    private final float[] abvs;
+    private final StringColumn styles;
+    private final StringColumn descriptions;
+
+    private BeerTable(long[] ids, int size, StringColumn names, float[] abvs, StringColumn styles,
+                      StringColumn descriptions) {
+        super(ids, size, Map.of(
+                "id", Column.ofIds(ids),
+                "name", names.sortable(),
+                "abv", Column.ofFloats(abvs),
+                "style", styles.sortable(),
+                "description", descriptions.sortable()));
+        this.names = names;
+        this.abvs = abvs;
+        this.styles = styles;
+        this.descriptions = descriptions;
+    }
+
+    BeerReadResponseDto read(int row) {
+        return new BeerReadResponseDto(names.get(row), abv(row), styles.get(row), descriptions.get(row));
+    }
+
+    @Override
+    protected BeerListResponseDto listRow(int row) {
+        return new BeerListResponseDto(id(row), names.get(row), abv(row), styles.get(row), descriptions.get(row));
+    }
+
+    private Float abv(int row) {
+        return Float.isNaN(abvs[row]) ? null : abvs[row];
+    }
+
+    /**
+     * Collects the beers, which must be added by ascending ID.
+     */
+    static final class Builder {
+        private long[] ids;
+        private float[] abvs;
+        private final StringColumn.Builder names;
+        private final StringColumn.Builder styles;
+        private final StringColumn.Builder descriptions;
+        private int size;
+
+        Builder(int capacity) {
+            ids = new long[Math.max(capacity, 16)];
+            abvs = new float[ids.length];
+            names = new StringColumn.Builder(capacity);
+            styles = new StringColumn.Builder(capacity);
+            descriptions = new StringColumn.Builder(capacity);
+        }
+
+        void add(long id, String name, Float abv, String style, String description) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                abvs = Arrays.copyOf(abvs, size * 2);
+            }
+            ids[size] = id;
+            abvs[size] = abv != null ? abv : Float.NaN;
+            names.add(name);
+            styles.add(style);
+            descriptions.add(description);
+            ++size;
+        }
+
+        BeerTable build() {
+            return new BeerTable(Arrays.copyOf(ids, size), size, names.build(), Arrays.copyOf(abvs, size),
+                    styles.build(), descriptions.build());
+        }
+    }
+}
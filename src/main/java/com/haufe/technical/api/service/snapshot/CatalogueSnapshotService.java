@@ -0,0 +1,228 @@
+package com.haufe.technical.api.service.snapshot;
+
+import com.haufe.technical.api.config.SnapshotProperties;
+import com.haufe.technical.api.controller.dto.beer.BeerListResponseDto;
+import com.haufe.technical.api.controller.dto.beer.BeerReadResponseDto;
+import com.haufe.technical.api.controller.dto.manufacturer.ManufacturerListResponseDto;
+import com.haufe.technical.api.controller.dto.manufacturer.ManufacturerReadResponseDto;
+import com.haufe.technical.api.domain.event.BeerChangedEvent;
+import com.haufe.technical.api.domain.event.ManufacturerChangedEvent;
+import com.haufe.technical.api.domain.event.RemoteChangeEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StopWatch;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Optional serving mode answering the catalogue reads and listings from an immutable columnar snapshot,
+ * without going through JPA, Hibernate and JDBC.
+ * <p>
+ * The snapshot is rebuilt and swapped atomically shortly after changes are committed, and periodically
+ * to pick up the changes made directly in the database. Until then it keeps being served for at most
+ * {@code max-staleness} after the first change it misses, except for the reads of the changed entities,
+ * which fall back to the database so that every client reads its own writes; the listings may lag behind
+ * by that window. The writes always go to the database through the services.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogueSnapshotService {
+    private final SnapshotProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    /**
+     * Records the changes committed while a snapshot is loaded, which it may or may not include.
+     */
+    private volatile Changes loading;
+
+    /**
+     * @param changes the changes committed since the snapshot started loading
+     */
+    private record Snapshot(BeerTable beers, ManufacturerTable manufacturers, Changes changes) {}
+
+    /**
+     * @return the beer, or empty when it has to be read from the database
+     */
+    public Optional<BeerReadResponseDto> readBeer(Long id) {
+        return current().filter(current -> !current.changes().beers.contains(id)).flatMap(current -> {
+            final int row = current.beers().indexOf(id);
+            return row >= 0 ? Optional.of(current.beers().read(row)) : Optional.empty();
+        });
+    }
+
+    /**
+     * @return the page of beers, or empty when it has to be read from the database, e.g. when sorted by
+     * a nested property
+     */
+    public Optional<Page<BeerListResponseDto>> listBeers(Pageable pageable) {
+        return current()
+                .filter(current -> current.beers().canSort(pageable.getSort()))
+                .map(current -> current.beers().page(pageable));
+    }
+
+    /**
+     * @return the manufacturer, or empty when it has to be read from the database
+     */
+    public Optional<ManufacturerReadResponseDto> readManufacturer(Long id) {
+        return current().filter(current -> !current.changes().manufacturers.contains(id)).flatMap(current -> {
+            final int row = current.manufacturers().indexOf(id);
+            return row >= 0 ? Optional.of(current.manufacturers().read(row)) : Optional.empty();
+        });
+    }
+
+    /**
+     * @return the page of manufacturers, or empty when it has to be read from the database, e.g. when sorted
+     * by a nested property
+     */
+    public Optional<Page<ManufacturerListResponseDto>> listManufacturers(Pageable pageable) {
+        return current()
+                .filter(current -> current.manufacturers().canSort(pageable.getSort()))
+                .map(current -> current.manufacturers().page(pageable));
+    }
+
+    private Optional<Snapshot> current() {
+        final Snapshot current = snapshot.get();
+        return current != null && current.changes().isWithin(properties.maxStaleness())
+                ? Optional.of(current)
+                : Optional.empty();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (properties.enabled()) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${api.snapshot.rebuild-delay:PT1S}")
+    public void rebuildIfStale() {
+        final Snapshot current = snapshot.get();
+        if (properties.enabled() && current != null && current.changes().any()) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${api.snapshot.refresh-interval:PT5M}",
+            initialDelayString = "${api.snapshot.refresh-interval:PT5M}")
+    public void refresh() {
+        if (properties.enabled()) {
+            rebuild();
+        }
+    }
+
+    private synchronized void rebuild() {
+        // Set before loading: the changes committed while loading may be missing from the new snapshot
+        final Changes changes = new Changes();
+        loading = changes;
+        try {
+            final StopWatch stopWatch = new StopWatch();
+            stopWatch.start();
+            final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            // Every table keeps the snapshot of its first read, i.e. of its count
+            transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+            transactionTemplate.setReadOnly(true);
+            final Snapshot rebuilt = transactionTemplate.execute(status -> load(changes));
+            snapshot.set(rebuilt);
+            stopWatch.stop();
+            log.info("Built catalogue snapshot of {} manufacturers and {} beers in {} ms",
+                    rebuilt.manufacturers().size(), rebuilt.beers().size(), stopWatch.getTotalTimeMillis());
+        } finally {
+            loading = null;
+        }
+    }
+
+    private Snapshot load(Changes changes) {
+        final ManufacturerTable.Builder manufacturers = new ManufacturerTable.Builder(
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM MANUFACTURER", Integer.class));
+        jdbcTemplate.query("SELECT ID, NAME, COUNTRY FROM MANUFACTURER ORDER BY ID", resultSet -> {
+            manufacturers.add(resultSet.getLong(1), resultSet.getString(2), resultSet.getString(3));
+        });
+
+        final BeerTable.Builder beers = new BeerTable.Builder(
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM BEER", Integer.class));
+        jdbcTemplate.query("SELECT ID, NAME, ABV, \"STYLE\", DESCRIPTION FROM BEER ORDER BY ID", resultSet -> {
+            final float abv = resultSet.getFloat(3);
+            beers.add(resultSet.getLong(1), resultSet.getString(2), resultSet.wasNull() ? null : abv,
+                    resultSet.getString(4), resultSet.getString(5));
+        });
+
+        return new Snapshot(beers.build(), manufacturers.build(), changes);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeerChanged(BeerChangedEvent event) {
+        record(changes -> changes.beers.add(event.id()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onManufacturerChanged(ManufacturerChangedEvent event) {
+        record(changes -> changes.manufacturers.add(event.id()));
+    }
+
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        record(changes -> event.changes().forEach(change -> {
+            if (RemoteChangeEvent.BEER.equals(change.entity())) {
+                changes.beers.add(change.id());
+            } else {
+                changes.manufacturers.add(change.id());
+            }
+        }));
+    }
+
+    private void record(Consumer<Changes> change) {
+        // Loading first: once it is cleared, the snapshot it was recording for is the current one
+        final Changes loadingChanges = loading;
+        if (loadingChanges != null) {
+            loadingChanges.record(change);
+        }
+        final Snapshot current = snapshot.get();
+        if (current != null && current.changes() != loadingChanges) {
+            current.changes().record(change);
+        }
+    }
+
+    /**
+     * The entities changed since a snapshot started loading, and when the first of them changed.
+     */
+    private static final class Changes {
+        private final Set<Long> beers = ConcurrentHashMap.newKeySet();
+        private final Set<Long> manufacturers = ConcurrentHashMap.newKeySet();
+        private volatile boolean any;
+        private volatile long firstChangedAt;
+
+        synchronized void record(Consumer<Changes> change) {
+            change.accept(this);
+            if (!any) {
+                firstChangedAt = System.nanoTime();
+                any = true;
+            }
+        }
+
+        boolean any() {
+            return any;
+        }
+
+        boolean isWithin(Duration maxStaleness) {
+            return !any || System.nanoTime() - firstChangedAt < maxStaleness.toNanos();
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.haufe.technical.api.service.snapshot;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Immutable table of rows stored column by column, sorted by ID.
+ * <p>
+ * The string columns are dictionary encoded with order preserving codes (see {@link StringColumn}), so that
+ * sorting by any column only compares primitives. The row order of a sort is computed once and cached, for
+ * at most {@link #MAX_ORDERS} sorts: the listings with other sorts are read from the database.
+ * <p>
+ * Strings are ordered by their UTF-16 code units, which may differ from the collation of the database, and
+ * nulls sort low like in H2 and MariaDB. The case insensitive sorts are also left to the database.
+ *
+ * @param <T> the type of the rows materialized for the listings
+ */
+abstract class ColumnTable<T> {
+    static final int MAX_ORDERS = 16;
+
+    private final long[] ids;
+    private final int size;
+    private final Map<String, Column> columns;
+    private final ConcurrentMap<Sort, int[]> orders = new ConcurrentHashMap<>();
+
+    /**
+     * A sortable column.
+     */
+    interface Column {
+        boolean isNull(int row);
+
+        /**
+         * Compares the non-null values of two rows.
+         */
+        int compare(int row, int other);
+
+        static Column ofIds(long[] ids) {
+            return new Column() {
+                public boolean isNull(int row) {
+                    return false;
+                }
+
+                public int compare(int row, int other) {
+                    return Long.compare(ids[row], ids[other]);
+                }
+            };
+        }
+
+        /**
+         * @param codes the order preserving codes of the values, {@link StringColumn#NULL} for null
+         */
+        static Column ofCodes(int[] codes) {
+            return new Column() {
+                public boolean isNull(int row) {
+                    return codes[row] == StringColumn.NULL;
+                }
+
+                public int compare(int row, int other) {
+                    return Integer.compare(codes[row], codes[other]);
+                }
+            };
+        }
+
+        /**
+         * @param values the values, {@code NaN} for null
+         */
+        static Column ofFloats(float[] values) {
+            return new Column() {
+                public boolean isNull(int row) {
+                    return Float.isNaN(values[row]);
+                }
+
+                public int compare(int row, int other) {
+                    return Float.compare(values[row], values[other]);
+                }
+            };
+        }
+    }
+
+    ColumnTable(long[] ids, int size, Map<String, Column> columns) {
+        this.ids = ids;
+        this.size = size;
+        this.columns = columns;
+    }
+
+    protected abstract T listRow(int row);
+
+    int size() {
+        return size;
+    }
+
+    long id(int row) {
+        return ids[row];
+    }
+
+    /**
+     * @return the row with the given ID, or a negative value when there is no such row
+     */
+    int indexOf(long id) {
+        return Arrays.binarySearch(ids, 0, size, id);
+    }
+
+    /**
+     * @return whether every property of the sort is a column of the table, nested properties such as
+     * {@code manufacturer.name} are not, the sort is case sensitive, and its row order is cached or there
+     * is still room to cache it
+     */
+    boolean canSort(Sort sort) {
+        return sort.stream().allMatch(order -> columns.containsKey(order.getProperty()) && !order.isIgnoreCase())
+                && (sort.isUnsorted() || orders.containsKey(sort) || orders.size() < MAX_ORDERS);
+    }
+
+    /**
+     * Lists a page of rows, sorted as described in the class comment.
+     *
+     * @throws IllegalArgumentException if a sort property is not a column, see {@link #canSort(Sort)}
+     */
+    Page<T> page(Pageable pageable) {
+        final int[] order = order(pageable.getSort());
+        final int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), size) : 0;
+        final int to = pageable.isPaged() ? Math.min(from + pageable.getPageSize(), size) : size;
+
+        final List<T> content = new ArrayList<>(to - from);
+        for (int i = from; i < to; ++i) {
+            content.add(listRow(order != null ? order[i] : i));
+        }
+        return new PageImpl<>(content, pageable, size);
+    }
+
+    private int[] order(Sort sort) {
+        if (sort.isUnsorted()) {
+            return null;
+        }
+        final int[] cached = orders.get(sort);
+        if (cached != null) {
+            return cached;
+        }
+
+        RowComparator comparator = null;
+        for (Sort.Order order : sort) {
+            final Column column = columns.get(order.getProperty());
+            if (column == null) {
+                throw new IllegalArgumentException("Cannot sort by " + order.getProperty());
+            }
+            comparator = comparator == null ? comparator(column, order) : comparator.thenComparing(comparator(column, order));
+        }
+
+        final int[] rows = new int[size];
+        Arrays.setAll(rows, row -> row);
+        sort(rows, new int[size], 0, size, comparator);
+        synchronized (orders) {
+            if (orders.size() < MAX_ORDERS) {
+                orders.putIfAbsent(sort, rows);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Compares two rows by their position in the table.
+     */
+    @FunctionalInterface
+    private interface RowComparator {
+        int compare(int row, int other);
+
+        default RowComparator thenComparing(RowComparator next) {
+            return (row, other) -> {
+                final int comparison = compare(row, other);
+                return comparison != 0 ? comparison : next.compare(row, other);
+            };
+        }
+    }
+
+    /**
+     * Stable merge sort of {@code rows[from, to)}, so that the rows equal by the sort keep their ID order.
+     */
+    private static void sort(int[] rows, int[] buffer, int from, int to, RowComparator comparator) {
+        if (to - from < 2) {
+            return;
+        }
+        final int middle = (from + to) >>> 1;
+        sort(rows, buffer, from, middle, comparator);
+        sort(rows, buffer, middle, to, comparator);
+        if (comparator.compare(rows[middle - 1], rows[middle]) <= 0) {
+            return;
+        }
+
+        System.arraycopy(rows, from, buffer, from, to - from);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; ++i) {
+            rows[i] = right >= to || left < middle && comparator.compare(buffer[left], buffer[right]) <= 0
+                    ? buffer[left++]
+                    : buffer[right++];
+        }
+    }
+
+    private static RowComparator comparator(Column column, Sort.Order order) {
+        // Nulls sort low, like H2 and MariaDB do by default, unless explicitly requested otherwise
+        final boolean nullsFirst = switch (order.getNullHandling()) {
+            case NATIVE -> order.isAscending();
+            case NULLS_FIRST -> true;
+            case NULLS_LAST -> false;
+        };
+        return (row, other) -> {
+            final boolean rowNull = column.isNull(row);
+            final boolean otherNull = column.isNull(other);
+            if (rowNull || otherNull) {
+                return rowNull == otherNull ? 0 : rowNull == nullsFirst ? -1 : 1;
+            }
+            final int comparison = column.compare(row, other);
+            return order.isAscending() ? comparison : -comparison;
+        };
+    }
+}
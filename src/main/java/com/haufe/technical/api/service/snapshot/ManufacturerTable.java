@@ -0,0 +1,62 @@
+package com.haufe.technical.api.service.snapshot;
+
+import com.haufe.technical.api.controller.dto.manufacturer.ManufacturerListResponseDto;
+import com.haufe.technical.api.controller.dto.manufacturer.ManufacturerReadResponseDto;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Columnar copy of the manufacturers.
+ */
+final class ManufacturerTable extends ColumnTable<ManufacturerListResponseDto> {
+    private final StringColumn names;
+    private final StringColumn countries;
+
+    private ManufacturerTable(long[] ids, int size, StringColumn names, StringColumn countries) {
+        super(ids, size, Map.of(
+                "id", Column.ofIds(ids),
+                "name", names.sortable(),
+                "country", countries.sortable()));
+        this.names = names;
+        this.countries = countries;
+    }
+
+    ManufacturerReadResponseDto read(int row) {
+        return new ManufacturerReadResponseDto(names.get(row), countries.get(row));
+    }
+
+    @Override
+    protected ManufacturerListResponseDto listRow(int row) {
+        return new ManufacturerListResponseDto(id(row), names.get(row), countries.get(row));
+    }
+
+    /**
+     * Collects the manufacturers, which must be added by ascending ID.
+     */
+    static final class Builder {
+        private long[] ids;
+        private final StringColumn.Builder names;
+        private final StringColumn.Builder countries;
+        private int size;
+
+        Builder(int capacity) {
+            ids = new long[Math.max(capacity, 16)];
+            names = new StringColumn.Builder(capacity);
+            countries = new StringColumn.Builder(capacity);
+        }
+
+        void add(long id, String name, String country) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+            names.add(name);
+            countries.add(country);
+        }
+
+        ManufacturerTable build() {
+            return new ManufacturerTable(Arrays.copyOf(ids, size), size, names.build(), countries.build());
+        }
+    }
+}
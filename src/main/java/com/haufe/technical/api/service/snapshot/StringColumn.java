@@ -0,0 +1,80 @@
+package com.haufe.technical.api.service.snapshot;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dictionary encoded string column: every distinct value is stored once, and every row holds the code
+ * of its value. The codes are the positions of the values in the sorted dictionary, so comparing
+ * two codes compares their values.
+ */
+final class StringColumn {
+    static final int NULL = -1;
+
+    private final String[] dictionary;
+    private final int[] codes;
+
+    private StringColumn(String[] dictionary, int[] codes) {
+        this.dictionary = dictionary;
+        this.codes = codes;
+    }
+
+    String get(int row) {
+        final int code = codes[row];
+        return code == NULL ? null : dictionary[code];
+    }
+
+    int distinctValues() {
+        return dictionary.length;
+    }
+
+    ColumnTable.Column sortable() {
+        return ColumnTable.Column.ofCodes(codes);
+    }
+
+    static final class Builder {
+        private final Map<String, Integer> provisionalCodes = new HashMap<>();
+        private int[] codes;
+        private int size;
+
+        Builder(int capacity) {
+            codes = new int[Math.max(capacity, 16)];
+        }
+
+        void add(String value) {
+            if (size == codes.length) {
+                codes = Arrays.copyOf(codes, size * 2);
+            }
+            codes[size++] = value == null
+                    ? NULL
+                    : provisionalCodes.computeIfAbsent(value, key -> provisionalCodes.size());
+        }
+
+        /**
+         * Sorts the dictionary and replaces the provisional codes, in insertion order, by the sorted ones.
+         */
+        StringColumn build() {
+            final String[] dictionary = new String[provisionalCodes.size()];
+            provisionalCodes.forEach((value, code) -> dictionary[code] = value);
+            final Integer[] sortedCodes = new Integer[dictionary.length];
+            Arrays.setAll(sortedCodes, code -> code);
+            Arrays.sort(sortedCodes, (code, other) -> dictionary[code].compareTo(dictionary[other]));
+
+            final int[] finalCodes = new int[dictionary.length];
+            final String[] sortedDictionary = new String[dictionary.length];
+            for (int position = 0; position < sortedCodes.length; ++position) {
+                finalCodes[sortedCodes[position]] = position;
+                sortedDictionary[position] = dictionary[sortedCodes[position]];
+            }
+
+            final int[] rows = Arrays.copyOf(codes, size);
+            for (int row = 0; row < size; ++row) {
+                if (rows[row] != NULL) {
+                    rows[row] = finalCodes[rows[row]];
+                }
+            }
+            return new StringColumn(sortedDictionary, rows);
+        }
+    }
+}
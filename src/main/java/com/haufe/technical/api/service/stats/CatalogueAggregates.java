@@ -0,0 +1,170 @@
+package com.haufe.technical.api.service.stats;
+
+import com.haufe.technical.api.controller.dto.stats.StatsResponseDto;
+import com.haufe.technical.api.domain.event.BeerChangedEvent.BeerState;
+import com.haufe.technical.api.domain.event.ManufacturerChangedEvent.ManufacturerState;
+import com.haufe.technical.api.domain.repository.AbvBucket;
+import com.haufe.technical.api.domain.repository.CatalogueStatsRow;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Catalogue statistics, updated concurrently by the write paths.
+ * Counters are {@link LongAdder}s, which are striped and never block the writers. The ABV values are kept as
+ * a histogram of {@link AbvBucket}s so that the minimum and maximum survive deletions, at the resolution of
+ * the buckets.
+ */
+class CatalogueAggregates {
+    static final String UNKNOWN = "unknown";
+
+    private final ConcurrentMap<Long, ManufacturerState> manufacturers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> manufacturersByCountry = new ConcurrentHashMap<>();
+    private final LongAdder beers = new LongAdder();
+    private final ConcurrentMap<String, LongAdder> beersByStyle = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, LongAdder> beersByManufacturer = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> beersByCountry = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<Long, Long> abvHistogram = new ConcurrentSkipListMap<>();
+    private final DoubleAdder abvSum = new DoubleAdder();
+    private final LongAdder abvCount = new LongAdder();
+
+    /**
+     * Builds the aggregates from the results of the catalogue aggregation queries.
+     */
+    static CatalogueAggregates of(List<CatalogueStatsRow> rows, List<AbvBucket> abvBuckets) {
+        final CatalogueAggregates aggregates = new CatalogueAggregates();
+        for (CatalogueStatsRow row : rows) {
+            if (!aggregates.manufacturers.containsKey(row.manufacturerId())) {
+                aggregates.addManufacturer(
+                        new ManufacturerState(row.manufacturerId(), row.manufacturerName(), row.country()));
+            }
+            if (row.beers() > 0) {
+                aggregates.addBeers(row.manufacturerId(), row.style(), row.beers());
+            }
+            if (row.beersWithAbv() > 0) {
+                aggregates.abvSum.add(row.abvSum());
+                aggregates.abvCount.add(row.beersWithAbv());
+            }
+        }
+        for (AbvBucket abvBucket : abvBuckets) {
+            aggregates.abvHistogram.merge(abvBucket.bucket(), abvBucket.beers(), Long::sum);
+        }
+        return aggregates;
+    }
+
+    void addManufacturer(ManufacturerState manufacturer) {
+        manufacturers.put(manufacturer.id(), manufacturer);
+        counter(manufacturersByCountry, key(manufacturer.country())).increment();
+    }
+
+    /**
+     * Updates a manufacturer, moving its beers to its new country if it changed.
+     */
+    void updateManufacturer(ManufacturerState manufacturer) {
+        final ManufacturerState previous = manufacturers.put(manufacturer.id(), manufacturer);
+        if (previous == null) {
+            counter(manufacturersByCountry, key(manufacturer.country())).increment();
+            return;
+        }
+        if (Objects.equals(previous.country(), manufacturer.country())) {
+            return;
+        }
+
+        counter(manufacturersByCountry, key(previous.country())).decrement();
+        counter(manufacturersByCountry, key(manufacturer.country())).increment();
+        final long moved = counter(beersByManufacturer, manufacturer.id()).sum();
+        counter(beersByCountry, key(previous.country())).add(-moved);
+        counter(beersByCountry, key(manufacturer.country())).add(moved);
+    }
+
+    void removeManufacturer(Long id) {
+        final ManufacturerState previous = manufacturers.remove(id);
+        if (previous != null) {
+            counter(manufacturersByCountry, key(previous.country())).decrement();
+        }
+        beersByManufacturer.remove(id);
+    }
+
+    void addBeer(BeerState beer) {
+        addBeers(beer.manufacturerId(), beer.style(), beer.abv(), 1);
+    }
+
+    void removeBeer(BeerState beer) {
+        addBeers(beer.manufacturerId(), beer.style(), beer.abv(), -1);
+    }
+
+    private void addBeers(Long manufacturerId, String style, Float abv, long count) {
+        addBeers(manufacturerId, style, count);
+        if (abv != null) {
+            abvHistogram.compute(AbvBucket.of(abv), (bucket, current) -> {
+                final long updated = (current == null ? 0 : current) + count;
+                return updated > 0 ? updated : null;
+            });
+            abvSum.add((double) abv * count);
+            abvCount.add(count);
+        }
+    }
+
+    private void addBeers(Long manufacturerId, String style, long count) {
+        beers.add(count);
+        counter(beersByStyle, key(style)).add(count);
+        counter(beersByManufacturer, manufacturerId).add(count);
+        counter(beersByCountry, key(countryOf(manufacturerId))).add(count);
+    }
+
+    StatsResponseDto toDto() {
+        final Map.Entry<Long, Long> min = abvHistogram.firstEntry();
+        final Map.Entry<Long, Long> max = abvHistogram.lastEntry();
+        final long withAbv = abvCount.sum();
+
+        return new StatsResponseDto(
+                beers.sum(),
+                manufacturers.size(),
+                snapshot(beersByStyle, Function.identity()),
+                snapshot(beersByManufacturer, this::nameOf),
+                snapshot(beersByCountry, Function.identity()),
+                snapshot(manufacturersByCountry, Function.identity()),
+                new StatsResponseDto.AbvStats(
+                        min != null ? AbvBucket.abv(min.getKey()) : null,
+                        withAbv > 0 ? Math.round(abvSum.sum() / withAbv * 100) / 100.0 : null,
+                        max != null ? AbvBucket.abv(max.getKey()) : null));
+    }
+
+    private String countryOf(Long manufacturerId) {
+        final ManufacturerState manufacturer = manufacturers.get(manufacturerId);
+        return manufacturer != null ? manufacturer.country() : null;
+    }
+
+    private String nameOf(Long manufacturerId) {
+        final ManufacturerState manufacturer = manufacturers.get(manufacturerId);
+        return manufacturer != null ? manufacturer.name() : "#" + manufacturerId;
+    }
+
+    private static String key(String value) {
+        return value != null ? value : UNKNOWN;
+    }
+
+    private static <K> LongAdder counter(ConcurrentMap<K, LongAdder> counters, K key) {
+        return counters.computeIfAbsent(key, k -> new LongAdder());
+    }
+
+    private static <K> Map<String, Long> snapshot(Map<K, LongAdder> counters, Function<K, String> label) {
+        final Map<String, Long> snapshot = new TreeMap<>();
+        counters.forEach((key, counter) -> {
+            final long count = counter.sum();
+            if (count != 0) {
+                snapshot.merge(label.apply(key), count, Long::sum);
+            }
+        });
+        return snapshot;
+    }
+}
@@ -0,0 +1,214 @@
+package com.haufe.technical.api.service.stats;
+
+import com.haufe.technical.api.controller.dto.stats.StatsResponseDto;
+import com.haufe.technical.api.domain.event.BeerChangedEvent;
+import com.haufe.technical.api.domain.event.ManufacturerChangedEvent;
+import com.haufe.technical.api.domain.event.RemoteChangeEvent;
+import com.haufe.technical.api.domain.repository.BeerRepository;
+import com.haufe.technical.api.domain.repository.ManufacturerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Serves the catalogue statistics from in-memory aggregates.
+ * <p>
+ * The aggregates are built at startup with two GROUP BY queries, by manufacturer and style and by ABV
+ * bucket, then updated incrementally after every committed change, and rebuilt shortly after the changes
+ * made by other instances, whose previous states are not known, once for all those received meanwhile.
+ * They are also periodically rebuilt from the database to catch any drift, e.g. changes made directly in
+ * the database.
+ * <p>
+ * A rebuild must neither lose nor double count the changes committed while it runs. The transactions
+ * hold the read side of a lock from right before their commit until their changes are applied, and the
+ * rebuild takes the write side to pin the snapshot its query reads, so every change is either in that
+ * snapshot and already applied, or committed afterwards. The latter are also recorded, and replayed on
+ * the rebuilt aggregates when they are swapped in, again under the write side.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogueStatsService {
+    private final ManufacturerRepository manufacturerRepository;
+    private final BeerRepository beerRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final AtomicReference<CatalogueAggregates> aggregates = new AtomicReference<>(new CatalogueAggregates());
+    private final ReadWriteLock commits = new ReentrantReadWriteLock();
+    private final Object commitKey = new Object();
+    private final AtomicLong remoteChanges = new AtomicLong();
+    private volatile Queue<Consumer<CatalogueAggregates>> committedDuringRebuild;
+    private long rebuiltRemoteChanges;
+
+    public StatsResponseDto stats() {
+        return aggregates.get().toDto();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+        log.info("Built catalogue statistics");
+    }
+
+    @Scheduled(fixedDelayString = "${api.stats.reconcile-interval:PT5M}",
+            initialDelayString = "${api.stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        final CatalogueAggregates previous = rebuild();
+
+        final StatsResponseDto expected = aggregates.get().toDto();
+        final StatsResponseDto actual = previous.toDto();
+        if (!expected.equals(actual)) {
+            log.warn("Catalogue statistics drifted from the database, expected {} but was {}", expected, actual);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${api.stats.rebuild-delay:PT1S}")
+    public synchronized void rebuildIfStale() {
+        // Read before rebuilding: the changes received meanwhile need another rebuild
+        final long received = remoteChanges.get();
+        if (received != rebuiltRemoteChanges) {
+            rebuild();
+            rebuiltRemoteChanges = received;
+        }
+    }
+
+    /**
+     * Rebuilds the aggregates from the database, see the class comment.
+     *
+     * @return the replaced aggregates
+     */
+    synchronized CatalogueAggregates rebuild() {
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        // Every table keeps the snapshot of its first read, see pinSnapshot
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate.execute(status -> {
+            final Queue<Consumer<CatalogueAggregates>> committed = new ConcurrentLinkedQueue<>();
+            commits.writeLock().lock();
+            try {
+                pinSnapshot();
+                committedDuringRebuild = committed;
+            } finally {
+                commits.writeLock().unlock();
+            }
+
+            final CatalogueAggregates rebuilt = CatalogueAggregates.of(
+                    manufacturerRepository.aggregateCatalogue(), beerRepository.aggregateAbv());
+
+            commits.writeLock().lock();
+            try {
+                committedDuringRebuild = null;
+                committed.forEach(change -> change.accept(rebuilt));
+                return aggregates.getAndSet(rebuilt);
+            } finally {
+                commits.writeLock().unlock();
+            }
+        });
+    }
+
+    private void pinSnapshot() {
+        jdbcTemplate.queryForObject("SELECT (SELECT COUNT(*) FROM MANUFACTURER WHERE 1 = 0) "
+                + "+ (SELECT COUNT(*) FROM BEER WHERE 1 = 0)", Long.class);
+    }
+
+    /**
+     * Holds the read side of the lock from right before the commit of the transaction publishing a change,
+     * until its changes are applied.
+     */
+    @EventListener({BeerChangedEvent.class, ManufacturerChangedEvent.class})
+    public void onChangePublished() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.getResource(commitKey) == null) {
+            final CommitGuard guard = new CommitGuard();
+            TransactionSynchronizationManager.bindResource(commitKey, guard);
+            TransactionSynchronizationManager.registerSynchronization(guard);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeerChanged(BeerChangedEvent event) {
+        apply(current -> {
+            if (event.previous() != null) {
+                current.removeBeer(event.previous());
+            }
+            if (event.current() != null) {
+                current.addBeer(event.current());
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onManufacturerChanged(ManufacturerChangedEvent event) {
+        apply(current -> {
+            switch (event.type()) {
+                case CREATED -> current.addManufacturer(event.current());
+                case UPDATED -> current.updateManufacturer(event.current());
+                case DELETED -> current.removeManufacturer(event.id());
+            }
+        });
+    }
+
+    private void apply(Consumer<CatalogueAggregates> change) {
+        commits.readLock().lock();
+        try {
+            change.accept(aggregates.get());
+            final Queue<Consumer<CatalogueAggregates>> committed = committedDuringRebuild;
+            if (committed != null) {
+                committed.add(change);
+            }
+        } finally {
+            commits.readLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        remoteChanges.incrementAndGet();
+    }
+
+    private class CommitGuard implements TransactionSynchronization {
+        private boolean locked;
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(commitKey);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(commitKey, this);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            commits.readLock().lock();
+            locked = true;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(commitKey);
+            if (locked) {
+                commits.readLock().unlock();
+            }
+        }
+    }
+}
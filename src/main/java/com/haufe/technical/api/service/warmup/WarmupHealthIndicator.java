@@ -0,0 +1,28 @@
+package com.haufe.technical.api.service.warmup;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the instance out of service until it is warmed up. Part of the readiness group, see
+ * {@code management.endpoint.health.group.readiness.include}, so that the load balancer only routes
+ * traffic to warm instances, while the liveness probe is unaffected.
+ */
+@Component
+@RequiredArgsConstructor
+public class WarmupHealthIndicator implements HealthIndicator {
+    private final WarmupService warmupService;
+
+    @Override
+    public Health health() {
+        final WarmupService.Status status = warmupService.status();
+        final Health.Builder health = status.complete() ? Health.up() : Health.outOfService();
+        return health
+                .withDetail("iterations", status.iterations())
+                .withDetail("elapsed", status.elapsed().toString())
+                .withDetail("budgetExhausted", status.budgetExhausted())
+                .build();
+    }
+}
@@ -0,0 +1,150 @@
+package com.haufe.technical.api.service.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haufe.technical.api.config.WarmupProperties;
+import com.haufe.technical.api.domain.repository.BeerRepository;
+import com.haufe.technical.api.domain.repository.EntityName;
+import com.haufe.technical.api.domain.repository.ManufacturerRepository;
+import com.haufe.technical.api.service.BeerService;
+import com.haufe.technical.api.service.ManufacturerService;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Warms the instance up before it reports ready, see {@link WarmupHealthIndicator}, so that the first
+ * requests routed to it do not pay for an empty connection pool, cold Hibernate query plans and
+ * interpreted code.
+ * <p>
+ * Starts once the application accepts traffic, that is once the in-memory indexes built on
+ * {@code ApplicationReadyEvent} are complete: opens every connection of the pool, then repeats the reads
+ * of a sample of beers and manufacturers through the services, serializing the results like the
+ * controllers do, until the iterations or the budget are exhausted.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WarmupService {
+    private static final List<Sort> BEER_SORTS = List.of(Sort.unsorted(), Sort.by("name"), Sort.by("abv").descending());
+    private static final List<Sort> MANUFACTURER_SORTS = List.of(Sort.unsorted(), Sort.by("name"), Sort.by("country"));
+
+    private final WarmupProperties properties;
+    private final BeerService beerService;
+    private final ManufacturerService manufacturerService;
+    private final BeerRepository beerRepository;
+    private final ManufacturerRepository manufacturerRepository;
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile Status status = new Status(false, 0, Duration.ZERO, false);
+
+    /**
+     * @param complete        whether the warm-up is over, or disabled
+     * @param iterations      rounds of reads completed
+     * @param elapsed         time spent warming up
+     * @param budgetExhausted whether the warm-up was cut short by its budget
+     */
+    public record Status(boolean complete, int iterations, Duration elapsed, boolean budgetExhausted) {}
+
+    public Status status() {
+        return status;
+    }
+
+    @EventListener
+    public void onReadinessChanged(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() != ReadinessState.ACCEPTING_TRAFFIC || !started.compareAndSet(false, true)) {
+            return;
+        }
+        if (!properties.enabled()) {
+            status = new Status(true, 0, Duration.ZERO, false);
+            return;
+        }
+        Thread.ofPlatform().name("warmup").daemon().start(this::warmUp);
+    }
+
+    void warmUp() {
+        final long start = System.nanoTime();
+        final long deadline = start + properties.budget().toNanos();
+        int iterations = 0;
+        try {
+            fillConnectionPool();
+
+            final PageRequest sample = PageRequest.ofSize(properties.sampleSize());
+            final List<Long> beerIds = beerRepository.findNamesAfter(0L, sample).stream().map(EntityName::id).toList();
+            final List<Long> manufacturerIds = manufacturerRepository.findNamesAfter(0L, sample).stream()
+                    .map(EntityName::id)
+                    .toList();
+            while (iterations < properties.iterations() && System.nanoTime() < deadline) {
+                readBeers(beerIds, iterations);
+                readManufacturers(manufacturerIds, iterations);
+                ++iterations;
+                status = new Status(false, iterations, Duration.ofNanos(System.nanoTime() - start), false);
+            }
+        } catch (Exception e) {
+            // A failed warm-up must not keep the instance out of service
+            log.warn("Warm-up failed after {} iterations", iterations, e);
+        } finally {
+            status = new Status(true, iterations, Duration.ofNanos(System.nanoTime() - start),
+                    iterations < properties.iterations());
+            log.info("Warmed up with {} iterations in {} ms{}", iterations, status.elapsed().toMillis(),
+                    status.budgetExhausted() ? ", cut short" : "");
+        }
+    }
+
+    /**
+     * Opens every connection of the pool at once, rather than on the first concurrent requests.
+     */
+    private void fillConnectionPool() throws SQLException {
+        if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+            return;
+        }
+        final int size = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+        final List<Connection> connections = new ArrayList<>(size);
+        try {
+            for (int i = 0; i < size; ++i) {
+                connections.add(dataSource.getConnection());
+            }
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+        log.info("Opened {} database connections", size);
+    }
+
+    private void readBeers(List<Long> ids, int iteration) throws Exception {
+        if (!ids.isEmpty()) {
+            final Long id = ids.get(iteration % ids.size());
+            objectMapper.writeValueAsBytes(beerService.read(id));
+            objectMapper.writeValueAsBytes(beerService.read(id, "name,avb"));
+        }
+        final PageRequest page = PageRequest.of(0, 20, BEER_SORTS.get(iteration % BEER_SORTS.size()));
+        objectMapper.writeValueAsBytes(beerService.list(page));
+        objectMapper.writeValueAsBytes(beerService.list(page, "id,name"));
+    }
+
+    private void readManufacturers(List<Long> ids, int iteration) throws Exception {
+        if (!ids.isEmpty()) {
+            final Long id = ids.get(iteration % ids.size());
+            objectMapper.writeValueAsBytes(manufacturerService.read(id));
+            objectMapper.writeValueAsBytes(manufacturerService.read(id, "name"));
+        }
+        final PageRequest page = PageRequest.of(0, 20, MANUFACTURER_SORTS.get(iteration % MANUFACTURER_SORTS.size()));
+        objectMapper.writeValueAsBytes(manufacturerService.list(page));
+        objectMapper.writeValueAsBytes(manufacturerService.list(page, "id,name"));
+    }
+}
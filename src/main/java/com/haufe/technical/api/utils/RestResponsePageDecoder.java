@@ -0,0 +1,69 @@
+package com.haufe.technical.api.utils;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Client side counterpart of the content negotiation: decodes a paged response into a {@link RestResponsePage}
+ * whatever the negotiated format (JSON, CBOR or Smile) and content encoding (identity or gzip).
+ */
+public class RestResponsePageDecoder {
+    public static final MediaType APPLICATION_CBOR = MediaType.valueOf("application/cbor");
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private final Map<MediaType, ObjectMapper> mappers;
+
+    public RestResponsePageDecoder() {
+        this(new ObjectMapper(), new ObjectMapper(new CBORFactory()), new ObjectMapper(new SmileFactory()));
+    }
+
+    public RestResponsePageDecoder(ObjectMapper jsonMapper, ObjectMapper cborMapper, ObjectMapper smileMapper) {
+        this.mappers = Map.of(
+                MediaType.APPLICATION_JSON, jsonMapper,
+                APPLICATION_CBOR, cborMapper,
+                APPLICATION_SMILE, smileMapper);
+    }
+
+    /**
+     * Decodes a paged response body.
+     *
+     * @param body            the raw response body
+     * @param contentType     the response {@code Content-Type}
+     * @param contentEncoding the response {@code Content-Encoding}, may be null
+     * @param elementType     the type of the page elements
+     * @return the decoded page
+     * @throws IOException if the body cannot be decoded
+     */
+    public <T> RestResponsePage<T> decode(byte[] body, MediaType contentType, String contentEncoding,
+                                          Class<T> elementType) throws IOException {
+        final ObjectMapper mapper = mapperFor(contentType);
+        final JavaType pageType = mapper.getTypeFactory()
+                .constructParametricType(RestResponsePage.class, elementType);
+
+        try (InputStream in = decompress(body, contentEncoding)) {
+            return mapper.readValue(in, pageType);
+        }
+    }
+
+    private ObjectMapper mapperFor(MediaType contentType) {
+        return mappers.entrySet().stream()
+                .filter(entry -> entry.getKey().isCompatibleWith(contentType))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported content type: " + contentType));
+    }
+
+    private static InputStream decompress(byte[] body, String contentEncoding) throws IOException {
+        final InputStream in = new ByteArrayInputStream(body);
+        return "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(in) : in;
+    }
+}
@@ -0,0 +1,66 @@
+package com.haufe.technical.api.web.bulkhead;
+
+import com.haufe.technical.api.config.BulkheadProperties;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded concurrency with a bounded waiting queue.
+ */
+public class Bulkhead {
+    public enum Admission { ADMITTED, QUEUE_FULL, TIMED_OUT }
+
+    private final BulkheadProperties.Compartment limits;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public Bulkhead(BulkheadProperties.Compartment limits) {
+        this.limits = limits;
+        this.permits = new Semaphore(limits.maxConcurrent());
+    }
+
+    /**
+     * Tries to enter the bulkhead, waiting up to the configured time when it is full.
+     * An admitted caller must {@link #release()} once done.
+     *
+     * @return whether the caller was admitted, or why it was not
+     */
+    public Admission acquire() throws InterruptedException {
+        if (permits.tryAcquire()) {
+            return Admission.ADMITTED;
+        }
+
+        if (waiting.incrementAndGet() > limits.maxQueue()) {
+            waiting.decrementAndGet();
+            return Admission.QUEUE_FULL;
+        }
+        try {
+            return permits.tryAcquire(limits.maxWait().toNanos(), TimeUnit.NANOSECONDS)
+                    ? Admission.ADMITTED
+                    : Admission.TIMED_OUT;
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int active() {
+        return limits.maxConcurrent() - permits.availablePermits();
+    }
+
+    public int queueDepth() {
+        return waiting.get();
+    }
+
+    /**
+     * @return the fraction of the concurrency limit in use, queued requests included
+     */
+    public double utilization() {
+        return (double) (active() + queueDepth()) / limits.maxConcurrent();
+    }
+}
@@ -0,0 +1,99 @@
+package com.haufe.technical.api.web.bulkhead;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haufe.technical.api.config.BulkheadProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admits the API requests through the rate limiter and the bulkhead of their endpoint class.
+ * Rejected requests get a fast {@code 429} (rate limited) or {@code 503} (bulkhead full) response
+ * with a {@code Retry-After} header and the usual error body.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class BulkheadFilter extends OncePerRequestFilter {
+    private final BulkheadProperties properties;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final ClientRateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        final EndpointClass endpointClass = bulkheadRegistry.classify(request);
+
+        final long retryAfterNanos = rateLimiter.tryAcquire(client(request));
+        if (retryAfterNanos > 0) {
+            bulkheadRegistry.rejected(endpointClass, "rate-limited");
+            final long retryAfterSeconds =
+                    TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1);
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds, "Too many requests");
+            return;
+        }
+
+        final Bulkhead bulkhead = bulkheadRegistry.get(endpointClass);
+        final Bulkhead.Admission admission;
+        try {
+            admission = bulkhead.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException("Interrupted while waiting for the bulkhead", e);
+        }
+
+        if (admission != Bulkhead.Admission.ADMITTED) {
+            log.debug("Rejected {} {} ({}): {}", request.getMethod(), request.getRequestURI(), endpointClass, admission);
+            bulkheadRegistry.rejected(endpointClass, admission == Bulkhead.Admission.QUEUE_FULL ? "queue-full" : "timed-out");
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, properties.retryAfter().toSeconds(),
+                    "Server busy, please retry later");
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * Identifies the client by the configured header, or by its address. Not by the authenticated user,
+     * which the clients may share.
+     */
+    private String client(HttpServletRequest request) {
+        final String header = properties.rateLimit().clientHeader();
+        if (StringUtils.hasText(header)) {
+            final String client = request.getHeader(header);
+            if (StringUtils.hasText(client)) {
+                return client;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String description)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, retryAfterSeconds)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("error", Map.of("description", description)));
+    }
+}
@@ -0,0 +1,87 @@
+package com.haufe.technical.api.web.bulkhead;
+
+import com.haufe.technical.api.config.BulkheadProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Holds one {@link Bulkhead} per {@link EndpointClass} and classifies the incoming requests.
+ */
+@Component
+public class BulkheadRegistry {
+    private static final Pattern POINT_READ_PATH = Pattern.compile("/api/[^/]+/\\d+");
+
+    private final BulkheadProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<EndpointClass, Bulkhead> bulkheads = new EnumMap<>(EndpointClass.class);
+
+    public BulkheadRegistry(BulkheadProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        register(EndpointClass.POINT_READ, properties.pointRead());
+        register(EndpointClass.LIST, properties.list());
+        register(EndpointClass.WRITE, properties.write());
+        register(EndpointClass.BULK, properties.bulk());
+    }
+
+    private void register(EndpointClass endpointClass, BulkheadProperties.Compartment limits) {
+        final Bulkhead bulkhead = new Bulkhead(limits);
+        bulkheads.put(endpointClass, bulkhead);
+
+        final String tag = tag(endpointClass);
+        Gauge.builder("api.bulkhead.active", bulkhead, Bulkhead::active)
+                .description("Requests executing in the bulkhead")
+                .tag("class", tag)
+                .register(meterRegistry);
+        Gauge.builder("api.bulkhead.queue.depth", bulkhead, Bulkhead::queueDepth)
+                .description("Requests waiting to enter the bulkhead")
+                .tag("class", tag)
+                .register(meterRegistry);
+    }
+
+    public EndpointClass classify(HttpServletRequest request) {
+        final String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (properties.bulkPaths().stream().anyMatch(pattern -> pathMatcher.match(pattern, path))) {
+            return EndpointClass.BULK;
+        }
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return EndpointClass.WRITE;
+        }
+        return POINT_READ_PATH.matcher(path).matches() ? EndpointClass.POINT_READ : EndpointClass.LIST;
+    }
+
+    public Bulkhead get(EndpointClass endpointClass) {
+        return bulkheads.get(endpointClass);
+    }
+
+    /**
+     * Counts a rejected request.
+     *
+     * @param endpointClass the class of the rejected request
+     * @param reason        why it was rejected
+     */
+    public void rejected(EndpointClass endpointClass, String reason) {
+        Counter.builder("api.bulkhead.rejections")
+                .description("Requests rejected by load shedding or rate limiting")
+                .tag("class", tag(endpointClass))
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String tag(EndpointClass endpointClass) {
+        return endpointClass.name().toLowerCase().replace('_', '-');
+    }
+}
@@ -0,0 +1,117 @@
+package com.haufe.technical.api.web.bulkhead;
+
+import com.haufe.technical.api.config.BulkheadProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per client token bucket rate limiting.
+ * <p>
+ * At most {@code maxClients} buckets are tracked. Once they are all tracked, a new client triggers a sweep
+ * of the buckets that are full again, i.e. of the idle clients that would start over from the same state,
+ * at most once per {@link #SWEEP_INTERVAL}. Until a place frees up, the untracked clients share a single
+ * overflow bucket.
+ */
+@Component
+public class ClientRateLimiter {
+    static final long SWEEP_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+    private static final long EVICTED = -1;
+
+    private final BulkheadProperties.RateLimit limits;
+    private final LongSupplier nanoClock;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final TokenBucket overflow;
+    private final AtomicLong nextSweepAt;
+
+    @Autowired
+    public ClientRateLimiter(BulkheadProperties properties) {
+        this(properties.rateLimit(), System::nanoTime);
+    }
+
+    ClientRateLimiter(BulkheadProperties.RateLimit limits, LongSupplier nanoClock) {
+        this.limits = limits;
+        this.nanoClock = nanoClock;
+        this.overflow = new TokenBucket();
+        this.nextSweepAt = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Takes a token from the client's bucket.
+     *
+     * @param client the client identifier
+     * @return 0 when the request is allowed, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String client) {
+        if (!limits.enabled()) {
+            return 0;
+        }
+
+        long retryAfter;
+        do {
+            // A bucket evicted meanwhile is full, the client gets a new one in the same state
+            retryAfter = bucket(client).tryAcquire();
+        } while (retryAfter == EVICTED);
+        return retryAfter;
+    }
+
+    private TokenBucket bucket(String client) {
+        final TokenBucket bucket = buckets.get(client);
+        if (bucket != null) {
+            return bucket;
+        }
+
+        if (buckets.size() >= limits.maxClients()) {
+            sweep();
+            if (buckets.size() >= limits.maxClients()) {
+                return overflow;
+            }
+        }
+        return buckets.computeIfAbsent(client, key -> new TokenBucket());
+    }
+
+    private void sweep() {
+        final long now = nanoClock.getAsLong();
+        final long sweepAt = nextSweepAt.get();
+        if (now - sweepAt < 0 || !nextSweepAt.compareAndSet(sweepAt, now + SWEEP_INTERVAL)) {
+            return;
+        }
+        buckets.values().removeIf(TokenBucket::evictIfFull);
+    }
+
+    private class TokenBucket {
+        private final double nanosPerToken = (double) TimeUnit.SECONDS.toNanos(1) / limits.refillPerSecond();
+        private double tokens = limits.capacity();
+        private long refilledAt = nanoClock.getAsLong();
+        private boolean evicted;
+
+        synchronized long tryAcquire() {
+            if (evicted) {
+                return EVICTED;
+            }
+            refill();
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) * nanosPerToken);
+        }
+
+        synchronized boolean evictIfFull() {
+            refill();
+            evicted = tokens >= limits.capacity();
+            return evicted;
+        }
+
+        private void refill() {
+            final long now = nanoClock.getAsLong();
+            tokens = Math.min(limits.capacity(), tokens + (now - refilledAt) / nanosPerToken);
+            refilledAt = now;
+        }
+    }
+}
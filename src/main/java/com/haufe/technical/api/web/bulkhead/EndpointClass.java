@@ -0,0 +1,15 @@
+package com.haufe.technical.api.web.bulkhead;
+
+/**
+ * Classes of endpoints isolated from each other by their own bulkhead.
+ */
+public enum EndpointClass {
+    /** {@code GET /api/{entity}/{id}} */
+    POINT_READ,
+    /** Any other {@code GET}: listings, searches... */
+    LIST,
+    /** {@code POST}, {@code PUT} and {@code DELETE} */
+    WRITE,
+    /** Operations on many entities at once */
+    BULK
+}
@@ -0,0 +1,122 @@
+package com.haufe.technical.api.web.sqltrace;
+
+import lombok.Getter;
+
+import java.sql.ResultSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The SQL statements executed by the current thread between {@link #start()} and {@link #close()},
+ * grouped by fingerprint.
+ * <p>
+ * Traces nest: the statements are recorded by the innermost trace, and closing it restores
+ * the one that was active when it was started.
+ */
+public class SqlTrace implements AutoCloseable {
+    private static final ThreadLocal<SqlTrace> CURRENT = new ThreadLocal<>();
+
+    private final SqlTrace previous;
+    private final Map<String, Statement> statements = new LinkedHashMap<>();
+    private final Map<ResultSet, Statement> resultSets = new IdentityHashMap<>();
+    @Getter
+    private int statementCount;
+    @Getter
+    private long rowCount;
+    private long nanos;
+
+    /**
+     * Execution counters of the statements sharing a fingerprint.
+     */
+    @Getter
+    public static final class Statement {
+        private int executions;
+        private long rows;
+        private long nanos;
+    }
+
+    private SqlTrace(SqlTrace previous) {
+        this.previous = previous;
+    }
+
+    /**
+     * Starts tracing the statements of the current thread.
+     */
+    public static SqlTrace start() {
+        final SqlTrace trace = new SqlTrace(CURRENT.get());
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    static Optional<SqlTrace> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * @param executions the executions of the statement, the batch size for batches
+     * @param rows       the affected rows for updates
+     * @param resultSet  the result set of queries, its rows are added by {@link #rowRead(ResultSet)}
+     */
+    void executed(String fingerprint, int executions, long rows, long nanos, ResultSet resultSet) {
+        final Statement statement = statements.computeIfAbsent(fingerprint, key -> new Statement());
+        statement.executions += executions;
+        statement.rows += rows;
+        statement.nanos += nanos;
+        statementCount += executions;
+        rowCount += rows;
+        this.nanos += nanos;
+        if (resultSet != null) {
+            resultSets.put(resultSet, statement);
+        }
+    }
+
+    /**
+     * Counts a row read from a result set, for the statement that returned it.
+     * Result sets are often read while other statements run, e.g. to fetch the associations of each row.
+     */
+    void rowRead(ResultSet resultSet) {
+        final Statement statement = resultSets.get(resultSet);
+        if (statement != null) {
+            ++statement.rows;
+            ++rowCount;
+        }
+    }
+
+    public Map<String, Statement> getStatements() {
+        return Collections.unmodifiableMap(statements);
+    }
+
+    public long getMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * @return one line per fingerprint, with its executions, rows and time
+     */
+    public String summary() {
+        return statements.entrySet().stream()
+                .map(entry -> "%4dx %6d rows %6.1f ms  %s".formatted(
+                        entry.getValue().executions,
+                        entry.getValue().rows,
+                        entry.getValue().nanos / 1_000_000.0,
+                        entry.getKey()))
+                .collect(Collectors.joining("\n"));
+    }
+
+    @Override
+    public void close() {
+        resultSets.clear();
+        if (CURRENT.get() == this) {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
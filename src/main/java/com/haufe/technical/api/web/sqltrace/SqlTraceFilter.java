@@ -0,0 +1,48 @@
+package com.haufe.technical.api.web.sqltrace;
+
+import com.haufe.technical.api.config.SqlTraceProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Traces the SQL statements of every API request, and logs the summary of the requests
+ * issuing too many statements or spending too much time in the database.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SqlTraceFilter extends OncePerRequestFilter {
+    private final SqlTraceProperties properties;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        final SqlTrace trace = SqlTrace.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            trace.close();
+            if (trace.getStatementCount() > properties.maxStatements()
+                    || trace.getMillis() > properties.maxTime().toMillis()) {
+                log.warn("{} {} issued {} statements reading or writing {} rows in {} ms:\n{}",
+                        request.getMethod(), request.getRequestURI(), trace.getStatementCount(), trace.getRowCount(),
+                        trace.getMillis(), trace.summary());
+            } else if (log.isDebugEnabled()) {
+                log.debug("{} {} issued {} statements reading or writing {} rows in {} ms",
+                        request.getMethod(), request.getRequestURI(), trace.getStatementCount(), trace.getRowCount(),
+                        trace.getMillis());
+            }
+        }
+    }
+}
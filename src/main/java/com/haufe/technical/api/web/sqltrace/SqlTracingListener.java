@@ -0,0 +1,134 @@
+package com.haufe.technical.api.web.sqltrace;
+
+import com.haufe.technical.api.config.SqlTraceProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Records the statements executed through the instrumented data source into the current {@link SqlTrace},
+ * and logs the slow ones with the types of their parameters, never their values.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SqlTracingListener implements QueryExecutionListener, MethodExecutionListener {
+    private static final String START_NANOS = SqlTracingListener.class.getName() + ".start";
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final SqlTraceProperties properties;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        final long nanos = System.nanoTime() - execInfo.getCustomValue(START_NANOS, Long.class);
+        // The statements of a JDBC Statement batch share the execution time and the affected rows
+        final long statementNanos = nanos / Math.max(1, queryInfoList.size());
+        final SqlTrace trace = SqlTrace.current().orElse(null);
+        final boolean slow = statementNanos >= properties.slowQuery().toNanos();
+        if (trace == null && !slow) {
+            // Neither traced nor logged, skip the fingerprints
+            return;
+        }
+
+        long rows = affectedRows(execInfo.getResult());
+        final ResultSet resultSet = execInfo.getResult() instanceof ResultSet result ? result : null;
+        for (QueryInfo queryInfo : queryInfoList) {
+            final String fingerprint = fingerprint(queryInfo.getQuery());
+            final int executions = Math.max(1, queryInfo.getParametersList().size());
+            if (trace != null) {
+                trace.executed(fingerprint, executions, rows, statementNanos, resultSet);
+            }
+            rows = 0;
+
+            if (slow) {
+                log.warn("Slow query ({} ms, {} executions): {} parameters {}",
+                        TimeUnit.NANOSECONDS.toMillis(statementNanos), executions, fingerprint,
+                        parameterTypes(queryInfo));
+            }
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && "next".equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            // The queries return the proxy of the result set, its methods are called on the actual one
+            SqlTrace.current().ifPresent(trace -> trace.rowRead((ResultSet) executionContext.getProxy()));
+        }
+    }
+
+    /**
+     * Normalizes a statement so that the executions differing only in their literals share a fingerprint:
+     * literals become {@code ?}, the {@code IN} lists a single {@code (?...)} and the whitespace a single space.
+     */
+    static String fingerprint(String sql) {
+        String fingerprint = STRING_LITERAL.matcher(sql).replaceAll("?");
+        fingerprint = NUMBER_LITERAL.matcher(fingerprint).replaceAll("?");
+        fingerprint = IN_LIST.matcher(fingerprint).replaceAll("(?...)");
+        return WHITESPACE.matcher(fingerprint).replaceAll(" ").strip();
+    }
+
+    private static long affectedRows(Object result) {
+        if (result instanceof Integer count) {
+            return Math.max(0, count);
+        }
+        if (result instanceof Long count) {
+            return Math.max(0, count);
+        }
+        if (result instanceof int[] counts) {
+            return IntStream.of(counts).filter(count -> count > 0).sum();
+        }
+        if (result instanceof long[] counts) {
+            return LongStream.of(counts).filter(count -> count > 0).sum();
+        }
+        // Result sets count their rows as they are read
+        return 0;
+    }
+
+    private static String parameterTypes(QueryInfo queryInfo) {
+        if (queryInfo.getParametersList().isEmpty()) {
+            return "[]";
+        }
+        return queryInfo.getParametersList().getFirst().stream()
+                .sorted(Comparator.comparingInt(operation ->
+                        operation.getArgs()[0] instanceof Integer index ? index : Integer.MAX_VALUE))
+                .map(SqlTracingListener::parameterType)
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private static String parameterType(ParameterSetOperation operation) {
+        if (ParameterSetOperation.isSetNullParameterOperation(operation)) {
+            return "null";
+        }
+        final Object[] args = operation.getArgs();
+        return args.length > 1 && args[1] != null ? args[1].getClass().getSimpleName() : "null";
+    }
+}
@@ -23,6 +23,77 @@ CREATE TABLE BEER (
 
 CREATE INDEX BEER_NAME_IDX ON BEER (NAME);
 
+-- Append-only history, one row per change, see HistoryService
+CREATE TABLE BEER_HISTORY (
+     HISTORY_ID BIGINT NOT NULL AUTO_INCREMENT,
+     BEER_ID BIGINT NOT NULL,
+     VALID_FROM TIMESTAMP WITH TIME ZONE NOT NULL,
+     CHANGE_TYPE CHARACTER VARYING(10) NOT NULL,
+     NAME CHARACTER VARYING(30),
+     ABV REAL,
+     "STYLE" CHARACTER VARYING(25),
+     DESCRIPTION CHARACTER VARYING(200),
+     MANUFACTURER_ID BIGINT,
+     CONSTRAINT BEER_HISTORY_PK PRIMARY KEY (HISTORY_ID)
+);
+
+CREATE INDEX BEER_HISTORY_ID_VALID_FROM_IDX ON BEER_HISTORY (BEER_ID, VALID_FROM);
+
+CREATE TABLE MANUFACTURER_HISTORY (
+     HISTORY_ID BIGINT NOT NULL AUTO_INCREMENT,
+     MANUFACTURER_ID BIGINT NOT NULL,
+     VALID_FROM TIMESTAMP WITH TIME ZONE NOT NULL,
+     CHANGE_TYPE CHARACTER VARYING(10) NOT NULL,
+     NAME CHARACTER VARYING(30),
+     COUNTRY CHARACTER VARYING(30),
+     CONSTRAINT MANUFACTURER_HISTORY_PK PRIMARY KEY (HISTORY_ID)
+);
+
+CREATE INDEX MANUFACTURER_HISTORY_ID_VALID_FROM_IDX ON MANUFACTURER_HISTORY (MANUFACTURER_ID, VALID_FROM);
+
+-- Changes exchanged between the instances, see JdbcInvalidationTransport
+CREATE TABLE CHANGE_LOG (
+     ID BIGINT NOT NULL AUTO_INCREMENT,
+     ENTITY CHARACTER VARYING(20) NOT NULL,
+     ENTITY_ID BIGINT NOT NULL,
+     CHANGE_TYPE CHARACTER VARYING(10) NOT NULL,
+     INSTANCE_ID CHARACTER VARYING(64) NOT NULL,
+     CHANGED_AT TIMESTAMP WITH TIME ZONE NOT NULL,
+     CONSTRAINT CHANGE_LOG_PK PRIMARY KEY (ID)
+);
+
+CREATE INDEX CHANGE_LOG_CHANGED_AT_IDX ON CHANGE_LOG (CHANGED_AT);
+
+-- Bulk jobs, see JobService
+CREATE TABLE JOB (
+     ID BIGINT NOT NULL AUTO_INCREMENT,
+     "TYPE" CHARACTER VARYING(30) NOT NULL,
+     STATUS CHARACTER VARYING(10) NOT NULL,
+     PARAMETERS CHARACTER LARGE OBJECT,
+     TOTAL BIGINT NOT NULL,
+     PROCESSED BIGINT NOT NULL,
+     CHECKPOINT BIGINT NOT NULL,
+     ERROR CHARACTER VARYING(255),
+     CANCEL_REQUESTED BOOLEAN NOT NULL,
+     VERSION BIGINT NOT NULL,
+     CREATED_BY CHARACTER VARYING(64),
+     OWNER CHARACTER VARYING(64),
+     HEARTBEAT_AT TIMESTAMP WITH TIME ZONE,
+     CREATED_AT TIMESTAMP WITH TIME ZONE,
+     UPDATED_AT TIMESTAMP WITH TIME ZONE,
+     CONSTRAINT JOB_PK PRIMARY KEY (ID)
+);
+
+CREATE INDEX JOB_STATUS_IDX ON JOB (STATUS);
+
+-- Row counts of the listings, split into stripes summed on read, see RowCounterService
+CREATE TABLE ROW_COUNTER (
+     ENTITY CHARACTER VARYING(20) NOT NULL,
+     STRIPE INT NOT NULL,
+     DELTA BIGINT NOT NULL,
+     CONSTRAINT ROW_COUNTER_PK PRIMARY KEY (ENTITY, STRIPE)
+);
+
 -- Data
 INSERT INTO MANUFACTURER (NAME, COUNTRY, CREATED_AT, UPDATED_AT)
 VALUES('Lo Vilot', 'ES', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
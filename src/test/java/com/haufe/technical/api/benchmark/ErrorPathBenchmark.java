@@ -0,0 +1,83 @@
+package com.haufe.technical.api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haufe.technical.api.exception.ApiErrors;
+import com.haufe.technical.api.exception.ApiException;
+import com.haufe.technical.api.exception.StacklessApiException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of answering a missing beer, from the throw in the service to the encoded error body:
+ * a regular {@link ApiException} serialized from nested maps, against a {@link StacklessApiException}
+ * with its pre-encoded body. The exceptions are thrown below {@code depth} frames, as deep as a request
+ * through the servlet filters and the Spring MVC dispatching.
+ * <p>
+ * Run with:
+ * <pre>
+ * mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.haufe.technical.api.benchmark.ErrorPathBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+    @Param({"20", "150"})
+    private int depth;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private long id;
+
+    @Benchmark
+    public byte[] apiException() throws IOException {
+        try {
+            throwAt(depth, false);
+            throw new IllegalStateException();
+        } catch (ApiException e) {
+            return mapper.writeValueAsBytes(Map.of("error", Map.of("description", e.getMessage())));
+        }
+    }
+
+    @Benchmark
+    public byte[] stacklessApiException() {
+        try {
+            throwAt(depth, true);
+            throw new IllegalStateException();
+        } catch (StacklessApiException e) {
+            return e.body();
+        } catch (ApiException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void throwAt(int frames, boolean stackless) throws ApiException {
+        if (frames > 0) {
+            throwAt(frames - 1, stackless);
+            return;
+        }
+        final long missing = ++id;
+        if (stackless) {
+            throw ApiErrors.BEER_NOT_FOUND.exception(missing);
+        }
+        throw new ApiException(HttpStatus.NOT_FOUND, "Beer with ID " + missing + " not found");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ErrorPathBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
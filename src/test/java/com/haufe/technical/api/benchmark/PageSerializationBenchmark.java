@@ -0,0 +1,106 @@
+package com.haufe.technical.api.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.haufe.technical.api.controller.dto.beer.BeerListResponseDto;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization cost of a page of beers for every negotiable format, with and without gzip.
+ * The size of the serialized page is printed once per trial.
+ * <p>
+ * Run with:
+ * <pre>
+ * mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.haufe.technical.api.benchmark.PageSerializationBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageSerializationBenchmark {
+
+    private static final String[] WORDS = {
+            "hoppy", "refreshing", "citrus", "dry", "fruity", "malty", "dark", "roasted", "sour", "spicy",
+            "aroma", "hint", "oak", "coriander", "tropical", "juicy", "bitter", "caramel", "light", "strong"
+    };
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    @Param({"100"})
+    private int pageSize;
+
+    private ObjectMapper mapper;
+    private PagedModel<BeerListResponseDto> page;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        mapper = new ObjectMapper(factory(format));
+        List<BeerListResponseDto> beers = IntStream.range(0, pageSize)
+                .mapToObj(i -> new BeerListResponseDto(
+                        (long) i,
+                        "Beer " + i,
+                        4f + i % 60 / 10f,
+                        "Style " + i % 25,
+                        description(i)))
+                .toList();
+        page = new PagedModel<>(new PageImpl<>(beers, PageRequest.of(0, pageSize), 10_000));
+
+        System.out.printf("%n%s (gzip=%s): %d bytes per page of %d%n", format, gzip, serialize().length, pageSize);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(32 * 1024);
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : bytes) {
+            mapper.writeValue(out, page);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String description(int seed) {
+        final StringBuilder description = new StringBuilder();
+        for (int i = 0; description.length() < 180; ++i) {
+            description.append(WORDS[(seed * 31 + i * 17) % WORDS.length]).append(' ');
+        }
+        return description.toString().trim();
+    }
+
+    private static JsonFactory factory(String format) {
+        return switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PageSerializationBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -2,42 +2,61 @@ package com.haufe.technical.api.controller;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haufe.technical.api.config.ContentNegotiationConfig;
+import com.haufe.technical.api.config.IdempotencyProperties;
 import com.haufe.technical.api.config.WebSecurityConfig;
 import com.haufe.technical.api.controller.dto.manufacturer.ManufacturerListResponseDto;
 import com.haufe.technical.api.controller.dto.manufacturer.ManufacturerReadResponseDto;
 import com.haufe.technical.api.controller.dto.manufacturer.ManufacturerUpsertDto;
 import com.haufe.technical.api.controller.dto.manufacturer.ManufacturerUpsertResponseDto;
+import com.haufe.technical.api.controller.dto.manufacturer.ManufacturerVersionDto;
+import com.haufe.technical.api.domain.event.ChangeType;
+import com.haufe.technical.api.exception.ApiErrors;
 import com.haufe.technical.api.exception.ApiException;
 import com.haufe.technical.api.service.ManufacturerService;
+import com.haufe.technical.api.service.history.HistoryService;
+import com.haufe.technical.api.service.idempotency.IdempotencyStore;
 import com.haufe.technical.api.utils.RestResponsePage;
+import com.haufe.technical.api.utils.RestResponsePageDecoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.web.config.EnableSpringDataWebSupport;
 import org.springframework.data.web.config.SpringDataJacksonConfiguration;
 import org.springframework.data.web.config.SpringDataWebSettings;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ManufacturerController.class)
-@Import({WebSecurityConfig.class})
+@Import({WebSecurityConfig.class, ContentNegotiationConfig.class})
 @AutoConfigureMockMvc(addFilters = false)
 class ManufacturerControllerTest {
 
@@ -50,9 +69,22 @@ class ManufacturerControllerTest {
     @MockitoBean
     private ManufacturerService manufacturerService;
 
+    @MockitoBean
+    private HistoryService historyService;
+
     @Autowired
     private MockMvc mockMvc;
 
+    @TestConfiguration
+    static class IdempotencyConfig {
+        @Bean
+        IdempotencyStore idempotencyStore() {
+            return new IdempotencyStore(
+                    new IdempotencyProperties(true, Duration.ofHours(1), 100, Duration.ofSeconds(1)),
+                    new SimpleMeterRegistry());
+        }
+    }
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -94,6 +126,48 @@ class ManufacturerControllerTest {
         verify(manufacturerService).create(any());
     }
 
+    @Test
+    void testCreateRetriedWithIdempotencyKey() throws Exception {
+        ManufacturerUpsertDto request = new ManufacturerUpsertDto(THE_MANUFACTURER, THE_COUNTRY);
+        ManufacturerUpsertResponseDto response = new ManufacturerUpsertResponseDto(THE_ID, THE_MANUFACTURER);
+        when(manufacturerService.create(any(ManufacturerUpsertDto.class))).thenReturn(response);
+
+        for (int attempt = 0; attempt < 3; ++attempt) {
+            mockMvc.perform(post("/api/manufacturer")
+                            .header(IdempotencyStore.HEADER, "create-the-manufacturer")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value(THE_ID))
+                    .andExpect(jsonPath("$.name").value(THE_MANUFACTURER));
+        }
+
+        verify(manufacturerService, times(1)).create(any());
+    }
+
+    @Test
+    void testCreateWithIdempotencyKeyOfAnotherRequest() throws Exception {
+        ManufacturerUpsertDto request = new ManufacturerUpsertDto(THE_MANUFACTURER, THE_COUNTRY);
+        ManufacturerUpsertDto other = new ManufacturerUpsertDto("Other Manufacturer", THE_COUNTRY);
+        when(manufacturerService.create(any(ManufacturerUpsertDto.class)))
+                .thenReturn(new ManufacturerUpsertResponseDto(THE_ID, THE_MANUFACTURER));
+
+        mockMvc.perform(post("/api/manufacturer")
+                        .header(IdempotencyStore.HEADER, "reused-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/manufacturer")
+                        .header(IdempotencyStore.HEADER, "reused-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(other)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.error.description")
+                        .value("Idempotency-Key 'reused-key' was already used for a different request"));
+
+        verify(manufacturerService, times(1)).create(any());
+    }
+
     @Test
     void testUpdate() throws Exception {
         ManufacturerUpsertDto request = new ManufacturerUpsertDto(THE_MANUFACTURER, THE_COUNTRY);
@@ -145,6 +219,28 @@ class ManufacturerControllerTest {
         verify(manufacturerService).read(1L);
     }
 
+    @Test
+    void testReadWhenServiceThrowsStacklessException() throws Exception {
+        when(manufacturerService.read(anyLong())).thenThrow(ApiErrors.MANUFACTURER_NOT_FOUND.exception(1L));
+
+        mockMvc.perform(get("/api/manufacturer/1"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{\"error\":{\"description\":\"Manufacturer with id 1 not found\"}}", true));
+        // A client accepting CBOR only gets the same body in CBOR
+        mockMvc.perform(get("/api/manufacturer/1").accept("application/cbor"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType("application/cbor"));
+        mockMvc.perform(get("/api/manufacturer/1").header(HttpHeaders.ACCEPT, "application/json;q=0, application/cbor"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType("application/cbor"));
+        // A malformed Accept header is taken as accepting anything
+        mockMvc.perform(get("/api/manufacturer/1").header(HttpHeaders.ACCEPT, "application/json;;q=x, /"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.error.description").value("Manufacturer with id 1 not found"));
+    }
+
     @Test
     void testList() throws Exception {
         List<ManufacturerListResponseDto> listResponseDtos = buildManufacturerList(10);
@@ -174,6 +270,72 @@ class ManufacturerControllerTest {
         }
     }
 
+    @Test
+    void testListWithFields() throws Exception {
+        Page<Map<String, Object>> page = new PageImpl<>(List.of(Map.of("id", THE_ID, "name", THE_MANUFACTURER)));
+        when(manufacturerService.list(any(Pageable.class), eq("id,name"))).thenReturn(page);
+
+        mockMvc.perform(get("/api/manufacturer").param("fields", "id,name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(THE_ID))
+                .andExpect(jsonPath("$.content[0].name").value(THE_MANUFACTURER))
+                .andExpect(jsonPath("$.content[0].country").doesNotExist());
+
+        verify(manufacturerService, never()).list(any(Pageable.class));
+    }
+
+    @Test
+    void testListWithoutTotals() throws Exception {
+        List<ManufacturerListResponseDto> listResponseDtos = buildManufacturerList(2);
+        when(manufacturerService.slice(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(listResponseDtos, PageRequest.of(0, 2), true));
+
+        mockMvc.perform(get("/api/manufacturer").param("size", "2").param("totals", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.page.size").value(2))
+                .andExpect(jsonPath("$.page.number").value(0))
+                .andExpect(jsonPath("$.page.hasNext").value(true))
+                .andExpect(jsonPath("$.page.totalElements").doesNotExist());
+
+        verify(manufacturerService, never()).list(any(Pageable.class));
+    }
+
+    @Test
+    void testReadWithUnknownField() throws Exception {
+        when(manufacturerService.read(anyLong(), anyString()))
+                .thenThrow(new ApiException(HttpStatus.BAD_REQUEST, INVALID_MANUFACTURER_DATA));
+
+        mockMvc.perform(get("/api/manufacturer/1").param("fields", "beers"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error.description").value(INVALID_MANUFACTURER_DATA));
+
+        verify(manufacturerService).read(1L, "beers");
+    }
+
+    @Test
+    void testListAsBinaryFormats() throws Exception {
+        List<ManufacturerListResponseDto> listResponseDtos = buildManufacturerList(10);
+        when(manufacturerService.list(any(Pageable.class))).thenReturn(new PageImpl<>(listResponseDtos));
+        RestResponsePageDecoder decoder = new RestResponsePageDecoder();
+
+        for (MediaType mediaType : List.of(
+                RestResponsePageDecoder.APPLICATION_CBOR, RestResponsePageDecoder.APPLICATION_SMILE)) {
+            MvcResult result = mockMvc.perform(get("/api/manufacturer").accept(mediaType))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(mediaType))
+                    .andReturn();
+
+            Page<ManufacturerListResponseDto> response = decoder.decode(
+                    result.getResponse().getContentAsByteArray(),
+                    mediaType,
+                    null,
+                    ManufacturerListResponseDto.class);
+            assertThat(response.getContent()).isEqualTo(listResponseDtos);
+            assertThat(response.getTotalElements()).isEqualTo(listResponseDtos.size());
+        }
+    }
+
     @Test
     void testDelete() throws Exception {
         doNothing().when(manufacturerService).delete(anyLong());
@@ -194,6 +356,29 @@ class ManufacturerControllerTest {
         verify(manufacturerService).delete(1L);
     }
 
+    @Test
+    void testAsOf() throws Exception {
+        Instant instant = Instant.parse("2025-06-01T12:00:00Z");
+        when(historyService.manufacturerAsOf(THE_ID, instant)).thenReturn(new ManufacturerVersionDto(
+                Instant.parse("2025-05-01T08:30:00Z"), ChangeType.UPDATED, THE_MANUFACTURER, THE_COUNTRY));
+
+        mockMvc.perform(get("/api/manufacturer/1/as-of").param("instant", "2025-06-01T12:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.validFrom").value("2025-05-01T08:30:00Z"))
+                .andExpect(jsonPath("$.change").value("UPDATED"))
+                .andExpect(jsonPath("$.name").value(THE_MANUFACTURER));
+    }
+
+    @Test
+    void testAsOfWhenServiceThrowsException() throws Exception {
+        when(historyService.manufacturerAsOf(anyLong(), any()))
+                .thenThrow(new ApiException(HttpStatus.NOT_FOUND, NOT_FOUND_MESSAGE));
+
+        mockMvc.perform(get("/api/manufacturer/1/as-of").param("instant", "2025-06-01T12:00:00Z"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error.description").value(NOT_FOUND_MESSAGE));
+    }
+
     private static List<ManufacturerListResponseDto> buildManufacturerList(int size) {
         return IntStream.rangeClosed(1, size)
                 .mapToObj(i -> new ManufacturerListResponseDto((long) i, "Manufacturer " + i, "Country " + i))
@@ -0,0 +1,74 @@
+package com.haufe.technical.api.dataset;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DatasetGeneratorTest {
+    private static final int MANUFACTURERS = 5_000;
+    private static final int BEERS = 20_000;
+
+    @Test
+    void generate_SameSeed_ProducesSameRows() {
+        // Act
+        List<DatasetGenerator.BeerRow> first = new DatasetGenerator(42).beers(BEERS, MANUFACTURERS).toList();
+        List<DatasetGenerator.BeerRow> second = new DatasetGenerator(42).beers(BEERS, MANUFACTURERS).toList();
+        List<DatasetGenerator.BeerRow> other = new DatasetGenerator(43).beers(BEERS, MANUFACTURERS).toList();
+
+        // Assert
+        assertThat(second).isEqualTo(first);
+        assertThat(other).isNotEqualTo(first);
+        assertThat(new DatasetGenerator(42).manufacturers(MANUFACTURERS).toList())
+                .isEqualTo(new DatasetGenerator(42).manufacturers(MANUFACTURERS).toList());
+    }
+
+    @Test
+    void manufacturers_HaveUniqueNamesFittingTheColumns() {
+        // Act
+        List<DatasetGenerator.ManufacturerRow> manufacturers =
+                new DatasetGenerator(42).manufacturers(MANUFACTURERS).toList();
+
+        // Assert
+        Set<String> names = manufacturers.stream()
+                .map(DatasetGenerator.ManufacturerRow::name)
+                .collect(Collectors.toSet());
+        assertThat(names).hasSize(MANUFACTURERS);
+        assertThat(manufacturers).allSatisfy(manufacturer -> {
+            assertThat(manufacturer.name()).hasSizeLessThanOrEqualTo(30);
+            assertThat(manufacturer.country()).hasSize(2);
+        });
+    }
+
+    @Test
+    void beers_FitTheColumnsAndReferenceTheManufacturers() {
+        // Act
+        List<DatasetGenerator.BeerRow> beers = new DatasetGenerator(42).beers(BEERS, MANUFACTURERS).toList();
+
+        // Assert
+        assertThat(beers).allSatisfy(beer -> {
+            assertThat(beer.name()).hasSizeLessThanOrEqualTo(30);
+            assertThat(beer.style()).hasSizeLessThanOrEqualTo(25);
+            assertThat(beer.description()).hasSizeBetween(20, 200);
+            assertThat(beer.abv()).isBetween(0.5f, 15f);
+            assertThat(beer.manufacturer()).isBetween(0, MANUFACTURERS - 1);
+        });
+        // A few manufacturers produce most of the beers
+        long firstTenthBeers = beers.stream().filter(beer -> beer.manufacturer() < MANUFACTURERS / 10).count();
+        assertThat(firstTenthBeers).isGreaterThan(BEERS / 4);
+    }
+
+    @Test
+    void profileOf_AcceptsLabelsAndNames() {
+        assertThat(DatasetProfile.of("small")).isEqualTo(DatasetProfile.SMALL);
+        assertThat(DatasetProfile.of("1m")).isEqualTo(DatasetProfile.ONE_MILLION);
+        assertThat(DatasetProfile.of("TEN_MILLION")).isEqualTo(DatasetProfile.TEN_MILLION);
+        assertThatThrownBy(() -> DatasetProfile.of("huge"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown dataset profile 'huge'. Allowed profiles: small, 1M, 10M");
+    }
+}
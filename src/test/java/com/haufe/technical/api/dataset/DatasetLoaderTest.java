@@ -0,0 +1,41 @@
+package com.haufe.technical.api.dataset;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JdbcTest
+@Import(DatasetLoader.class)
+class DatasetLoaderTest {
+
+    @Autowired
+    private DatasetLoader loader;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void load_SmallProfile_InsertsEveryRowNextToTheSeedData() {
+        // Arrange
+        long manufacturers = count("MANUFACTURER");
+        long beers = count("BEER");
+
+        // Act
+        loader.load(DatasetProfile.SMALL, 42, 64);
+
+        // Assert
+        assertThat(count("MANUFACTURER")).isEqualTo(manufacturers + DatasetProfile.SMALL.getManufacturers());
+        assertThat(count("BEER")).isEqualTo(beers + DatasetProfile.SMALL.getBeers());
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM BEER B LEFT JOIN MANUFACTURER M ON M.ID = B.MANUFACTURER_ID WHERE M.ID IS NULL",
+                Long.class)).isZero();
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+}
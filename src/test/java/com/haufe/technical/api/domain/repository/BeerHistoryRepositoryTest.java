@@ -0,0 +1,68 @@
+package com.haufe.technical.api.domain.repository;
+
+import com.haufe.technical.api.controller.dto.beer.BeerVersionDto;
+import com.haufe.technical.api.domain.event.BeerChangedEvent;
+import com.haufe.technical.api.domain.event.ChangeType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JdbcTest
+@Import(BeerHistoryRepository.class)
+class BeerHistoryRepositoryTest {
+    private static final Instant CREATED = Instant.parse("2025-01-01T10:00:00Z");
+    private static final Instant UPDATED = Instant.parse("2025-02-01T10:00:00Z");
+    private static final Instant DELETED = Instant.parse("2025-03-01T10:00:00Z");
+
+    @Autowired
+    private BeerHistoryRepository repository;
+
+    @Test
+    void findAsOf_ReturnsTheVersionValidAtTheInstant() {
+        // Arrange
+        appendHistory(42L);
+        appendHistory(43L);
+
+        // Act & Assert
+        assertThat(repository.findAsOf(42L, CREATED.minusSeconds(1))).isEmpty();
+        assertThat(repository.findAsOf(42L, CREATED)).get().extracting(BeerVersionDto::name).isEqualTo("Gose");
+        assertThat(repository.findAsOf(42L, UPDATED.minusSeconds(1))).get()
+                .isEqualTo(new BeerVersionDto(CREATED, ChangeType.CREATED, "Gose", 4.2f, "Gose", null, 7L));
+        assertThat(repository.findAsOf(42L, UPDATED.plusSeconds(1))).get()
+                .isEqualTo(new BeerVersionDto(UPDATED, ChangeType.UPDATED, "Salty Gose", 4.5f, "Gose", "Salty", 7L));
+        assertThat(repository.findAsOf(42L, DELETED)).get()
+                .isEqualTo(new BeerVersionDto(DELETED, ChangeType.DELETED, null, null, null, null, null));
+    }
+
+    @Test
+    void findAll_ListsTheVersionsFromTheOldest() {
+        // Arrange
+        appendHistory(42L);
+
+        // Act
+        Page<BeerVersionDto> first = repository.findAll(42L, PageRequest.of(0, 2));
+        Page<BeerVersionDto> second = repository.findAll(42L, PageRequest.of(1, 2));
+
+        // Assert
+        assertThat(first.map(BeerVersionDto::change)).containsExactly(ChangeType.CREATED, ChangeType.UPDATED);
+        assertThat(second.map(BeerVersionDto::change)).containsExactly(ChangeType.DELETED);
+        assertThat(first.getTotalElements()).isEqualTo(3);
+        assertThat(repository.hasHistory(42L)).isTrue();
+        assertThat(repository.hasHistory(44L)).isFalse();
+    }
+
+    private void appendHistory(Long id) {
+        repository.append(id, ChangeType.CREATED, CREATED,
+                new BeerChangedEvent.BeerState(id, "Gose", 4.2f, "Gose", null, 7L));
+        repository.append(id, ChangeType.UPDATED, UPDATED,
+                new BeerChangedEvent.BeerState(id, "Salty Gose", 4.5f, "Gose", "Salty", 7L));
+        repository.append(id, ChangeType.DELETED, DELETED, null);
+    }
+}
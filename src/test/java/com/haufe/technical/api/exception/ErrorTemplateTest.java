@@ -0,0 +1,61 @@
+package com.haufe.technical.api.exception;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ErrorTemplateTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void body_IsTheSerializedErrorResponse() throws Exception {
+        // Arrange
+        ErrorTemplate template = ErrorTemplate.of(HttpStatus.BAD_REQUEST, "Unknown \"field\" ", " – try again");
+
+        // Act
+        StacklessApiException numeric = ApiErrors.BEER_NOT_FOUND.exception(7L);
+        StacklessApiException text = template.exception("naïve\\\"");
+
+        // Assert
+        assertThat(numeric.getMessage()).isEqualTo("Beer with ID 7 not found");
+        assertThat(numeric.getCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(numeric.body()).isEqualTo(serialize(numeric.getMessage()));
+        assertThat(text.getMessage()).isEqualTo("Unknown \"field\" naïve\\\" – try again");
+        assertThat(text.body()).isEqualTo(serialize(text.getMessage()));
+    }
+
+    @Test
+    void body_SeveralArguments_AreEncodedBetweenTheParts() throws Exception {
+        // Act
+        StacklessApiException exception =
+                ApiErrors.BEER_NOT_FOUND_AS_OF.exception(7L, Instant.parse("2024-01-01T00:00:00Z"));
+
+        // Assert
+        assertThat(exception.getMessage()).isEqualTo("Beer with ID 7 did not exist at 2024-01-01T00:00:00Z");
+        assertThat(exception.body()).isEqualTo(serialize(exception.getMessage()));
+        assertThatThrownBy(() -> ApiErrors.BEER_NOT_FOUND_AS_OF.exception(7L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void exception_HasNoStackTrace() {
+        // Act
+        StacklessApiException exception = ApiErrors.MANUFACTURER_NOT_FOUND.exception(1L);
+        StacklessApiException constant = ApiErrors.NO_FIELD_REQUESTED.exception();
+
+        // Assert
+        assertThat(exception.getStackTrace()).isEmpty();
+        assertThat(constant).isSameAs(ApiErrors.NO_FIELD_REQUESTED.exception());
+        assertThat(constant.getMessage()).isEqualTo("At least one field must be requested");
+    }
+
+    private byte[] serialize(String message) throws Exception {
+        return objectMapper.writeValueAsBytes(Map.of("error", Map.of("description", message)));
+    }
+}
@@ -0,0 +1,66 @@
+package com.haufe.technical.api.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * The machine-readable result of a load test, written as JSON so that runs of different builds can be compared.
+ *
+ * @param startedAt  when the measurement started
+ * @param settings   the settings of the run
+ * @param seconds    the measured duration
+ * @param total      all the operations together
+ * @param operations every operation of the mix
+ */
+record LoadReport(Instant startedAt, LoadSettings settings, double seconds, OperationReport total,
+                  Map<Workload.Operation, OperationReport> operations) {
+
+    /**
+     * @param requests   the requests started during the measurement
+     * @param errors     the failed requests: error statuses, timeouts and connection failures
+     * @param errorRate  the fraction of failed requests
+     * @param throughput the completed requests per second
+     * @param statuses   the number of responses by status, 0 for no response
+     * @param latency    the latency, from the intended start of the request to its response, so that the
+     *                   requests delayed by a saturated server are not omitted
+     */
+    record OperationReport(long requests, long errors, double errorRate, double throughput, Map<Integer, Long> statuses,
+                           Latency latency) {
+
+        static OperationReport of(long requests, long errors, Map<Integer, Long> statuses, Histogram histogram,
+                                  double seconds) {
+            return new OperationReport(requests, errors, requests > 0 ? (double) errors / requests : 0,
+                    histogram.getTotalCount() / seconds, statuses, Latency.of(histogram));
+        }
+    }
+
+    /**
+     * Latency percentiles in milliseconds.
+     *
+     * @param histogram the whole HDR histogram, compressed and base64 encoded, to merge or plot runs
+     *                  with the HdrHistogram tools
+     */
+    record Latency(double mean, double p50, double p90, double p99, double p999, double max, String histogram) {
+
+        static Latency of(Histogram histogram) {
+            final ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+            final int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+            return new Latency(millis(histogram.getMean()),
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()),
+                    Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length)));
+        }
+
+        private static double millis(double micros) {
+            return Math.round(micros) / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.haufe.technical.api.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Settings of a load test, read from the {@code load.*} system properties, e.g.
+ * {@code mvnw -Pload-test test -Dload.dataset=1M -Dload.rate=500 -Dload.mix=read=70,list=20,write=10}.
+ *
+ * @param dataset      the dataset profile the application is seeded with, see {@code DatasetProfile}
+ * @param rate         requests started per second, whatever the response times (open model)
+ * @param warmup       duration of the unrecorded traffic before the measurement
+ * @param duration     duration of the measurement
+ * @param mix          weight of every operation
+ * @param seed         seed of the workload, the same seed always sends the same sequence of requests
+ * @param timeout      response timeout, a request timing out is an error
+ * @param maxErrorRate error rate above which the test fails
+ * @param report       path of the JSON report
+ */
+record LoadSettings(String dataset, int rate, Duration warmup, Duration duration, Map<Workload.Operation, Integer> mix,
+                    long seed, Duration timeout, double maxErrorRate, String report) {
+
+    static LoadSettings fromSystemProperties() {
+        return new LoadSettings(
+                property("dataset", "small"),
+                Integer.parseInt(property("rate", "100")),
+                DurationStyle.detectAndParse(property("warmup", "10s")),
+                DurationStyle.detectAndParse(property("duration", "30s")),
+                mix(property("mix", "read=50,list=25,write=15,delete=10")),
+                Long.parseLong(property("seed", "42")),
+                DurationStyle.detectAndParse(property("timeout", "5s")),
+                Double.parseDouble(property("max-error-rate", "0.01")),
+                property("report", "target/load-test/report.json"));
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("load." + name, defaultValue);
+    }
+
+    /**
+     * @param mix the weights, e.g. {@code read=50,list=25,write=15,delete=10}; missing operations are not sent
+     */
+    static Map<Workload.Operation, Integer> mix(String mix) {
+        final Map<Workload.Operation, Integer> weights = new EnumMap<>(Workload.Operation.class);
+        for (String entry : mix.split(",")) {
+            final String[] weight = entry.split("=");
+            if (weight.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '" + entry + "', expected <operation>=<weight>");
+            }
+            weights.put(Workload.Operation.valueOf(weight[0].strip().toUpperCase()), Integer.parseInt(weight[1].strip()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,271 @@
+package com.haufe.technical.api.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the whole application, over HTTP, with the request mix of the {@link LoadSettings}, and writes a
+ * {@link LoadReport}. Excluded from the regular builds, run with {@code mvnw -Pload-test test}.
+ * <p>
+ * The generator follows an open model: the requests start at a constant rate, each on its own virtual
+ * thread, whether the previous ones have completed or not, like independent users would; the latency is
+ * measured from the intended start of every request, so a saturated server shows in the percentiles
+ * instead of slowing the generator down.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        // All the traffic comes from a single address
+        properties = "api.bulkhead.rate-limit.enabled=false")
+class LoadTest {
+    private static final LoadSettings SETTINGS = LoadSettings.fromSystemProperties();
+    private static final long HIGHEST_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    @LocalServerPort
+    private int port;
+    @Value("${spring.security.user.name}")
+    private String user;
+    @Value("${spring.security.user.password}")
+    private String password;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+    private final Map<Workload.Operation, Results> results = new EnumMap<>(Workload.Operation.class);
+    private HttpClient client;
+    private Workload workload;
+    private volatile boolean recording;
+
+    /**
+     * The outcome of the recorded requests of an operation.
+     */
+    private record Results(Histogram latency, LongAdder requests, LongAdder errors, Map<Integer, LongAdder> statuses) {
+        Results() {
+            this(new ConcurrentHistogram(HIGHEST_LATENCY_MICROS, 3), new LongAdder(), new LongAdder(),
+                    new ConcurrentHashMap<>());
+        }
+    }
+
+    @DynamicPropertySource
+    static void dataset(DynamicPropertyRegistry registry) {
+        registry.add("api.dataset.profile", SETTINGS::dataset);
+    }
+
+    @Test
+    void run() throws Exception {
+        // Arrange
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .cookieHandler(new CookieManager())
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(SETTINGS.timeout())
+                .build();
+        awaitReady();
+        logIn();
+        workload = new Workload(SETTINGS.mix(), SETTINGS.seed(), dataset());
+        SETTINGS.mix().keySet().forEach(operation -> results.put(operation, new Results()));
+
+        // Act
+        final Instant startedAt;
+        final long measured;
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            generate(requests, SETTINGS.warmup());
+            recording = true;
+            startedAt = Instant.now();
+            final long start = System.nanoTime();
+            generate(requests, SETTINGS.duration());
+            measured = System.nanoTime() - start;
+            requests.shutdown();
+            assertThat(requests.awaitTermination(SETTINGS.timeout().toMillis() * 2, TimeUnit.MILLISECONDS)).isTrue();
+        }
+        final LoadReport report = report(startedAt, measured / 1e9);
+
+        // Assert
+        final Path path = Path.of(SETTINGS.report());
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        objectMapper.writeValue(path.toFile(), report);
+        System.out.printf("%nLoad test report written to %s%n%s%n", path.toAbsolutePath(), summary(report));
+
+        assertThat(report.total().requests()).isPositive();
+        assertThat(report.total().errorRate()).isLessThanOrEqualTo(SETTINGS.maxErrorRate());
+    }
+
+    /**
+     * Starts the requests at the configured rate for the given duration.
+     */
+    private void generate(ExecutorService requests, Duration duration) {
+        final long interval = TimeUnit.SECONDS.toNanos(1) / SETTINGS.rate();
+        final long start = System.nanoTime();
+        final long end = start + duration.toNanos();
+        for (long intended = start; intended < end; intended += interval) {
+            final long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            final Workload.Request request = workload.next();
+            final long intendedStart = intended;
+            final boolean recorded = recording;
+            requests.execute(() -> send(request, intendedStart, recorded));
+        }
+    }
+
+    private void send(Workload.Request request, long intendedStart, boolean recorded) {
+        int status = 0;
+        try {
+            final String path = request.resolvePath(SETTINGS.timeout());
+            if (path != null) {
+                final HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path))
+                        .timeout(SETTINGS.timeout())
+                        .header("Accept", "application/json");
+                if (request.body() != null) {
+                    builder.header("Content-Type", "application/json");
+                }
+                final HttpResponse<String> response = client.send(builder
+                                .method(request.method(), request.body() != null
+                                        ? HttpRequest.BodyPublishers.ofString(request.body())
+                                        : HttpRequest.BodyPublishers.noBody())
+                                .build(),
+                        HttpResponse.BodyHandlers.ofString());
+                status = response.statusCode();
+                if (status < 300 && request.creates() != null) {
+                    request.creates().created(objectMapper.readTree(response.body()).path("id").asLong());
+                }
+            }
+        } catch (IOException | TimeoutException e) {
+            // Timeout or connection failure, counted as status 0
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // Unless created, the requests targeting it give up
+            if (request.creates() != null) {
+                request.creates().failed();
+            }
+            if (request.sent() != null) {
+                request.sent().complete(null);
+            }
+        }
+
+        if (recorded) {
+            final Results operation = results.get(request.operation());
+            operation.latency().recordValue(Math.min(HIGHEST_LATENCY_MICROS,
+                    TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart)));
+            operation.requests().increment();
+            if (status == 0 || status >= 400) {
+                operation.errors().increment();
+            }
+            operation.statuses().computeIfAbsent(status, key -> new LongAdder()).increment();
+        }
+    }
+
+    private LoadReport report(Instant startedAt, double seconds) {
+        final Histogram total = new Histogram(HIGHEST_LATENCY_MICROS, 3);
+        final Map<Integer, Long> totalStatuses = new TreeMap<>();
+        final Map<Workload.Operation, LoadReport.OperationReport> operations = new EnumMap<>(Workload.Operation.class);
+        long requests = 0;
+        long errors = 0;
+        for (Map.Entry<Workload.Operation, Results> entry : results.entrySet()) {
+            final Results operation = entry.getValue();
+            final Map<Integer, Long> statuses = new TreeMap<>();
+            operation.statuses().forEach((status, count) -> {
+                statuses.put(status, count.sum());
+                totalStatuses.merge(status, count.sum(), Long::sum);
+            });
+            operations.put(entry.getKey(), LoadReport.OperationReport.of(operation.requests().sum(),
+                    operation.errors().sum(), statuses, operation.latency(), seconds));
+            total.add(operation.latency());
+            requests += operation.requests().sum();
+            errors += operation.errors().sum();
+        }
+        return new LoadReport(startedAt, SETTINGS, seconds,
+                LoadReport.OperationReport.of(requests, errors, totalStatuses, total, seconds), operations);
+    }
+
+    private static String summary(LoadReport report) {
+        final StringBuilder summary = new StringBuilder(String.format("%-7s %9s %8s %9s %9s %9s %9s%n",
+                "", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms"));
+        report.operations().forEach((operation, result) -> summary.append(line(operation.name(), result)));
+        return summary.append(line("TOTAL", report.total())).toString();
+    }
+
+    private static String line(String name, LoadReport.OperationReport result) {
+        return String.format("%-7s %9d %8d %9.1f %9.2f %9.2f %9.2f%n", name, result.requests(), result.errors(),
+                result.throughput(), result.latency().p50(), result.latency().p99(), result.latency().max());
+    }
+
+    private Workload.Dataset dataset() {
+        return jdbcTemplate.queryForObject(
+                "SELECT (SELECT MIN(ID) FROM BEER), (SELECT MAX(ID) FROM BEER), "
+                        + "(SELECT MIN(ID) FROM MANUFACTURER), (SELECT MAX(ID) FROM MANUFACTURER)",
+                (resultSet, row) -> new Workload.Dataset(resultSet.getLong(1), resultSet.getLong(2),
+                        resultSet.getLong(3), resultSet.getLong(4)));
+    }
+
+    /**
+     * Waits for the warm-up of the application, like a load balancer would.
+     */
+    private void awaitReady() throws Exception {
+        final long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+        while (System.nanoTime() < deadline) {
+            final HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri("/actuator/health/readiness")).build(),
+                    HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() == 200) {
+                return;
+            }
+            Thread.sleep(200);
+        }
+        throw new IllegalStateException("The application did not get ready");
+    }
+
+    private void logIn() throws Exception {
+        final String form = "username=" + URLEncoder.encode(user, StandardCharsets.UTF_8)
+                + "&password=" + URLEncoder.encode(password, StandardCharsets.UTF_8);
+        client.send(HttpRequest.newBuilder(uri("/login"))
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString(form))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
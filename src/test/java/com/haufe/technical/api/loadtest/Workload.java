@@ -0,0 +1,214 @@
+package com.haufe.technical.api.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The requests of a load test, drawn from a seeded generator so that two runs with the same settings and
+ * dataset send the same sequence of requests.
+ * <p>
+ * The updates and deletions only target the entities created by the run, so that the dataset is left as it
+ * was seeded. They are planned when drawn, against the creations drawn before them rather than those
+ * completed by then, which would depend on the timing: a request whose target is still being created waits
+ * for its ID before being sent, and a deletion also waits for the updates planned before it.
+ */
+class Workload {
+    private static final int PAGE_SIZE = 20;
+
+    enum Operation {
+        /** {@code GET /api/beer/{id}} or {@code GET /api/manufacturer/{id}} */
+        READ,
+        /** {@code GET /api/beer} or {@code GET /api/manufacturer}, sorted by name */
+        LIST,
+        /** Creation of a beer or a manufacturer, or update of a beer created by the run */
+        WRITE,
+        /** Deletion of a beer or a manufacturer created by the run */
+        DELETE
+    }
+
+    /**
+     * @param operation the operation, as drawn from the mix
+     * @param method    the HTTP method
+     * @param path      the path, query string included; completed with the ID of the target if any
+     * @param body      the JSON body, null for none
+     * @param creates   what the request creates, to be completed with its ID; null if it creates nothing
+     * @param target    the creation of the entity the request applies to, null for none
+     * @param sent      completed once an update is answered, for the deletion of its target; null for the others
+     */
+    record Request(Operation operation, String method, String path, String body, Creation creates, Creation target,
+                   CompletableFuture<Void> sent) {
+
+        /**
+         * @return the path, with the ID of the target once created; null if the target failed to be created
+         */
+        String resolvePath(Duration timeout) throws InterruptedException, TimeoutException {
+            if (target == null) {
+                return path;
+            }
+            final Long id = target.await(timeout, operation == Operation.DELETE);
+            return id != null ? path + id : null;
+        }
+    }
+
+    /**
+     * An entity created by the run, whose ID is known once its creation request completes.
+     */
+    static final class Creation {
+        private final CompletableFuture<Long> id = new CompletableFuture<>();
+        private final List<CompletableFuture<Void>> updates = new ArrayList<>();
+        private CompletableFuture<Void> updated;
+
+        void created(long id) {
+            this.id.complete(id);
+        }
+
+        void failed() {
+            id.complete(null);
+        }
+
+        /**
+         * Plans an update, drawn by the generator thread.
+         *
+         * @return the future to complete once the update is answered
+         */
+        private CompletableFuture<Void> update() {
+            final CompletableFuture<Void> sent = new CompletableFuture<>();
+            updates.add(sent);
+            return sent;
+        }
+
+        /**
+         * Plans the deletion, drawn by the generator thread after every update.
+         */
+        private Creation delete() {
+            updated = CompletableFuture.allOf(updates.toArray(CompletableFuture[]::new));
+            return this;
+        }
+
+        private Long await(Duration timeout, boolean deletion) throws InterruptedException, TimeoutException {
+            try {
+                if (deletion) {
+                    updated.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+                }
+                return id.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                return null;
+            }
+        }
+    }
+
+    enum Entity {
+        BEER("/api/beer/"),
+        MANUFACTURER("/api/manufacturer/");
+
+        private final String path;
+
+        Entity(String path) {
+            this.path = path;
+        }
+    }
+
+    /**
+     * The IDs of the seeded dataset, contiguous as loaded by {@code DatasetLoader}.
+     */
+    record Dataset(long firstBeer, long lastBeer, long firstManufacturer, long lastManufacturer) {}
+
+    private final Random random;
+    private final Operation[] operations;
+    private final Dataset dataset;
+    private final List<Creation> beers = new ArrayList<>();
+    private final List<Creation> manufacturers = new ArrayList<>();
+    private long sequence;
+
+    Workload(Map<Operation, Integer> mix, long seed, Dataset dataset) {
+        this.random = new Random(seed);
+        this.operations = mix.entrySet().stream()
+                .flatMap(weight -> Collections.nCopies(weight.getValue(), weight.getKey()).stream())
+                .toArray(Operation[]::new);
+        this.dataset = dataset;
+        if (operations.length == 0) {
+            throw new IllegalArgumentException("The mix has no operation");
+        }
+    }
+
+    /**
+     * Draws the next request; not thread-safe, the requests are drawn by the generator thread only.
+     */
+    Request next() {
+        final Operation operation = operations[random.nextInt(operations.length)];
+        final boolean beer = random.nextInt(4) != 0;
+        return switch (operation) {
+            case READ -> beer
+                    ? new Request(operation, "GET", "/api/beer/" + beerId(), null, null, null, null)
+                    : new Request(operation, "GET", "/api/manufacturer/" + manufacturerId(), null, null, null, null);
+            case LIST -> beer
+                    ? new Request(operation, "GET", list("/api/beer", dataset.lastBeer() - dataset.firstBeer()),
+                    null, null, null, null)
+                    : new Request(operation, "GET",
+                    list("/api/manufacturer", dataset.lastManufacturer() - dataset.firstManufacturer()), null, null, null, null);
+            case WRITE -> write();
+            case DELETE -> delete();
+        };
+    }
+
+    private Request write() {
+        final int kind = random.nextInt(5);
+        ++sequence;
+        if (kind == 0) {
+            final Creation manufacturer = new Creation();
+            manufacturers.add(manufacturer);
+            return new Request(Operation.WRITE, "POST", "/api/manufacturer",
+                    "{\"name\":\"Load brewery %d\",\"country\":\"ES\"}".formatted(sequence), manufacturer, null, null);
+        }
+        final String body = String.format(Locale.ROOT,
+                "{\"name\":\"Load beer %d\",\"avb\":%.1f,\"style\":\"IPA\",\"description\":\"Load test\"}",
+                sequence, 3 + random.nextInt(90) / 10f);
+        if (kind <= 2 || beers.isEmpty()) {
+            final Creation beer = new Creation();
+            beers.add(beer);
+            return new Request(Operation.WRITE, "POST", "/api/beer/" + manufacturerId(), body, beer, null, null);
+        }
+        // Among the newer half, away from the next deletions
+        final int newer = beers.size() / 2;
+        final Creation target = beers.get(newer + random.nextInt(beers.size() - newer));
+        return new Request(Operation.WRITE, "PUT", Entity.BEER.path, body, null, target, target.update());
+    }
+
+    /**
+     * Deletes the oldest entity created by the run and not deleted yet, a beer if any.
+     */
+    private Request delete() {
+        if (!beers.isEmpty()) {
+            return new Request(Operation.DELETE, "DELETE", Entity.BEER.path, null, null,
+                    beers.removeFirst().delete(), null);
+        }
+        if (!manufacturers.isEmpty()) {
+            return new Request(Operation.DELETE, "DELETE", Entity.MANUFACTURER.path, null, null,
+                    manufacturers.removeFirst().delete(), null);
+        }
+        // Nothing left to delete
+        return write();
+    }
+
+    private String list(String path, long entities) {
+        final long pages = Math.max(1, entities / PAGE_SIZE);
+        return path + "?size=" + PAGE_SIZE + "&sort=name&page=" + random.nextLong(Math.min(pages, 50));
+    }
+
+    private long beerId() {
+        return random.nextLong(dataset.firstBeer(), dataset.lastBeer() + 1);
+    }
+
+    private long manufacturerId() {
+        return random.nextLong(dataset.firstManufacturer(), dataset.lastManufacturer() + 1);
+    }
+}
@@ -1,5 +1,6 @@
 package com.haufe.technical.api.service;
 
+import com.haufe.technical.api.config.CoalescingProperties;
 import com.haufe.technical.api.controller.dto.manufacturer.ManufacturerListResponseDto;
 import com.haufe.technical.api.controller.dto.manufacturer.ManufacturerReadResponseDto;
 import com.haufe.technical.api.controller.dto.manufacturer.ManufacturerUpsertDto;
@@ -7,24 +8,36 @@ import com.haufe.technical.api.controller.dto.manufacturer.ManufacturerUpsertRes
 import com.haufe.technical.api.domain.entity.Manufacturer;
 import com.haufe.technical.api.domain.repository.BeerRepository;
 import com.haufe.technical.api.domain.repository.ManufacturerRepository;
+import com.haufe.technical.api.domain.repository.SparseFieldsetRepository;
 import com.haufe.technical.api.exception.ApiException;
+import com.haufe.technical.api.service.coalescing.RequestCoalescer;
+import com.haufe.technical.api.service.counter.RowCounterService;
+import com.haufe.technical.api.service.snapshot.CatalogueSnapshotService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpStatus;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +48,22 @@ class ManufacturerServiceTest {
     @Mock
     private BeerRepository beerRepository;
 
+    @Mock
+    private SparseFieldsetRepository sparseFieldsetRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CatalogueSnapshotService snapshotService;
+
+    @Mock
+    private RowCounterService rowCounterService;
+
+    @Spy
+    private RequestCoalescer requestCoalescer =
+            new RequestCoalescer(new CoalescingProperties(true, Duration.ofSeconds(1)), new SimpleMeterRegistry());
+
     @InjectMocks
     private ManufacturerService manufacturerService;
 
@@ -154,7 +183,7 @@ class ManufacturerServiceTest {
     void delete_ManufacturerWithBeers_ThrowsApiException() {
         // Arrange
         Long id = 1L;
-        when(manufacturerRepository.existsById(id)).thenReturn(true);
+        when(manufacturerRepository.findById(id)).thenReturn(Optional.of(Manufacturer.builder().id(id).build()));
         when(beerRepository.existsByManufacturerId(id)).thenReturn(true);
 
         // Act & Assert
@@ -163,14 +192,14 @@ class ManufacturerServiceTest {
                 .hasFieldOrPropertyWithValue("code", HttpStatus.BAD_REQUEST)
                 .hasMessageContaining("Cannot delete manufacturer with id " + id + " because it has associated beers");
 
-        verify(manufacturerRepository, never()).deleteById(any());
+        verify(manufacturerRepository, never()).delete(any());
     }
 
     @Test
     void delete_NonexistentManufacturer_ThrowsApiException() {
         // Arrange
         Long id = 1L;
-        when(manufacturerRepository.existsById(id)).thenReturn(false);
+        when(manufacturerRepository.findById(id)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> manufacturerService.delete(id))
@@ -178,7 +207,7 @@ class ManufacturerServiceTest {
                 .hasFieldOrPropertyWithValue("code", HttpStatus.NOT_FOUND)
                 .hasMessageContaining("Manufacturer with id " + id + " not found");
 
-        verify(manufacturerRepository, never()).deleteById(any());
+        verify(manufacturerRepository, never()).delete(any());
     }
 
     @Test
@@ -215,15 +244,16 @@ class ManufacturerServiceTest {
     }
 
     @Test
-    void list_ReturnsPageOfManufacturers() {
+    void list_ReturnsPageOfManufacturersWithCountedTotal() {
         // Arrange
-        Pageable pageable = PageRequest.of(0, 10);
+        Pageable pageable = PageRequest.of(0, 2);
         List<Manufacturer> manufacturers = List.of(
                 Manufacturer.builder().id(1L).name("Brewery 1").country("Spain").build(),
                 Manufacturer.builder().id(2L).name("Brewery 2").country("Portugal").build()
         );
-        Page<Manufacturer> page = new PageImpl<>(manufacturers);
-        when(manufacturerRepository.findAll(pageable)).thenReturn(page);
+        when(manufacturerRepository.findAllBy(pageable)).thenReturn(new SliceImpl<>(manufacturers, pageable, true));
+        when(rowCounterService.page(eq(RowCounterService.Table.MANUFACTURER), any()))
+                .thenAnswer(invocation -> new PageImpl<>(invocation.<Slice<?>>getArgument(1).getContent(), pageable, 25));
 
         // Act
         Page<ManufacturerListResponseDto> result = manufacturerService.list(pageable);
@@ -234,14 +264,17 @@ class ManufacturerServiceTest {
                 .hasSize(2)
                 .extracting(ManufacturerListResponseDto::name)
                 .containsExactly("Brewery 1", "Brewery 2");
+        assertThat(result.getTotalElements()).isEqualTo(25);
+        verify(manufacturerRepository, never()).findAll(any(Pageable.class));
     }
 
     @Test
     void list_EmptyPage_ReturnsEmptyPage() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Manufacturer> emptyPage = new PageImpl<>(List.of());
-        when(manufacturerRepository.findAll(pageable)).thenReturn(emptyPage);
+        when(manufacturerRepository.findAllBy(pageable)).thenReturn(new SliceImpl<>(List.of(), pageable, false));
+        when(rowCounterService.page(eq(RowCounterService.Table.MANUFACTURER), any()))
+                .thenReturn(new PageImpl<>(List.of(), pageable, 0));
 
         // Act
         Page<ManufacturerListResponseDto> result = manufacturerService.list(pageable);
@@ -252,6 +285,65 @@ class ManufacturerServiceTest {
                 .hasSize(0);
         assertThat(result.getContent()).isEmpty();
         assertThat(result.getTotalElements()).isZero();
-        verify(manufacturerRepository).findAll(pageable);
+        verify(manufacturerRepository).findAllBy(pageable);
+    }
+
+    @Test
+    void slice_DoesNotReadTheTotal() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 1);
+        List<Manufacturer> manufacturers = List.of(Manufacturer.builder().id(1L).name("Brewery 1").build());
+        when(manufacturerRepository.findAllBy(pageable)).thenReturn(new SliceImpl<>(manufacturers, pageable, true));
+
+        // Act
+        Slice<ManufacturerListResponseDto> result = manufacturerService.slice(pageable);
+
+        // Assert
+        assertThat(result.getContent()).extracting(ManufacturerListResponseDto::name).containsExactly("Brewery 1");
+        assertThat(result.hasNext()).isTrue();
+        verifyNoInteractions(rowCounterService);
+    }
+
+    @Test
+    void list_WithFields_ReadsOnlyRequestedColumns() throws ApiException {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+        Map<String, String> columns = Map.of("id", "id", "name", "name");
+        Slice<Map<String, Object>> slice = new SliceImpl<>(List.of(Map.of("id", 1L, "name", "Brewery 1")));
+        when(sparseFieldsetRepository.findAll(Manufacturer.class, columns, pageable)).thenReturn(slice);
+        when(rowCounterService.page(RowCounterService.Table.MANUFACTURER, slice))
+                .thenReturn(new PageImpl<>(slice.getContent()));
+
+        // Act
+        Page<Map<String, Object>> result = manufacturerService.list(pageable, "id, name");
+
+        // Assert
+        assertThat(result.getContent()).containsExactly(Map.of("id", 1L, "name", "Brewery 1"));
+        verify(manufacturerRepository, never()).findAllBy(any(Pageable.class));
+    }
+
+    @Test
+    void list_UnknownField_ThrowsApiException() {
+        // Act & Assert
+        assertThatThrownBy(() -> manufacturerService.list(PageRequest.of(0, 10), "id,beers"))
+                .isInstanceOf(ApiException.class)
+                .hasFieldOrPropertyWithValue("code", HttpStatus.BAD_REQUEST)
+                .hasMessageContaining("Unknown field 'beers'. Allowed fields: id, name, country");
+
+        verifyNoInteractions(sparseFieldsetRepository);
+    }
+
+    @Test
+    void read_WithFields_NonexistentManufacturer_ThrowsApiException() {
+        // Arrange
+        Long id = 1L;
+        when(sparseFieldsetRepository.findById(Manufacturer.class, id, Map.of("country", "country")))
+                .thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> manufacturerService.read(id, "country"))
+                .isInstanceOf(ApiException.class)
+                .hasFieldOrPropertyWithValue("code", HttpStatus.NOT_FOUND)
+                .hasMessageContaining("Manufacturer with id " + id + " not found");
     }
 }
@@ -0,0 +1,142 @@
+package com.haufe.technical.api.service.autocomplete;
+
+import com.haufe.technical.api.controller.dto.autocomplete.AutocompleteSuggestionDto;
+import com.haufe.technical.api.domain.event.BeerChangedEvent;
+import com.haufe.technical.api.domain.event.BeerChangedEvent.BeerState;
+import com.haufe.technical.api.domain.event.ChangeType;
+import com.haufe.technical.api.domain.event.RemoteChangeEvent;
+import com.haufe.technical.api.domain.repository.BeerRepository;
+import com.haufe.technical.api.domain.repository.EntityName;
+import com.haufe.technical.api.domain.repository.ManufacturerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AutocompleteServiceTest {
+
+    @Mock
+    private BeerRepository beerRepository;
+
+    @Mock
+    private ManufacturerRepository manufacturerRepository;
+
+    @InjectMocks
+    private AutocompleteService service;
+
+    @BeforeEach
+    void setUp() {
+        when(beerRepository.findNamesAfter(eq(0L), any())).thenReturn(List.of(new EntityName(1L, "Hazy IPA")));
+        when(beerRepository.findNamesAfter(eq(1L), any())).thenReturn(List.of());
+        when(manufacturerRepository.findNamesAfter(eq(0L), any())).thenReturn(List.of(new EntityName(1L, "Hazy Days")));
+        when(manufacturerRepository.findNamesAfter(eq(1L), any())).thenReturn(List.of());
+        service.build();
+    }
+
+    @Test
+    void suggest_MatchesBeersAndManufacturers() {
+        assertThat(service.suggest("hazy", 10)).containsExactly(
+                new AutocompleteSuggestionDto(AutocompleteService.BEER, 1L, "Hazy IPA"),
+                new AutocompleteSuggestionDto(AutocompleteService.MANUFACTURER, 1L, "Hazy Days"));
+    }
+
+    @Test
+    void build_NameChangedWhileLoading_KeepsTheChangedName() {
+        // Arrange
+        when(beerRepository.findNamesAfter(eq(0L), any())).thenAnswer(invocation -> {
+            // Renamed after the batch was read
+            service.onBeerChanged(new BeerChangedEvent(ChangeType.UPDATED, 1L, null,
+                    new BeerState(1L, "Juicy Pale", 5f, "IPA", null, 1L)));
+            return List.of(new EntityName(1L, "Hazy IPA"));
+        });
+
+        // Act
+        service.build();
+
+        // Assert
+        assertThat(service.suggest("juicy", 10)).extracting(AutocompleteSuggestionDto::id).containsExactly(1L);
+        assertThat(service.suggest("hazy", 10)).extracting(AutocompleteSuggestionDto::type)
+                .containsExactly(AutocompleteService.MANUFACTURER);
+    }
+
+    @Test
+    void onRemoteChange_LoadsTheChangedNamesAtOnce() {
+        // Arrange
+        service.onBeerChanged(new BeerChangedEvent(ChangeType.CREATED, 2L, null,
+                new BeerState(2L, "Hazy Lager", 5f, "Lager", null, 1L)));
+        when(beerRepository.findNamesByIdIn(Set.of(1L, 2L))).thenReturn(List.of(new EntityName(1L, "Juicy Pale")));
+
+        // Act
+        service.onRemoteChange(new RemoteChangeEvent(List.of(
+                new RemoteChangeEvent.Change(RemoteChangeEvent.BEER, 1L, ChangeType.UPDATED),
+                new RemoteChangeEvent.Change(RemoteChangeEvent.BEER, 2L, ChangeType.DELETED))));
+
+        // Assert
+        assertThat(service.suggest("juicy", 10)).extracting(AutocompleteSuggestionDto::id).containsExactly(1L);
+        assertThat(service.suggest("hazy", 10)).extracting(AutocompleteSuggestionDto::type)
+                .containsExactly(AutocompleteService.MANUFACTURER);
+        verify(beerRepository, never()).findById(any());
+    }
+
+    @Test
+    void onBeerChanged_ConcurrentRenamesOfTheSameBeer_KeepTheTermsOfOneName() throws Exception {
+        // Arrange
+        int renames = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // Act
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < renames; ++i) {
+                String name = "Rename" + i + " Sour";
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    service.onBeerChanged(new BeerChangedEvent(ChangeType.UPDATED, 1L, null,
+                            new BeerState(1L, name, 5f, "Sour", null, 1L)));
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Assert
+        List<AutocompleteSuggestionDto> byWord = service.suggest("sour", 10);
+        assertThat(byWord).hasSize(1);
+        assertThat(service.suggest("rename", AutocompleteService.MAX_LIMIT)).containsExactlyElementsOf(byWord);
+        assertThat(service.suggest("hazy", 10)).extracting(AutocompleteSuggestionDto::type)
+                .containsExactly(AutocompleteService.MANUFACTURER);
+    }
+
+    @Test
+    void onBeerChanged_Deleted_RemovesTheName() {
+        // Act
+        service.onBeerChanged(new BeerChangedEvent(ChangeType.DELETED, 1L, null, null));
+
+        // Assert
+        assertThat(service.suggest("ipa", 10)).isEmpty();
+    }
+}
@@ -0,0 +1,76 @@
+package com.haufe.technical.api.service.autocomplete;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class PrefixIndexTest {
+
+    private PrefixIndex<Long> index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PrefixIndex<>();
+        index.put(1L, "Apricot Dispersion");
+        index.put(2L, "Cervesa de fermentació");
+        index.put(3L, "Double IPA");
+        index.put(4L, "Hazy IPA");
+        index.put(5L, "Imperial Stout");
+    }
+
+    @Test
+    void search_MatchesNameAndWordPrefixes() {
+        assertThat(index.search("ap", 10)).containsOnlyKeys(1L);
+        assertThat(index.search("disp", 10)).containsOnlyKeys(1L);
+        assertThat(index.search("ip", 10)).containsOnlyKeys(3L, 4L);
+        assertThat(index.search("i", 10)).containsOnlyKeys(3L, 4L, 5L);
+    }
+
+    @Test
+    void search_IgnoresCaseAndAccents() {
+        assertThat(index.search("FERMENTACIO", 10)).containsEntry(2L, "Cervesa de fermentació");
+        assertThat(index.search("fermentació", 10)).containsOnlyKeys(2L);
+        assertThat(index.search("  hAZy", 10)).containsOnlyKeys(4L);
+    }
+
+    @Test
+    void search_LimitsAndDeduplicatesMatches() {
+        index.put(6L, "IPA India Pale Ale");
+
+        assertThat(index.search("i", 2)).hasSize(2);
+        assertThat(index.search("i", 10)).containsOnlyKeys(3L, 4L, 5L, 6L);
+    }
+
+    @Test
+    void search_RanksNameStartsFirstThenShorterNames() {
+        index.put(6L, "IPA India Pale Ale");
+        index.put(7L, "Ipanema");
+
+        assertThat(index.search("ipa", 10)).containsExactly(
+                entry(7L, "Ipanema"),
+                entry(6L, "IPA India Pale Ale"),
+                entry(4L, "Hazy IPA"),
+                entry(3L, "Double IPA"));
+        assertThat(index.search("ipa", 2)).containsOnlyKeys(7L, 6L);
+    }
+
+    @Test
+    void put_ReplacesPreviousName() {
+        index.put(4L, "Juicy Pale");
+
+        assertThat(index.search("hazy", 10)).isEmpty();
+        assertThat(index.search("pale", 10)).containsOnlyKeys(4L);
+        assertThat(index.size()).isEqualTo(5);
+    }
+
+    @Test
+    void remove_RemovesAllTerms() {
+        index.remove(3L);
+
+        assertThat(index.search("double", 10)).isEmpty();
+        assertThat(index.search("ipa", 10)).containsOnlyKeys(4L);
+        assertThat(index.search("", 10)).isEmpty();
+    }
+}
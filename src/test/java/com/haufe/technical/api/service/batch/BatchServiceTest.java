@@ -0,0 +1,127 @@
+package com.haufe.technical.api.service.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haufe.technical.api.controller.dto.batch.BatchOperationDto;
+import com.haufe.technical.api.controller.dto.batch.BatchRequestDto;
+import com.haufe.technical.api.controller.dto.batch.BatchResponseDto;
+import com.haufe.technical.api.controller.dto.batch.BatchResultDto;
+import com.haufe.technical.api.controller.dto.beer.BeerUpsertDto;
+import com.haufe.technical.api.controller.dto.beer.BeerUpsertResponseDto;
+import com.haufe.technical.api.controller.dto.manufacturer.ManufacturerUpsertDto;
+import com.haufe.technical.api.controller.dto.manufacturer.ManufacturerUpsertResponseDto;
+import com.haufe.technical.api.exception.ApiException;
+import com.haufe.technical.api.service.BeerService;
+import com.haufe.technical.api.service.ManufacturerService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchServiceTest {
+
+    @Mock
+    private ManufacturerService manufacturerService;
+
+    @Mock
+    private BeerService beerService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private BatchService batchService;
+
+    @Test
+    void execute_LaterOperationsReferenceCreatedIds() throws ApiException {
+        // Arrange
+        ManufacturerUpsertDto manufacturer = new ManufacturerUpsertDto("Lo Vilot", "ES");
+        BeerUpsertDto beer = new BeerUpsertDto("Apricot Dispersion", 6f, "Mixed fermentation", null);
+        when(manufacturerService.create(manufacturer)).thenReturn(new ManufacturerUpsertResponseDto(7L, "Lo Vilot"));
+        when(beerService.create(7L, beer)).thenReturn(new BeerUpsertResponseDto(70L, "Apricot Dispersion"));
+
+        BatchRequestDto request = new BatchRequestDto(List.of(
+                operation("brewery", "POST", "/api/manufacturer", manufacturer),
+                operation("apricot", "POST", "/api/beer/$brewery", beer),
+                operation(null, "put", "/api/beer/$apricot", beer),
+                operation(null, "DELETE", "/api/beer/3", null)));
+
+        // Act
+        BatchResponseDto response = batchService.execute(request);
+
+        // Assert
+        assertThat(response.results()).containsExactly(
+                new BatchResultDto("brewery", 200, new ManufacturerUpsertResponseDto(7L, "Lo Vilot")),
+                new BatchResultDto("apricot", 200, new BeerUpsertResponseDto(70L, "Apricot Dispersion")),
+                new BatchResultDto(null, 200, null),
+                new BatchResultDto(null, 200, null));
+        verify(beerService).update(70L, beer);
+        verify(beerService).delete(3L);
+    }
+
+    @Test
+    void execute_FailedOperation_ThrowsApiExceptionOfTheOperation() throws ApiException {
+        // Arrange
+        ManufacturerUpsertDto manufacturer = new ManufacturerUpsertDto("Lo Vilot", "ES");
+        when(manufacturerService.create(manufacturer)).thenReturn(new ManufacturerUpsertResponseDto(7L, "Lo Vilot"));
+        doThrow(new ApiException(HttpStatus.NOT_FOUND, "Beer with ID 3 not found")).when(beerService).delete(3L);
+
+        BatchRequestDto request = new BatchRequestDto(List.of(
+                operation("brewery", "POST", "/api/manufacturer", manufacturer),
+                operation(null, "DELETE", "/api/beer/3", null),
+                operation(null, "DELETE", "/api/beer/4", null)));
+
+        // Act & Assert
+        assertThatThrownBy(() -> batchService.execute(request))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("Operation 1 (DELETE /api/beer/3) failed: Beer with ID 3 not found")
+                .extracting("code").isEqualTo(HttpStatus.NOT_FOUND);
+        verify(beerService, never()).delete(4L);
+    }
+
+    @Test
+    void execute_UnknownReference_ThrowsApiException() {
+        // Arrange
+        BatchRequestDto request = new BatchRequestDto(List.of(
+                operation(null, "POST", "/api/beer/$brewery", new BeerUpsertDto("Gose", 4.2f, "Gose", null))));
+
+        // Act & Assert
+        assertThatThrownBy(() -> batchService.execute(request))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("Operation 0 (POST /api/beer/$brewery) failed: "
+                        + "Unknown reference '$brewery', it must name an earlier creation")
+                .extracting("code").isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(beerService);
+    }
+
+    @Test
+    void execute_UnsupportedOperation_ThrowsApiException() throws ApiException {
+        // Arrange
+        BatchRequestDto request = new BatchRequestDto(List.of(operation(null, "GET", "/api/beer/1", null)));
+
+        // Act & Assert
+        assertThatThrownBy(() -> batchService.execute(request))
+                .isInstanceOf(ApiException.class)
+                .extracting("code").isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThatThrownBy(() -> batchService.execute(new BatchRequestDto(List.of())))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("A batch must have between 1 and 1000 operations");
+        verify(beerService, never()).read(anyLong());
+        verify(beerService, never()).create(anyLong(), any());
+    }
+
+    private BatchOperationDto operation(String id, String method, String path, Object body) {
+        return new BatchOperationDto(id, method, path, body != null ? objectMapper.valueToTree(body) : null);
+    }
+}
@@ -0,0 +1,83 @@
+package com.haufe.technical.api.service.cluster;
+
+import com.haufe.technical.api.config.ClusterProperties;
+import com.haufe.technical.api.domain.event.BeerChangedEvent;
+import com.haufe.technical.api.domain.event.ChangeType;
+import com.haufe.technical.api.domain.event.ManufacturerChangedEvent;
+import com.haufe.technical.api.domain.event.RemoteChangeEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class ClusterInvalidationServiceTest {
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+    private static final ClusterProperties PROPERTIES = new ClusterProperties(true,
+            ClusterProperties.Transport.MEMORY, "local", Duration.ofSeconds(1), Duration.ofSeconds(10), Duration.ofMinutes(5),
+            Duration.ofHours(1));
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final InMemoryInvalidationTransport transport = new InMemoryInvalidationTransport();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ClusterInvalidationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ClusterInvalidationService(PROPERTIES, transport, eventPublisher, meterRegistry,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void poll_RepublishesTheChangesOfOtherInstances() {
+        // Arrange
+        transport.publish(new ChangeNotification("beer", 7L, ChangeType.UPDATED, "other", NOW.minusMillis(300)));
+        transport.publish(new ChangeNotification("manufacturer", 3L, ChangeType.DELETED, "other", NOW.minusMillis(100)));
+
+        // Act
+        service.poll();
+
+        // Assert
+        verify(eventPublisher).publishEvent(new RemoteChangeEvent(List.of(
+                new RemoteChangeEvent.Change("beer", 7L, ChangeType.UPDATED),
+                new RemoteChangeEvent.Change("manufacturer", 3L, ChangeType.DELETED))));
+        assertThat(meterRegistry.get("api.cluster.invalidation.lag").timer().max(TimeUnit.MILLISECONDS)).isEqualTo(300);
+        assertThat(meterRegistry.get("api.cluster.invalidations").tag("entity", "beer").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("api.cluster.invalidation.staleness").gauge().value()).isZero();
+    }
+
+    @Test
+    void localChanges_ArePublishedButNotInvalidatedAgain() {
+        // Arrange
+        service.onBeerChanged(new BeerChangedEvent(ChangeType.DELETED, 7L, null, null));
+        service.onManufacturerChanged(new ManufacturerChangedEvent(ChangeType.DELETED, 3L, null, null));
+
+        // Act
+        List<ChangeNotification> published = transport.poll();
+        published.forEach(transport::publish);
+        service.poll();
+
+        // Assert
+        assertThat(published).containsExactly(
+                new ChangeNotification("beer", 7L, ChangeType.DELETED, "local", NOW),
+                new ChangeNotification("manufacturer", 3L, ChangeType.DELETED, "local", NOW));
+        verifyNoInteractions(eventPublisher);
+    }
+}
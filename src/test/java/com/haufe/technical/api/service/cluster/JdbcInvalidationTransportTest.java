@@ -0,0 +1,112 @@
+package com.haufe.technical.api.service.cluster;
+
+import com.haufe.technical.api.domain.event.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JdbcTest
+class JdbcInvalidationTransportTest {
+    private static final Instant CHANGED_AT = Instant.parse("2026-01-01T10:00:00Z");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicLong nanoClock = new AtomicLong();
+    private JdbcInvalidationTransport transport;
+
+    @BeforeEach
+    void setUp() {
+        transport = new JdbcInvalidationTransport(
+                jdbcTemplate, Duration.ofSeconds(10), Duration.ofMinutes(5), nanoClock::get);
+        transport.poll();
+    }
+
+    @Test
+    void poll_DeliversEveryCommittedChangeOnce() {
+        // Arrange
+        ChangeNotification notification = new ChangeNotification("beer", 7L, ChangeType.UPDATED, "a", CHANGED_AT);
+        transport.publish(notification);
+        transport.publish(new ChangeNotification("manufacturer", 3L, ChangeType.DELETED, "b", CHANGED_AT));
+
+        // Act & Assert
+        assertThat(transport.poll()).containsExactly(
+                notification,
+                new ChangeNotification("manufacturer", 3L, ChangeType.DELETED, "b", CHANGED_AT));
+        assertThat(transport.poll()).isEmpty();
+    }
+
+    @Test
+    void poll_WaitsForGapsUntilTheTimeout() {
+        // Arrange
+        long start = transport.watermark();
+        insert(start + 1, 1L);
+        insert(start + 3, 3L);
+
+        // Act & Assert
+        assertThat(transport.poll()).extracting(ChangeNotification::id).containsExactly(1L, 3L);
+        assertThat(transport.watermark()).isEqualTo(start + 1);
+
+        // The transaction of the gap commits late
+        insert(start + 2, 2L);
+        assertThat(transport.poll()).extracting(ChangeNotification::id).containsExactly(2L);
+        assertThat(transport.watermark()).isEqualTo(start + 3);
+
+        // The transaction of the gap never commits
+        insert(start + 5, 5L);
+        assertThat(transport.poll()).extracting(ChangeNotification::id).containsExactly(5L);
+        assertThat(transport.watermark()).isEqualTo(start + 3);
+        nanoClock.addAndGet(Duration.ofSeconds(11).toNanos());
+        assertThat(transport.poll()).isEmpty();
+        assertThat(transport.watermark()).isEqualTo(start + 5);
+    }
+
+    @Test
+    void poll_DeliversTheGapsCommittedAfterTheTimeoutWithinTheLateWindow() {
+        // Arrange
+        long start = transport.watermark();
+        insert(start + 1, 1L);
+        insert(start + 4, 4L);
+        transport.poll();
+        nanoClock.addAndGet(Duration.ofSeconds(11).toNanos());
+        transport.poll();
+
+        // Act & Assert
+        insert(start + 2, 2L);
+        assertThat(transport.poll()).extracting(ChangeNotification::id).containsExactly(2L);
+        assertThat(transport.poll()).isEmpty();
+        assertThat(transport.watermark()).isEqualTo(start + 4);
+
+        // Given up after the late window
+        nanoClock.addAndGet(Duration.ofMinutes(5).toNanos());
+        insert(start + 3, 3L);
+        assertThat(transport.poll()).isEmpty();
+    }
+
+    @Test
+    void purge_DeletesTheOlderChanges() {
+        // Arrange
+        transport.publish(new ChangeNotification("beer", 1L, ChangeType.CREATED, "a", CHANGED_AT));
+        transport.publish(new ChangeNotification("beer", 2L, ChangeType.CREATED, "a", CHANGED_AT.plusSeconds(60)));
+
+        // Act
+        transport.purge(CHANGED_AT.plusSeconds(30));
+
+        // Assert
+        assertThat(transport.poll()).extracting(ChangeNotification::id).containsExactly(2L);
+    }
+
+    private void insert(long id, long entityId) {
+        jdbcTemplate.update("INSERT INTO CHANGE_LOG (ID, ENTITY, ENTITY_ID, CHANGE_TYPE, INSTANCE_ID, CHANGED_AT) "
+                + "VALUES (?, 'beer', ?, 'UPDATED', 'a', ?)", id, entityId, Timestamp.from(CHANGED_AT));
+    }
+}
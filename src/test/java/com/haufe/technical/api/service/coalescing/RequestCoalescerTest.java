@@ -0,0 +1,184 @@
+package com.haufe.technical.api.service.coalescing;
+
+import com.haufe.technical.api.config.CoalescingProperties;
+import com.haufe.technical.api.domain.event.BeerChangedEvent;
+import com.haufe.technical.api.domain.event.ChangeType;
+import com.haufe.technical.api.exception.ApiException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestCoalescerTest {
+    private static final RequestCoalescer.Key KEY = new RequestCoalescer.Key("beer", "read", 1L);
+    private static final int FOLLOWERS = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void coalesce_ConcurrentIdenticalReads_ShareOneLoad() throws Exception {
+        // Arrange
+        RequestCoalescer coalescer = coalescer(Duration.ofSeconds(5));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newCachedThreadPool()) {
+            Future<String> leader = executor.submit(() -> coalescer.coalesce(KEY, () -> {
+                loads.incrementAndGet();
+                leaderStarted.countDown();
+                release.await();
+                return "Apricot Dispersion";
+            }));
+            leaderStarted.await();
+
+            List<Future<String>> followers = new ArrayList<>();
+            for (int i = 0; i < FOLLOWERS; ++i) {
+                followers.add(executor.submit(() -> coalescer.coalesce(KEY, () -> {
+                    loads.incrementAndGet();
+                    return "Unexpected";
+                })));
+            }
+            awaitFollowers();
+
+            // Act
+            release.countDown();
+
+            // Assert
+            assertThat(leader.get()).isEqualTo("Apricot Dispersion");
+            for (Future<String> follower : followers) {
+                assertThat(follower.get()).isEqualTo("Apricot Dispersion");
+            }
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("api.coalescing.ratio").gauge().value())
+                .isEqualTo((double) FOLLOWERS / (FOLLOWERS + 1));
+    }
+
+    @Test
+    void coalesce_LeaderThrows_FollowersGetSameException() throws Exception {
+        // Arrange
+        RequestCoalescer coalescer = coalescer(Duration.ofSeconds(5));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newCachedThreadPool()) {
+            Future<String> leader = executor.submit(() -> coalescer.coalesce(KEY, () -> {
+                leaderStarted.countDown();
+                release.await();
+                throw new ApiException(HttpStatus.NOT_FOUND, "Beer with ID 1 not found");
+            }));
+            leaderStarted.await();
+            Future<String> follower = executor.submit(() -> coalescer.coalesce(KEY, () -> "Unexpected"));
+            awaitFollowers(1);
+
+            // Act
+            release.countDown();
+
+            // Assert
+            assertThatThrownBy(leader::get).hasCauseInstanceOf(ApiException.class);
+            assertThatThrownBy(follower::get)
+                    .hasCauseInstanceOf(ApiException.class)
+                    .hasMessageContaining("Beer with ID 1 not found");
+        }
+    }
+
+    @Test
+    void coalesce_LeaderTooSlow_FollowerLoadsByItself() throws Exception {
+        // Arrange
+        RequestCoalescer coalescer = coalescer(Duration.ofMillis(50));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newCachedThreadPool()) {
+            executor.submit(() -> coalescer.coalesce(KEY, () -> {
+                leaderStarted.countDown();
+                release.await();
+                return "Leader";
+            }));
+            leaderStarted.await();
+
+            // Act
+            String result = coalescer.coalesce(KEY, () -> "Follower");
+
+            // Assert
+            assertThat(result).isEqualTo("Follower");
+            assertThat(meterRegistry.get("api.coalescing.timeouts").counter().count()).isEqualTo(1);
+            release.countDown();
+        }
+    }
+
+    @Test
+    void coalesce_Disabled_AlwaysLoads() {
+        // Arrange
+        RequestCoalescer coalescer = new RequestCoalescer(
+                new CoalescingProperties(false, Duration.ofSeconds(1)), meterRegistry);
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        coalescer.coalesce(KEY, loads::incrementAndGet);
+        coalescer.coalesce(KEY, loads::incrementAndGet);
+
+        // Assert
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void coalesce_AfterACommittedChange_DoesNotJoinTheEarlierLeader() throws Exception {
+        // Arrange
+        RequestCoalescer coalescer = coalescer(Duration.ofSeconds(5));
+        RequestCoalescer.Key manufacturer = new RequestCoalescer.Key("manufacturer", "read", 1L);
+        CountDownLatch leadersStarted = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newCachedThreadPool()) {
+            Future<String> leader = executor.submit(() -> coalescer.coalesce(KEY, () -> {
+                leadersStarted.countDown();
+                release.await();
+                return "Before";
+            }));
+            Future<String> manufacturerLeader = executor.submit(() -> coalescer.coalesce(manufacturer, () -> {
+                leadersStarted.countDown();
+                release.await();
+                return "Brewdog";
+            }));
+            leadersStarted.await();
+
+            // Act
+            coalescer.onBeerChanged(new BeerChangedEvent(ChangeType.DELETED, 1L, null, null));
+            String afterCommit = coalescer.coalesce(KEY, () -> "After");
+            Future<String> manufacturerFollower =
+                    executor.submit(() -> coalescer.coalesce(manufacturer, () -> "Unexpected"));
+            awaitFollowers(1);
+            release.countDown();
+
+            // Assert
+            assertThat(afterCommit).isEqualTo("After");
+            assertThat(leader.get()).isEqualTo("Before");
+            assertThat(manufacturerLeader.get()).isEqualTo("Brewdog");
+            assertThat(manufacturerFollower.get()).isEqualTo("Brewdog");
+        }
+    }
+
+    private RequestCoalescer coalescer(Duration maxWait) {
+        return new RequestCoalescer(new CoalescingProperties(true, maxWait), meterRegistry);
+    }
+
+    private void awaitFollowers() throws InterruptedException {
+        awaitFollowers(FOLLOWERS);
+    }
+
+    private void awaitFollowers(int expected) throws InterruptedException {
+        while (meterRegistry.get("api.coalescing.calls").tag("role", "follower").counter().count() < expected) {
+            Thread.sleep(5);
+        }
+    }
+}
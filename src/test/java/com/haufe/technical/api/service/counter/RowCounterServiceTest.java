@@ -0,0 +1,113 @@
+package com.haufe.technical.api.service.counter;
+
+import com.haufe.technical.api.config.RowCounterProperties;
+import com.haufe.technical.api.domain.event.BeerChangedEvent;
+import com.haufe.technical.api.domain.event.ChangeType;
+import com.haufe.technical.api.domain.event.ManufacturerChangedEvent;
+import com.haufe.technical.api.service.counter.RowCounterService.Table;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JdbcTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RowCounterServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private RowCounterService service;
+    private long beers;
+    private long manufacturers;
+
+    @BeforeEach
+    void setUp() {
+        beers = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM BEER", Long.class);
+        manufacturers = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM MANUFACTURER", Long.class);
+        service = new RowCounterService(
+                new RowCounterProperties(true, 4, Duration.ofMinutes(5)), jdbcTemplate, transactionTemplate);
+        service.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM ROW_COUNTER");
+        jdbcTemplate.update("DELETE FROM BEER WHERE NAME = 'Gose'");
+    }
+
+    @Test
+    void reconcile_CorrectsTheChangesMadeDirectlyInTheDatabase() {
+        // Arrange
+        jdbcTemplate.update("INSERT INTO BEER (NAME, MANUFACTURER_ID) VALUES ('Gose', 1)");
+
+        // Act
+        service.reconcile();
+
+        // Assert
+        assertThat(service.total(Table.BEER)).isEqualTo(beers + 1);
+        assertThat(service.total(Table.MANUFACTURER)).isEqualTo(manufacturers);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM ROW_COUNTER WHERE ENTITY = 'BEER'", Integer.class)).isEqualTo(4);
+    }
+
+    @Test
+    void onChanged_AddsTheCreationsAndDeletionsOfCommittedTransactions() {
+        // Act
+        transactionTemplate.executeWithoutResult(status -> {
+            service.onBeerChanged(new BeerChangedEvent(ChangeType.CREATED, 11L, null, null));
+            service.onBeerChanged(new BeerChangedEvent(ChangeType.CREATED, 12L, null, null));
+            service.onBeerChanged(new BeerChangedEvent(ChangeType.UPDATED, 1L, null, null));
+            service.onManufacturerChanged(new ManufacturerChangedEvent(ChangeType.DELETED, 1L, null, null));
+            // Written right before the commit
+            assertThat(service.total(Table.BEER)).isEqualTo(beers);
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            service.onBeerChanged(new BeerChangedEvent(ChangeType.DELETED, 2L, null, null));
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        assertThat(service.total(Table.BEER)).isEqualTo(beers + 2);
+        assertThat(service.total(Table.MANUFACTURER)).isEqualTo(manufacturers - 1);
+    }
+
+    @Test
+    void page_ReadsTheTotalOnlyWhenTheSliceDoesNotTellIt() {
+        // Arrange
+        jdbcTemplate.update("UPDATE ROW_COUNTER SET DELTA = DELTA + ? WHERE ENTITY = 'BEER' AND STRIPE = 1",
+                100 - beers);
+
+        // Act
+        Page<String> middle = service.page(Table.BEER, new SliceImpl<>(List.of("a", "b"), PageRequest.of(2, 2), true));
+        Page<String> last = service.page(Table.BEER, new SliceImpl<>(List.of("a"), PageRequest.of(2, 2), false));
+        Page<String> lagging = service.page(Table.BEER,
+                new SliceImpl<>(List.of("a", "b"), PageRequest.of(100, 2), true));
+        Page<String> pastTheEnd = service.page(Table.BEER, new SliceImpl<>(List.of(), PageRequest.of(100, 20), false));
+
+        // Assert
+        assertThat(middle.getTotalElements()).isEqualTo(100);
+        assertThat(middle.getTotalPages()).isEqualTo(50);
+        assertThat(last.getTotalElements()).isEqualTo(5);
+        assertThat(lagging.getTotalElements()).isEqualTo(203);
+        assertThat(lagging.hasNext()).isTrue();
+        assertThat(pastTheEnd.getTotalElements()).isEqualTo(100);
+        assertThat(pastTheEnd.getTotalPages()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,76 @@
+package com.haufe.technical.api.service.history;
+
+import com.haufe.technical.api.controller.dto.beer.BeerVersionDto;
+import com.haufe.technical.api.controller.dto.manufacturer.ManufacturerVersionDto;
+import com.haufe.technical.api.domain.event.BeerChangedEvent;
+import com.haufe.technical.api.domain.event.BeerChangedEvent.BeerState;
+import com.haufe.technical.api.domain.event.ChangeType;
+import com.haufe.technical.api.domain.event.ManufacturerChangedEvent;
+import com.haufe.technical.api.domain.event.ManufacturerChangedEvent.ManufacturerState;
+import com.haufe.technical.api.domain.repository.BeerHistoryRepository;
+import com.haufe.technical.api.domain.repository.BeerRepository;
+import com.haufe.technical.api.domain.repository.ManufacturerHistoryRepository;
+import com.haufe.technical.api.domain.repository.ManufacturerRepository;
+import com.haufe.technical.api.exception.ApiException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@JdbcTest
+@Import({HistoryService.class, BeerHistoryRepository.class, ManufacturerHistoryRepository.class})
+class HistoryServiceTest {
+    private static final Instant CREATED = Instant.parse("2025-01-01T10:00:00Z");
+    private static final Instant UPDATED = Instant.parse("2025-02-01T10:00:00Z");
+
+    @Autowired
+    private HistoryService historyService;
+
+    @MockitoBean
+    private BeerRepository beerRepository;
+
+    @MockitoBean
+    private ManufacturerRepository manufacturerRepository;
+
+    @Test
+    void beerAsOf_BeforeTheFirstTrackedUpdate_ReturnsThePreviousState() throws ApiException {
+        // Arrange
+        BeerState previous = new BeerState(42L, "Gose", 4.2f, "Gose", null, 7L, CREATED, UPDATED);
+        BeerState current = new BeerState(42L, "Salty Gose", 4.5f, "Gose", "Salty", 7L, CREATED, UPDATED);
+
+        // Act
+        historyService.onBeerChanged(new BeerChangedEvent(ChangeType.UPDATED, 42L, previous, current));
+
+        // Assert
+        assertThat(historyService.beerAsOf(42L, UPDATED.plusSeconds(1)))
+                .isEqualTo(new BeerVersionDto(UPDATED, ChangeType.UPDATED, "Gose", 4.2f, "Gose", null, 7L));
+        assertThat(historyService.beerAsOf(42L, Instant.now().plusSeconds(1)).name()).isEqualTo("Salty Gose");
+        assertThatThrownBy(() -> historyService.beerAsOf(42L, UPDATED.minusSeconds(1)))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("Beer with ID 42 did not exist at " + UPDATED.minusSeconds(1));
+        verifyNoInteractions(beerRepository);
+    }
+
+    @Test
+    void manufacturerAsOf_BeforeTheDeletionOfAnUntrackedManufacturer_ReturnsItsLastState() throws ApiException {
+        // Arrange
+        ManufacturerState previous = new ManufacturerState(3L, "Mikkeller", "DK", CREATED, CREATED);
+
+        // Act
+        historyService.onManufacturerChanged(new ManufacturerChangedEvent(ChangeType.DELETED, 3L, previous, null));
+
+        // Assert
+        assertThat(historyService.manufacturerAsOf(3L, CREATED.plusSeconds(1)))
+                .isEqualTo(new ManufacturerVersionDto(CREATED, ChangeType.CREATED, "Mikkeller", "DK"));
+        assertThatThrownBy(() -> historyService.manufacturerAsOf(3L, Instant.now().plusSeconds(1)))
+                .isInstanceOf(ApiException.class);
+        verifyNoInteractions(manufacturerRepository);
+    }
+}
@@ -0,0 +1,177 @@
+package com.haufe.technical.api.service.idempotency;
+
+import com.haufe.technical.api.config.IdempotencyProperties;
+import com.haufe.technical.api.exception.ApiException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyStoreTest {
+    private static final Principal CLIENT = () -> "admin";
+    private static final String KEY = "3f1c7a52";
+    private static final List<Object> FINGERPRINT = List.of("beer", 1L, "Apricot Dispersion");
+    private static final int RETRIES = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void execute_ConcurrentRetries_WaitForTheFirstAttempt() throws Exception {
+        // Arrange
+        IdempotencyStore store = store(100);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newCachedThreadPool()) {
+            Future<Long> first = executor.submit(() -> store.execute(CLIENT, KEY, FINGERPRINT, () -> {
+                executions.incrementAndGet();
+                firstStarted.countDown();
+                release.await();
+                return 42L;
+            }));
+            firstStarted.await();
+
+            List<Future<Long>> retries = new ArrayList<>();
+            for (int i = 0; i < RETRIES; ++i) {
+                retries.add(executor.submit(() -> store.execute(CLIENT, KEY, FINGERPRINT, () -> {
+                    executions.incrementAndGet();
+                    return -1L;
+                })));
+            }
+
+            // Act
+            release.countDown();
+
+            // Assert
+            assertThat(first.get()).isEqualTo(42L);
+            for (Future<Long> retry : retries) {
+                assertThat(retry.get()).isEqualTo(42L);
+            }
+        }
+        assertThat(executions).hasValue(1);
+        assertThat(meterRegistry.get("api.idempotency.requests").tag("outcome", "replayed").counter().count())
+                .isEqualTo(RETRIES);
+    }
+
+    @Test
+    void execute_FailedAttempt_IsNotStored() throws ApiException {
+        // Arrange
+        IdempotencyStore store = store(100);
+        ApiException failure = new ApiException(HttpStatus.NOT_FOUND, "Manufacturer with ID 1 not found");
+
+        // Act
+        assertThatThrownBy(() -> store.execute(CLIENT, KEY, FINGERPRINT, () -> {
+            throw failure;
+        })).isSameAs(failure);
+        Long response = store.execute(CLIENT, KEY, FINGERPRINT, () -> 42L);
+
+        // Assert
+        assertThat(response).isEqualTo(42L);
+    }
+
+    @Test
+    void execute_KeyReusedForAnotherRequest_ThrowsApiException() throws ApiException {
+        // Arrange
+        IdempotencyStore store = store(100);
+        store.execute(CLIENT, KEY, FINGERPRINT, () -> 42L);
+
+        // Act & Assert
+        assertThatThrownBy(() -> store.execute(CLIENT, KEY, List.of("beer", 2L, "Apricot Dispersion"), () -> 43L))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("Idempotency-Key '3f1c7a52' was already used for a different request")
+                .extracting("code").isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        // Other clients have their own keys
+        assertThat(store.execute(() -> "other", KEY, List.of("manufacturer"), () -> 43L)).isEqualTo(43L);
+    }
+
+    @Test
+    void execute_ExpiredOrEvictedEntries_AreExecutedAgain() throws ApiException {
+        // Arrange
+        IdempotencyStore store = store(2);
+        store.execute(CLIENT, KEY, FINGERPRINT, () -> 1L);
+
+        // Act & Assert
+        clock.addAndGet(Duration.ofMinutes(1).toNanos() + 1);
+        assertThat(store.execute(CLIENT, KEY, FINGERPRINT, () -> 2L)).isEqualTo(2L);
+        assertThat(store.execute(CLIENT, KEY, FINGERPRINT, () -> 3L)).isEqualTo(2L);
+
+        store.execute(CLIENT, "second", FINGERPRINT, () -> 4L);
+        store.execute(CLIENT, "third", FINGERPRINT, () -> 5L);
+        assertThat(store.execute(CLIENT, KEY, FINGERPRINT, () -> 6L)).isEqualTo(6L);
+        assertThat(meterRegistry.get("api.idempotency.entries").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void execute_OverCapacity_KeepsTheAttemptsInProgress() throws Exception {
+        // Arrange
+        IdempotencyStore store = store(1);
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        assertThatThrownBy(() -> store.execute(CLIENT, "failed", FINGERPRINT, () -> {
+            throw new IllegalStateException();
+        })).isInstanceOf(IllegalStateException.class);
+
+        try (ExecutorService executor = Executors.newCachedThreadPool()) {
+            Future<Long> first = executor.submit(() -> store.execute(CLIENT, KEY, FINGERPRINT, () -> {
+                firstStarted.countDown();
+                release.await();
+                return 1L;
+            }));
+            firstStarted.await();
+
+            // Act
+            store.execute(CLIENT, "second", FINGERPRINT, () -> 2L);
+            store.execute(CLIENT, "third", FINGERPRINT, () -> 3L);
+            release.countDown();
+
+            // Assert
+            assertThat(first.get()).isEqualTo(1L);
+            assertThat(store.execute(CLIENT, KEY, FINGERPRINT, () -> 4L)).isEqualTo(1L);
+        }
+        // Kept over capacity while running, then evicted first, the failed attempt left no trace
+        assertThat(meterRegistry.get("api.idempotency.entries").gauge().value()).isEqualTo(2);
+        store.execute(CLIENT, "fourth", FINGERPRINT, () -> 5L);
+        assertThat(meterRegistry.get("api.idempotency.entries").gauge().value()).isEqualTo(1);
+        assertThat(store.execute(CLIENT, KEY, FINGERPRINT, () -> 6L)).isEqualTo(6L);
+    }
+
+    @Test
+    void execute_ManyFailedAttempts_AreDequeuedOnceTheyOutnumberTheCapacity() throws ApiException {
+        // Arrange
+        IdempotencyStore store = store(2);
+        store.execute(CLIENT, KEY, FINGERPRINT, () -> 1L);
+
+        // Act
+        for (int i = 0; i < 20; ++i) {
+            assertThatThrownBy(() -> store.execute(CLIENT, "failed", FINGERPRINT, () -> {
+                throw new IllegalStateException();
+            })).isInstanceOf(IllegalStateException.class);
+        }
+
+        // Assert
+        // The stored entry ahead of them stops eviction, the failed ones are dequeued in bulk: at most the
+        // stored entry, as many failed ones as the capacity, and the last one
+        assertThat(store.queued()).isLessThanOrEqualTo(4);
+        assertThat(meterRegistry.get("api.idempotency.entries").gauge().value()).isEqualTo(1);
+        assertThat(store.execute(CLIENT, KEY, FINGERPRINT, () -> 2L)).isEqualTo(1L);
+    }
+
+    private IdempotencyStore store(int maxEntries) {
+        return new IdempotencyStore(
+                new IdempotencyProperties(true, Duration.ofMinutes(1), maxEntries, Duration.ofSeconds(5)),
+                meterRegistry,
+                clock::get);
+    }
+}
@@ -0,0 +1,160 @@
+package com.haufe.technical.api.service.job;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haufe.technical.api.controller.dto.beer.BeerUpsertDto;
+import com.haufe.technical.api.controller.dto.job.JobDto;
+import com.haufe.technical.api.controller.dto.job.JobRequestDto;
+import com.haufe.technical.api.controller.dto.manufacturer.ManufacturerUpsertDto;
+import com.haufe.technical.api.domain.entity.Job;
+import com.haufe.technical.api.domain.repository.BeerRepository;
+import com.haufe.technical.api.domain.repository.JobRepository;
+import com.haufe.technical.api.exception.ApiException;
+import com.haufe.technical.api.service.BeerService;
+import com.haufe.technical.api.service.ManufacturerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {"api.jobs.poll-interval=1h", "api.jobs.chunk-size=2"})
+class JobServiceTest {
+
+    @Autowired
+    private JobService jobService;
+    @Autowired
+    private ManufacturerService manufacturerService;
+    @Autowired
+    private JobRepository jobRepository;
+    @Autowired
+    private BeerRepository beerRepository;
+    @Autowired
+    private BeerService beerService;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<Long> jobIds = new ArrayList<>();
+    private Long manufacturerId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        manufacturerId = manufacturerService.create(new ManufacturerUpsertDto("Lo Vilot", "ES")).id();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        jobRepository.deleteAllById(jobIds);
+        // Through the services, so that the caches and counters see the deletions too
+        for (Long id : beerRepository.findIdsByManufacturerAfter(manufacturerId, 0L, Pageable.unpaged())) {
+            beerService.delete(id);
+        }
+        manufacturerService.delete(manufacturerId);
+    }
+
+    @Test
+    void importBeers_CommitsEveryChunkUntilCompletion() throws Exception {
+        // Arrange
+        JobDto submitted = submit(new JobRequestDto(Job.Type.IMPORT_BEERS, importParameters(5)));
+
+        // Act
+        jobService.dispatch();
+        JobDto job = awaitFinished(submitted.id());
+
+        // Assert
+        assertThat(submitted.status()).isEqualTo(Job.Status.QUEUED);
+        assertThat(job.status()).isEqualTo(Job.Status.SUCCEEDED);
+        assertThat(job.total()).isEqualTo(5);
+        assertThat(job.processed()).isEqualTo(5);
+        assertThat(beerRepository.countByManufacturerId(manufacturerId)).isEqualTo(5);
+    }
+
+    @Test
+    void abandonedJob_ResumesFromItsCheckpoint() throws Exception {
+        // Arrange: an instance crashed after committing the first 3 beers of the import
+        Job abandoned = jobRepository.save(Job.builder()
+                .type(Job.Type.IMPORT_BEERS)
+                .status(Job.Status.RUNNING)
+                .parameters(importParameters(5).toString())
+                .total(5)
+                .processed(3)
+                .checkpoint(3)
+                .owner("crashed")
+                .heartbeatAt(Instant.now().minus(Duration.ofHours(1)))
+                .build());
+        jobIds.add(abandoned.getId());
+
+        // Act
+        jobService.dispatch();
+        JobDto job = awaitFinished(abandoned.getId());
+
+        // Assert
+        assertThat(job.status()).isEqualTo(Job.Status.SUCCEEDED);
+        assertThat(job.processed()).isEqualTo(5);
+        assertThat(beerRepository.countByManufacturerId(manufacturerId)).isEqualTo(2);
+    }
+
+    @Test
+    void cancel_QueuedJob_NeverRuns() throws Exception {
+        // Arrange
+        JobDto submitted = submit(new JobRequestDto(Job.Type.DELETE_MANUFACTURER_BEERS,
+                objectMapper.valueToTree(Map.of("manufacturerId", manufacturerId))));
+
+        // Act
+        JobDto cancelled = jobService.cancel(submitted.id());
+        jobService.dispatch();
+
+        // Assert
+        assertThat(cancelled.status()).isEqualTo(Job.Status.CANCELLED);
+        assertThat(jobService.get(submitted.id()).status()).isEqualTo(Job.Status.CANCELLED);
+    }
+
+    @Test
+    void submit_InvalidJob_ThrowsApiException() {
+        assertThatThrownBy(() -> jobService.submit(new JobRequestDto(Job.Type.IMPORT_BEERS,
+                objectMapper.valueToTree(Map.of("manufacturerId", -1, "beers", List.of()))), null))
+                .isInstanceOf(ApiException.class)
+                .extracting("code").isEqualTo(HttpStatus.NOT_FOUND);
+        assertThatThrownBy(() -> jobService.submit(new JobRequestDto(Job.Type.IMPORT_BEERS,
+                objectMapper.valueToTree(Map.of("manufacturerId", manufacturerId, "beers", List.of()))), null))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("An import must have between 1 and 100000 beers");
+        assertThatThrownBy(() -> jobService.submit(new JobRequestDto(null, null), null))
+                .isInstanceOf(ApiException.class)
+                .extracting("code").isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private JobDto submit(JobRequestDto request) throws ApiException {
+        final JobDto submitted = jobService.submit(request, null);
+        jobIds.add(submitted.id());
+        return submitted;
+    }
+
+    private JsonNode importParameters(int beers) {
+        return objectMapper.valueToTree(Map.of("manufacturerId", manufacturerId, "beers", IntStream.range(0, beers)
+                .mapToObj(i -> new BeerUpsertDto("Beer " + i, 5f, "IPA", null))
+                .toList()));
+    }
+
+    private JobDto awaitFinished(Long id) throws Exception {
+        final long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        JobDto job = jobService.get(id);
+        while (!job.status().isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            job = jobService.get(id);
+        }
+        return job;
+    }
+}
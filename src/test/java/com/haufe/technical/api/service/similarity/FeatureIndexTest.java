@@ -0,0 +1,86 @@
+package com.haufe.technical.api.service.similarity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeatureIndexTest {
+    private static final List<String> STYLES = List.of("IPA", "Stout", "Gose", "Saison", "Lager", "Porter");
+    private static final List<String> WORDS = List.of("hazy", "juicy", "tropical", "roasty", "coffee", "salty",
+            "sour", "coriander", "dry", "spicy", "citrus", "pine", "chocolate", "smooth", "crisp");
+
+    private final StyleDictionary styles = new StyleDictionary();
+
+    @Test
+    void nearest_RanksBySimilarityAndExcludesTheQuery() {
+        // Arrange
+        FeatureIndex index = new FeatureIndex();
+        index.put(1, BeerFeatures.of(styles.code("IPA"), 6.5f, "A hazy and juicy beer with a tropical fruit aroma."));
+        index.put(2, BeerFeatures.of(styles.code("IPA"), 6.8f, "Juicy and hazy, with tropical fruit."));
+        index.put(3, BeerFeatures.of(styles.code("IPA"), 8f, "A strong and hoppy beer with a high alcohol content."));
+        index.put(4, BeerFeatures.of(styles.code("Stout"), 10f, "A rich and dark beer with a high alcohol content."));
+        index.put(5, BeerFeatures.of(styles.code("Gose"), 4.2f, "A salty and sour beer with a hint of coriander."));
+
+        // Act
+        List<FeatureIndex.Neighbour> neighbours = index.nearest(index.get(1).orElseThrow(), 3, 1);
+
+        // Assert
+        // Same style and close ABV first, then the closest ABV as no description words are shared
+        assertThat(neighbours).extracting(FeatureIndex.Neighbour::id).containsExactly(2L, 3L, 5L);
+        assertThat(neighbours.getFirst().score()).isBetween(0.95f, 1.01f);
+    }
+
+    @Test
+    void remove_MovesTheLastBeerIntoTheSlot() {
+        // Arrange
+        FeatureIndex index = new FeatureIndex();
+        BeerFeatures gose = BeerFeatures.of(styles.code("Gose"), 4.2f, "Salty and sour");
+        index.put(1, BeerFeatures.of(styles.code("IPA"), 6.5f, null));
+        index.put(2, BeerFeatures.of(styles.code("Stout"), 10f, null));
+        index.put(3, gose);
+
+        // Act
+        index.remove(1);
+        index.remove(7);
+
+        // Assert
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.get(1)).isEmpty();
+        assertThat(index.get(3)).get().usingRecursiveComparison().isEqualTo(gose);
+        assertThat(index.nearest(gose, 5, -1)).extracting(FeatureIndex.Neighbour::id).containsExactly(3L, 2L);
+    }
+
+    @Test
+    void nearest_ParallelScanFindsTheSameNeighbours() {
+        // Arrange
+        Random random = new Random(42);
+        FeatureIndex small = new FeatureIndex();
+        FeatureIndex large = new FeatureIndex();
+        for (int id = 0; id < FeatureIndex.PARALLEL_THRESHOLD; ++id) {
+            BeerFeatures features = BeerFeatures.of(
+                    styles.code(STYLES.get(random.nextInt(STYLES.size()))),
+                    random.nextFloat() * 12,
+                    String.join(" ", random.ints(5, 0, WORDS.size()).mapToObj(WORDS::get).toList()));
+            large.put(id, features);
+            if (id < FeatureIndex.PARALLEL_THRESHOLD / 2) {
+                small.put(id, features);
+            }
+        }
+        // Only the first half can be found in both
+        for (int id = FeatureIndex.PARALLEL_THRESHOLD / 2; id < FeatureIndex.PARALLEL_THRESHOLD; ++id) {
+            large.remove(id);
+            large.put(id, BeerFeatures.of(StyleDictionary.NONE, null, null));
+        }
+        BeerFeatures query = large.get(7).orElseThrow();
+
+        // Act
+        List<FeatureIndex.Neighbour> sequential = small.nearest(query, 10, 7);
+        List<FeatureIndex.Neighbour> parallel = large.nearest(query, 10, 7);
+
+        // Assert
+        assertThat(parallel).hasSize(10).isEqualTo(sequential);
+    }
+}
@@ -0,0 +1,129 @@
+package com.haufe.technical.api.service.similarity;
+
+import com.haufe.technical.api.controller.dto.beer.SimilarBeerDto;
+import com.haufe.technical.api.domain.event.BeerChangedEvent;
+import com.haufe.technical.api.domain.event.BeerChangedEvent.BeerState;
+import com.haufe.technical.api.domain.event.ChangeType;
+import com.haufe.technical.api.domain.event.RemoteChangeEvent;
+import com.haufe.technical.api.domain.repository.BeerFeaturesRow;
+import com.haufe.technical.api.domain.repository.BeerRepository;
+import com.haufe.technical.api.domain.repository.EntityName;
+import com.haufe.technical.api.exception.ApiException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SimilarityServiceTest {
+
+    @Mock
+    private BeerRepository beerRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private SimilarityService service;
+
+    @Test
+    void similar_RanksTheSameStyleFirstAmongManyStyles() throws ApiException {
+        // Arrange
+        // More distinct styles than the former hash buckets, some of them sharing one
+        List<String> styles = IntStream.range(0, 100).mapToObj(i -> "Style " + i).toList();
+        for (int i = 0; i < styles.size(); ++i) {
+            changed(i + 1L, styles.get(i), 6f);
+        }
+        changed(101L, "style 42 ", 12f);
+        namesOfIds();
+
+        // Act
+        List<SimilarBeerDto> similar = service.similar(101L, 3);
+
+        // Assert
+        // Despite the distant ABV, only the same style gets the style weight
+        assertThat(similar).extracting(SimilarBeerDto::id).first().isEqualTo(43L);
+        assertThat(similar.getFirst().score()).isGreaterThan(similar.get(1).score() + BeerFeatures.STYLE_WEIGHT / 2);
+    }
+
+    @Test
+    void build_BeerChangedDuringTheScan_KeepsTheChange() throws SQLException, ApiException {
+        // Arrange
+        ResultSet row = mock(ResultSet.class);
+        when(row.getLong(1)).thenReturn(1L);
+        when(row.getFloat(2)).thenReturn(4f);
+        when(row.getString(3)).thenReturn("Lager");
+        doAnswer(invocation -> {
+            // Committed after the scan read the row
+            changed(1L, "IPA", 6f);
+            invocation.<RowCallbackHandler>getArgument(1).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+        service.build();
+        changed(2L, "IPA", 6f);
+        changed(3L, "Lager", 4f);
+        namesOfIds();
+
+        // Act
+        List<SimilarBeerDto> similar = service.similar(2L, 2);
+
+        // Assert
+        // Overwritten by the scanned row, beer 1 would rank like beer 3
+        assertThat(similar).extracting(SimilarBeerDto::id).containsExactly(1L, 3L);
+        assertThat(similar.getFirst().score()).isGreaterThan(similar.get(1).score() + BeerFeatures.STYLE_WEIGHT / 2);
+    }
+
+    @Test
+    void onRemoteChange_ReloadsTheBeersInOneQuery() throws ApiException {
+        // Arrange
+        changed(1L, "IPA", 6f);
+        changed(2L, "Lager", 4f);
+        changed(3L, "Stout", 8f);
+        when(beerRepository.findFeaturesByIdIn(Set.of(1L, 2L)))
+                .thenReturn(List.of(new BeerFeaturesRow(2L, "IPA", 6f, null)));
+        namesOfIds();
+
+        // Act
+        service.onRemoteChange(new RemoteChangeEvent(List.of(
+                new RemoteChangeEvent.Change(RemoteChangeEvent.BEER, 1L, ChangeType.DELETED),
+                new RemoteChangeEvent.Change(RemoteChangeEvent.BEER, 2L, ChangeType.UPDATED),
+                new RemoteChangeEvent.Change(RemoteChangeEvent.MANUFACTURER, 3L, ChangeType.UPDATED))));
+
+        // Assert
+        verify(beerRepository).findFeaturesByIdIn(Set.of(1L, 2L));
+        assertThatThrownBy(() -> service.similar(1L, 1)).isInstanceOf(ApiException.class);
+        assertThat(service.similar(3L, 2)).extracting(SimilarBeerDto::id).containsExactly(2L);
+    }
+
+    private void namesOfIds() {
+        when(beerRepository.findNamesByIdIn(anyCollection())).thenAnswer(invocation -> invocation
+                .<List<Long>>getArgument(0)
+                .stream()
+                .map(id -> new EntityName(id, "Beer " + id))
+                .toList());
+    }
+
+    private void changed(Long id, String style, float abv) {
+        service.onBeerChanged(new BeerChangedEvent(ChangeType.CREATED, id, null,
+                new BeerState(id, "Beer " + id, abv, style, null, 1L)));
+    }
+}
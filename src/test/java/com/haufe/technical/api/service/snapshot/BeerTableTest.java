@@ -0,0 +1,111 @@
+package com.haufe.technical.api.service.snapshot;
+
+import com.haufe.technical.api.controller.dto.beer.BeerListResponseDto;
+import com.haufe.technical.api.controller.dto.beer.BeerReadResponseDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BeerTableTest {
+
+    private static BeerTable table() {
+        BeerTable.Builder builder = new BeerTable.Builder(2);
+        builder.add(3, "Punk IPA", 5.4f, "IPA", "Post modern classic");
+        builder.add(5, "Orval", null, "Trappist", null);
+        builder.add(8, "Gose", 4.2f, "Gose", "Salty");
+        builder.add(13, "Alhambra", 6.4f, "IPA", "Reserva");
+        return builder.build();
+    }
+
+    @Test
+    void read_FindsRowsById() {
+        // Arrange
+        BeerTable table = table();
+
+        // Act & Assert
+        assertThat(table.read(table.indexOf(5))).isEqualTo(new BeerReadResponseDto("Orval", null, "Trappist", null));
+        assertThat(table.read(table.indexOf(13))).isEqualTo(new BeerReadResponseDto("Alhambra", 6.4f, "IPA", "Reserva"));
+        assertThat(table.indexOf(4)).isNegative();
+        assertThat(table.size()).isEqualTo(4);
+    }
+
+    @Test
+    void page_SortsLikeTheDatabase() {
+        // Arrange
+        BeerTable table = table();
+
+        // Act
+        Page<BeerListResponseDto> byName = table.page(PageRequest.of(0, 3, Sort.by("name")));
+        Page<BeerListResponseDto> byAbvDesc = table.page(PageRequest.of(0, 4, Sort.by(Sort.Direction.DESC, "abv")));
+        Page<BeerListResponseDto> byStyleThenId =
+                table.page(PageRequest.of(0, 4, Sort.by("style").and(Sort.by(Sort.Direction.DESC, "id"))));
+
+        // Assert
+        assertThat(byName.map(BeerListResponseDto::name)).containsExactly("Alhambra", "Gose", "Orval");
+        assertThat(byName.getTotalElements()).isEqualTo(4);
+        assertThat(byName.getTotalPages()).isEqualTo(2);
+        // Nulls sort low
+        assertThat(byAbvDesc.map(BeerListResponseDto::id)).containsExactly(13L, 3L, 8L, 5L);
+        assertThat(byStyleThenId.map(BeerListResponseDto::id)).containsExactly(8L, 13L, 3L, 5L);
+    }
+
+    @Test
+    void page_PagesInIdOrderWhenUnsorted() {
+        // Arrange
+        BeerTable table = table();
+
+        // Act
+        Page<BeerListResponseDto> secondPage = table.page(PageRequest.of(1, 3));
+        Page<BeerListResponseDto> beyond = table.page(PageRequest.of(5, 3));
+        Page<BeerListResponseDto> unpaged = table.page(Pageable.unpaged());
+
+        // Assert
+        assertThat(secondPage.map(BeerListResponseDto::id)).containsExactly(13L);
+        assertThat(beyond.getContent()).isEmpty();
+        assertThat(beyond.getTotalElements()).isEqualTo(4);
+        assertThat(unpaged.map(BeerListResponseDto::id)).containsExactly(3L, 5L, 8L, 13L);
+    }
+
+    @Test
+    void page_UnknownSortProperty_IsNotSortable() {
+        // Arrange
+        BeerTable table = table();
+        Sort sort = Sort.by("manufacturer.name");
+
+        // Act & Assert
+        assertThat(table.canSort(sort)).isFalse();
+        assertThat(table.canSort(Sort.by("abv", "name"))).isTrue();
+        assertThatThrownBy(() -> table.page(PageRequest.of(0, 3, sort)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void canSort_CaseInsensitiveOrUncachedBeyondTheLimit_IsNotSortable() {
+        // Arrange
+        BeerTable table = table();
+        List<Sort> sorts = new ArrayList<>();
+        for (String property : List.of("id", "name", "abv", "style", "description")) {
+            sorts.add(Sort.by(Sort.Order.asc(property)));
+            sorts.add(Sort.by(Sort.Order.desc(property)));
+            sorts.add(Sort.by(Sort.Order.asc(property).nullsLast()));
+            sorts.add(Sort.by(Sort.Order.desc(property).nullsFirst()));
+        }
+
+        // Act
+        sorts.stream().limit(ColumnTable.MAX_ORDERS).forEach(sort -> table.page(PageRequest.of(0, 2, sort)));
+
+        // Assert
+        assertThat(table.canSort(Sort.by(Sort.Order.asc("name").ignoreCase()))).isFalse();
+        assertThat(table.canSort(sorts.getFirst())).isTrue();
+        assertThat(table.canSort(sorts.get(ColumnTable.MAX_ORDERS))).isFalse();
+        assertThat(table.canSort(Sort.unsorted())).isTrue();
+    }
+}
@@ -0,0 +1,97 @@
+package com.haufe.technical.api.service.snapshot;
+
+import com.haufe.technical.api.config.SnapshotProperties;
+import com.haufe.technical.api.controller.dto.beer.BeerReadResponseDto;
+import com.haufe.technical.api.controller.dto.manufacturer.ManufacturerReadResponseDto;
+import com.haufe.technical.api.domain.event.BeerChangedEvent;
+import com.haufe.technical.api.domain.event.ChangeType;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CatalogueSnapshotServiceTest {
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private CatalogueSnapshotService service(Duration maxStaleness) throws SQLException {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class))).thenReturn(1);
+
+        ResultSet manufacturer = mock(ResultSet.class);
+        when(manufacturer.getLong(1)).thenReturn(1L);
+        when(manufacturer.getString(2)).thenReturn("Brewdog");
+        when(manufacturer.getString(3)).thenReturn("Scotland");
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(manufacturer);
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT ID, NAME, COUNTRY"), any(RowCallbackHandler.class));
+
+        ResultSet beer = mock(ResultSet.class);
+        when(beer.getLong(1)).thenReturn(2L);
+        when(beer.getString(2)).thenReturn("Punk IPA");
+        when(beer.getFloat(3)).thenReturn(5.4f);
+        when(beer.getString(4)).thenReturn("IPA");
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(beer);
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT ID, NAME, ABV"), any(RowCallbackHandler.class));
+
+        CatalogueSnapshotService service = new CatalogueSnapshotService(
+                new SnapshotProperties(true, Duration.ofSeconds(1), Duration.ofMinutes(5), maxStaleness),
+                jdbcTemplate,
+                mock(PlatformTransactionManager.class));
+        service.build();
+        return service;
+    }
+
+    private static BeerChangedEvent beerUpdated(Long id) {
+        BeerChangedEvent.BeerState state = new BeerChangedEvent.BeerState(id, "Punk IPA", 5.6f, "IPA", null, 1L);
+        return new BeerChangedEvent(ChangeType.UPDATED, id, state, state);
+    }
+
+    @Test
+    void readBeer_ChangedWithinMaxStaleness_ReadsOnlyTheChangedFromTheDatabase() throws SQLException {
+        // Arrange
+        CatalogueSnapshotService service = service(Duration.ofHours(1));
+        assertThat(service.readBeer(2L)).contains(new BeerReadResponseDto("Punk IPA", 5.4f, "IPA", null));
+
+        // Act
+        service.onBeerChanged(beerUpdated(2L));
+
+        // Assert
+        assertThat(service.readBeer(2L)).isEmpty();
+        assertThat(service.readManufacturer(1L)).contains(new ManufacturerReadResponseDto("Brewdog", "Scotland"));
+        assertThat(service.listBeers(PageRequest.of(0, 10))).isPresent();
+    }
+
+    @Test
+    void listBeers_MaxStalenessElapsed_ReadsFromTheDatabaseUntilRebuilt() throws SQLException {
+        // Arrange
+        CatalogueSnapshotService service = service(Duration.ZERO);
+        assertThat(service.listBeers(PageRequest.of(0, 10))).isPresent();
+
+        // Act
+        service.onBeerChanged(beerUpdated(2L));
+
+        // Assert
+        assertThat(service.listBeers(PageRequest.of(0, 10))).isEmpty();
+        assertThat(service.readManufacturer(1L)).isEmpty();
+
+        service.rebuildIfStale();
+        assertThat(service.listBeers(PageRequest.of(0, 10))).isPresent();
+        assertThat(service.readBeer(2L)).isPresent();
+    }
+}
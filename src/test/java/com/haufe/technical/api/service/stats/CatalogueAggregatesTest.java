@@ -0,0 +1,102 @@
+package com.haufe.technical.api.service.stats;
+
+import com.haufe.technical.api.controller.dto.stats.StatsResponseDto;
+import com.haufe.technical.api.domain.event.BeerChangedEvent.BeerState;
+import com.haufe.technical.api.domain.event.ManufacturerChangedEvent.ManufacturerState;
+import com.haufe.technical.api.domain.repository.AbvBucket;
+import com.haufe.technical.api.domain.repository.CatalogueStatsRow;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogueAggregatesTest {
+
+    private static final List<CatalogueStatsRow> ROWS = List.of(
+            new CatalogueStatsRow(1L, "Lo Vilot", "ES", "Saison", 2, 2, 11.0),
+            new CatalogueStatsRow(1L, "Lo Vilot", "ES", "IPA", 1, 1, 8.0),
+            new CatalogueStatsRow(2L, "Brewdog", "UK", "IPA", 1, 1, 6.5),
+            new CatalogueStatsRow(3L, "Mikkeller", "DK", null, 0, 0, null));
+    private static final List<AbvBucket> ABV_BUCKETS = List.of(
+            new AbvBucket(55, 2),
+            new AbvBucket(65, 1),
+            new AbvBucket(80, 1));
+
+    @Test
+    void of_AggregatesRows() {
+        // Act
+        StatsResponseDto stats = CatalogueAggregates.of(ROWS, ABV_BUCKETS).toDto();
+
+        // Assert
+        assertThat(stats.beers()).isEqualTo(4);
+        assertThat(stats.manufacturers()).isEqualTo(3);
+        assertThat(stats.beersByStyle()).isEqualTo(Map.of("IPA", 2L, "Saison", 2L));
+        assertThat(stats.beersByManufacturer()).isEqualTo(Map.of("Lo Vilot", 3L, "Brewdog", 1L));
+        assertThat(stats.beersByCountry()).isEqualTo(Map.of("ES", 3L, "UK", 1L));
+        assertThat(stats.manufacturersByCountry()).isEqualTo(Map.of("ES", 1L, "UK", 1L, "DK", 1L));
+        assertThat(stats.abv()).isEqualTo(new StatsResponseDto.AbvStats(5.5f, 6.38, 8f));
+    }
+
+    @Test
+    void removeBeer_LastBeerWithMaxAbv_UpdatesMax() {
+        // Arrange
+        CatalogueAggregates aggregates = CatalogueAggregates.of(ROWS, ABV_BUCKETS);
+
+        // Act
+        aggregates.removeBeer(new BeerState(3L, "Double IPA", 8f, "IPA", null, 1L));
+
+        // Assert
+        StatsResponseDto stats = aggregates.toDto();
+        assertThat(stats.beers()).isEqualTo(3);
+        assertThat(stats.beersByStyle()).isEqualTo(Map.of("IPA", 1L, "Saison", 2L));
+        assertThat(stats.abv()).isEqualTo(new StatsResponseDto.AbvStats(5.5f, 5.83, 6.5f));
+    }
+
+    @Test
+    void updateManufacturer_CountryChanged_MovesBeers() {
+        // Arrange
+        CatalogueAggregates aggregates = CatalogueAggregates.of(ROWS, ABV_BUCKETS);
+
+        // Act
+        aggregates.updateManufacturer(new ManufacturerState(1L, "Lo Vilot", "FR"));
+
+        // Assert
+        StatsResponseDto stats = aggregates.toDto();
+        assertThat(stats.beersByCountry()).isEqualTo(Map.of("FR", 3L, "UK", 1L));
+        assertThat(stats.manufacturersByCountry()).isEqualTo(Map.of("FR", 1L, "UK", 1L, "DK", 1L));
+    }
+
+    @Test
+    void addBeer_MatchesRebuiltAggregates() {
+        // Arrange
+        CatalogueAggregates aggregates = CatalogueAggregates.of(ROWS, ABV_BUCKETS);
+
+        // Act
+        aggregates.addBeer(new BeerState(5L, "Imperial Stout", 10f, "Stout", null, 3L));
+
+        // Assert
+        List<CatalogueStatsRow> rebuilt = List.of(
+                ROWS.get(0), ROWS.get(1), ROWS.get(2),
+                new CatalogueStatsRow(3L, "Mikkeller", "DK", "Stout", 1, 1, 10.0));
+        List<AbvBucket> rebuiltAbvBuckets = List.of(
+                new AbvBucket(55, 2),
+                new AbvBucket(65, 1),
+                new AbvBucket(80, 1),
+                new AbvBucket(100, 1));
+        assertThat(aggregates.toDto()).isEqualTo(CatalogueAggregates.of(rebuilt, rebuiltAbvBuckets).toDto());
+    }
+
+    @Test
+    void addBeer_AbvBetweenBuckets_ReportsItRounded() {
+        // Arrange
+        CatalogueAggregates aggregates = CatalogueAggregates.of(ROWS, ABV_BUCKETS);
+
+        // Act
+        aggregates.addBeer(new BeerState(5L, "Session IPA", 4.32f, "IPA", null, 2L));
+
+        // Assert
+        assertThat(aggregates.toDto().abv().min()).isEqualTo(4.3f);
+    }
+}
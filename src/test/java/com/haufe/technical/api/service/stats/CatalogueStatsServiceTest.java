@@ -0,0 +1,113 @@
+package com.haufe.technical.api.service.stats;
+
+import com.haufe.technical.api.controller.dto.stats.StatsResponseDto;
+import com.haufe.technical.api.domain.event.BeerChangedEvent;
+import com.haufe.technical.api.domain.event.BeerChangedEvent.BeerState;
+import com.haufe.technical.api.domain.event.ChangeType;
+import com.haufe.technical.api.domain.event.RemoteChangeEvent;
+import com.haufe.technical.api.domain.repository.BeerRepository;
+import com.haufe.technical.api.domain.repository.CatalogueStatsRow;
+import com.haufe.technical.api.domain.repository.ManufacturerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogueStatsServiceTest {
+
+    private static final List<CatalogueStatsRow> ROWS = List.of(
+            new CatalogueStatsRow(1L, "Lo Vilot", "ES", "Saison", 2, 2, 11.0));
+
+    @Mock
+    private ManufacturerRepository manufacturerRepository;
+
+    @Mock
+    private BeerRepository beerRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CatalogueStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        service = new CatalogueStatsService(manufacturerRepository, beerRepository, jdbcTemplate, transactionManager);
+    }
+
+    @Test
+    void reconcile_ChangeCommittedDuringTheQuery_IsReplayedOnTheRebuiltAggregates() {
+        // Arrange
+        when(manufacturerRepository.aggregateCatalogue()).thenReturn(ROWS);
+        service.build();
+        when(manufacturerRepository.aggregateCatalogue()).thenAnswer(invocation -> {
+            // Committed after the snapshot of the query
+            service.onBeerChanged(new BeerChangedEvent(ChangeType.CREATED, 3L, null,
+                    new BeerState(3L, "Double IPA", 8f, "IPA", null, 1L)));
+            return ROWS;
+        });
+
+        // Act
+        service.reconcile();
+
+        // Assert
+        StatsResponseDto stats = service.stats();
+        assertThat(stats.beers()).isEqualTo(3);
+        assertThat(stats.beersByStyle()).isEqualTo(Map.of("Saison", 2L, "IPA", 1L));
+    }
+
+    @Test
+    void reconcile_ChangeCommittedBeforeTheQuery_IsCountedOnce() {
+        // Arrange
+        when(manufacturerRepository.aggregateCatalogue()).thenReturn(ROWS);
+        service.build();
+        service.onBeerChanged(new BeerChangedEvent(ChangeType.CREATED, 3L, null,
+                new BeerState(3L, "Double IPA", 8f, "IPA", null, 1L)));
+        when(manufacturerRepository.aggregateCatalogue()).thenReturn(List.of(
+                new CatalogueStatsRow(1L, "Lo Vilot", "ES", "Saison", 2, 2, 11.0),
+                new CatalogueStatsRow(1L, "Lo Vilot", "ES", "IPA", 1, 1, 8.0)));
+
+        // Act
+        service.reconcile();
+
+        // Assert
+        StatsResponseDto stats = service.stats();
+        assertThat(stats.beers()).isEqualTo(3);
+        assertThat(stats.beersByManufacturer()).isEqualTo(Map.of("Lo Vilot", 3L));
+    }
+
+    @Test
+    void rebuildIfStale_RemoteChanges_RebuildsOnceForAllOfThem() {
+        // Arrange
+        when(manufacturerRepository.aggregateCatalogue()).thenReturn(ROWS);
+        service.build();
+        RemoteChangeEvent event = new RemoteChangeEvent(
+                List.of(new RemoteChangeEvent.Change(RemoteChangeEvent.BEER, 3L, ChangeType.CREATED)));
+        service.onRemoteChange(event);
+        service.onRemoteChange(event);
+
+        // Act
+        service.rebuildIfStale();
+        service.rebuildIfStale();
+
+        // Assert
+        verify(manufacturerRepository, times(2)).aggregateCatalogue();
+    }
+}
@@ -0,0 +1,88 @@
+package com.haufe.technical.api.service.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haufe.technical.api.config.WarmupProperties;
+import com.haufe.technical.api.domain.repository.BeerRepository;
+import com.haufe.technical.api.domain.repository.EntityName;
+import com.haufe.technical.api.domain.repository.ManufacturerRepository;
+import com.haufe.technical.api.service.BeerService;
+import com.haufe.technical.api.service.ManufacturerService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WarmupServiceTest {
+
+    @Mock
+    private BeerService beerService;
+    @Mock
+    private ManufacturerService manufacturerService;
+    @Mock
+    private BeerRepository beerRepository;
+    @Mock
+    private ManufacturerRepository manufacturerRepository;
+    @Mock
+    private DataSource dataSource;
+
+    @Test
+    void warmUp_ReadsTheSampleUntilTheIterationsAreDone() throws Exception {
+        // Arrange
+        WarmupService warmupService = warmupService(Duration.ofMinutes(1));
+        WarmupHealthIndicator healthIndicator = new WarmupHealthIndicator(warmupService);
+        when(beerRepository.findNamesAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(new EntityName(1L, "Gose"), new EntityName(2L, "Stout")));
+        when(manufacturerRepository.findNamesAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(new EntityName(7L, "Lo Vilot")));
+        when(beerService.list(any(Pageable.class))).thenReturn(Page.empty(PageRequest.of(0, 20)));
+        when(manufacturerService.list(any(Pageable.class))).thenReturn(Page.empty(PageRequest.of(0, 20)));
+        Status before = healthIndicator.health().getStatus();
+
+        // Act
+        warmupService.warmUp();
+
+        // Assert
+        assertThat(before).isEqualTo(Status.OUT_OF_SERVICE);
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(warmupService.status().iterations()).isEqualTo(3);
+        assertThat(warmupService.status().budgetExhausted()).isFalse();
+        verify(beerService, times(2)).read(1L);
+        verify(beerService).read(2L);
+        verify(manufacturerService, times(3)).read(7L);
+        verify(manufacturerService, times(3)).list(any(Pageable.class));
+    }
+
+    @Test
+    void warmUp_ExhaustedBudget_CompletesEarly() throws Exception {
+        // Arrange
+        WarmupService warmupService = warmupService(Duration.ZERO);
+
+        // Act
+        warmupService.warmUp();
+
+        // Assert
+        assertThat(warmupService.status().complete()).isTrue();
+        assertThat(warmupService.status().iterations()).isZero();
+        assertThat(warmupService.status().budgetExhausted()).isTrue();
+        verify(beerService, never()).read(anyLong());
+    }
+
+    private WarmupService warmupService(Duration budget) {
+        return new WarmupService(new WarmupProperties(true, budget, 3, 10), beerService, manufacturerService,
+                beerRepository, manufacturerRepository, dataSource, new ObjectMapper());
+    }
+}
@@ -0,0 +1,136 @@
+package com.haufe.technical.api.web.bulkhead;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haufe.technical.api.config.BulkheadProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkheadFilterTest {
+    private static final BulkheadProperties.Compartment ONE_AT_A_TIME =
+            new BulkheadProperties.Compartment(1, 0, Duration.ZERO);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private long now;
+
+    private BulkheadRegistry bulkheadRegistry;
+    private BulkheadFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        BulkheadProperties.RateLimit rateLimit = new BulkheadProperties.RateLimit(true, 2, 1, 100, "X-Api-Key");
+        BulkheadProperties properties = new BulkheadProperties(
+                true,
+                Duration.ofSeconds(3),
+                List.of("/api/_batch/**"),
+                ONE_AT_A_TIME, ONE_AT_A_TIME, ONE_AT_A_TIME, ONE_AT_A_TIME,
+                rateLimit);
+        bulkheadRegistry = new BulkheadRegistry(properties, meterRegistry);
+        filter = new BulkheadFilter(
+                properties, bulkheadRegistry, new ClientRateLimiter(rateLimit, () -> now), objectMapper);
+    }
+
+    @Test
+    void classify_ByMethodAndPath() {
+        assertThat(bulkheadRegistry.classify(new MockHttpServletRequest("GET", "/api/beer/1")))
+                .isEqualTo(EndpointClass.POINT_READ);
+        assertThat(bulkheadRegistry.classify(new MockHttpServletRequest("GET", "/api/beer")))
+                .isEqualTo(EndpointClass.LIST);
+        assertThat(bulkheadRegistry.classify(new MockHttpServletRequest("DELETE", "/api/beer/1")))
+                .isEqualTo(EndpointClass.WRITE);
+        assertThat(bulkheadRegistry.classify(new MockHttpServletRequest("POST", "/api/_batch")))
+                .isEqualTo(EndpointClass.BULK);
+    }
+
+    @Test
+    void doFilter_BulkheadFull_Returns503WithRetryAfter() throws Exception {
+        // Arrange
+        Bulkhead pointReads = bulkheadRegistry.get(EndpointClass.POINT_READ);
+        assertThat(pointReads.acquire()).isEqualTo(Bulkhead.Admission.ADMITTED);
+
+        // Act
+        MockHttpServletResponse response = perform("GET", "/api/beer/1");
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+        assertThat(objectMapper.readTree(response.getContentAsByteArray()).at("/error/description").asText())
+                .isEqualTo("Server busy, please retry later");
+        assertThat(meterRegistry.get("api.bulkhead.rejections")
+                .tag("class", "point-read")
+                .tag("reason", "queue-full")
+                .counter()
+                .count()).isEqualTo(1);
+
+        // Other endpoint classes are not affected
+        assertThat(perform("GET", "/api/beer").getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    void doFilter_AdmittedRequest_ReleasesBulkhead() throws Exception {
+        // Act
+        MockHttpServletResponse response = perform("GET", "/api/beer/1");
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(bulkheadRegistry.get(EndpointClass.POINT_READ).active()).isZero();
+    }
+
+    @Test
+    void doFilter_RateLimitExceeded_Returns429UntilRefilled() throws Exception {
+        // Arrange
+        perform("GET", "/api/beer");
+        perform("GET", "/api/beer");
+
+        // Act
+        MockHttpServletResponse response = perform("GET", "/api/beer");
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+
+        now += Duration.ofSeconds(1).toNanos();
+        assertThat(perform("GET", "/api/beer").getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    void doFilter_RateLimitExceeded_OtherClientsNotAffected() throws Exception {
+        // Arrange
+        perform(withApiKey("a"));
+        perform(withApiKey("a"));
+
+        // Act & Assert
+        assertThat(perform(withApiKey("a")).getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(perform(withApiKey("b")).getStatus()).isEqualTo(HttpStatus.OK.value());
+        // Clients without the header are identified by their address
+        assertThat(perform("GET", "/api/beer").getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    private static MockHttpServletRequest withApiKey(String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/beer");
+        request.addHeader("X-Api-Key", apiKey);
+        request.setUserPrincipal(() -> "admin");
+        return request;
+    }
+
+    private MockHttpServletResponse perform(String method, String uri) throws Exception {
+        return perform(new MockHttpServletRequest(method, uri));
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
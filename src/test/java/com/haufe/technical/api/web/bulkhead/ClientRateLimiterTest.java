@@ -0,0 +1,54 @@
+package com.haufe.technical.api.web.bulkhead;
+
+import com.haufe.technical.api.config.BulkheadProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientRateLimiterTest {
+    private final AtomicLong nanoClock = new AtomicLong();
+    private final ClientRateLimiter rateLimiter =
+            new ClientRateLimiter(new BulkheadProperties.RateLimit(true, 1, 1, 2, null), nanoClock::get);
+
+    @Test
+    void tryAcquire_AllTrackedClientsBusy_NewClientsShareABucket() {
+        // Arrange
+        rateLimiter.tryAcquire("a");
+        rateLimiter.tryAcquire("b");
+
+        // Act & Assert
+        assertThat(rateLimiter.tryAcquire("c")).isZero();
+        assertThat(rateLimiter.tryAcquire("d")).isPositive();
+    }
+
+    @Test
+    void tryAcquire_LeastRecentlySeenClientIdle_TakesItsPlace() {
+        // Arrange
+        rateLimiter.tryAcquire("a");
+        nanoClock.addAndGet(Duration.ofSeconds(1).toNanos());
+        rateLimiter.tryAcquire("b");
+
+        // Act & Assert
+        assertThat(rateLimiter.tryAcquire("c")).isZero();
+        // b is still tracked, with its bucket empty
+        assertThat(rateLimiter.tryAcquire("b")).isPositive();
+    }
+
+    @Test
+    void tryAcquire_AllTrackedClientsBusy_SweepsAgainAfterTheInterval() {
+        // Arrange
+        rateLimiter.tryAcquire("a");
+        rateLimiter.tryAcquire("b");
+        rateLimiter.tryAcquire("c");
+
+        // Act
+        nanoClock.addAndGet(ClientRateLimiter.SWEEP_INTERVAL);
+
+        // Assert
+        assertThat(rateLimiter.tryAcquire("d")).isZero();
+        assertThat(rateLimiter.tryAcquire("d")).isPositive();
+    }
+}
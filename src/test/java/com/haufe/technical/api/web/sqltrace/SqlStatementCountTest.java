@@ -0,0 +1,98 @@
+package com.haufe.technical.api.web.sqltrace;
+
+import com.haufe.technical.api.controller.dto.beer.BeerUpsertDto;
+import com.haufe.technical.api.controller.dto.manufacturer.ManufacturerUpsertDto;
+import com.haufe.technical.api.domain.repository.BeerRepository;
+import com.haufe.technical.api.service.BeerService;
+import com.haufe.technical.api.service.ManufacturerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The changes are also logged for the other instances, as in a clustered deployment
+@SpringBootTest(properties = {"api.sql-trace.enabled=true", "api.cluster.enabled=true"})
+class SqlStatementCountTest {
+
+    @Autowired
+    private ManufacturerService manufacturerService;
+    @Autowired
+    private BeerService beerService;
+    @Autowired
+    private BeerRepository beerRepository;
+
+    private Long manufacturerId;
+    private Long beerId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        manufacturerId = manufacturerService.create(new ManufacturerUpsertDto("Lo Vilot", "ES")).id();
+        for (int i = 0; i < 3; ++i) {
+            beerId = beerService.create(manufacturerId, new BeerUpsertDto("Beer " + i, 5f, "IPA", null)).id();
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        // Through the services, so that the caches and counters see the deletions too
+        for (Long id : beerRepository.findIdsByManufacturerAfter(manufacturerId, 0L, Pageable.unpaged())) {
+            beerService.delete(id);
+        }
+        manufacturerService.delete(manufacturerId);
+    }
+
+    @Test
+    void beerList_LoadsTheManufacturersOfThePage() throws Exception {
+        SqlTrace trace = SqlStatements.assertCount(2, () -> beerService.list(PageRequest.of(0, 10, Sort.by("name"))));
+
+        assertThat(trace.getRowCount()).isEqualTo(4);
+        // A page with more rows after it reads its total from the row counter, instead of counting the rows
+        trace = SqlStatements.assertCount(3, () -> beerService.list(PageRequest.of(0, 2, Sort.by("name"))));
+        assertThat(trace.getStatements()).containsKey(
+                "SELECT COALESCE(SUM(DELTA), ?) FROM ROW_COUNTER WHERE ENTITY = ?");
+        SqlStatements.assertCount(2, () -> beerService.slice(PageRequest.of(0, 2, Sort.by("name"))));
+    }
+
+    @Test
+    void beerReads_IssueOneStatement() throws Exception {
+        SqlStatements.assertCount(1, () -> beerService.read(beerId));
+        SqlStatements.assertCount(1, () -> beerService.read(beerId, "name"));
+    }
+
+    @Test
+    void beerCreate_ChecksTheManufacturerAndInserts() throws Exception {
+        // The change is also appended to the history, logged for the other instances and counted
+        SqlTrace trace = SqlStatements.assertCount(5, () ->
+                beerService.create(manufacturerId, new BeerUpsertDto("Gose", 4.2f, "Gose", null)));
+
+        assertThat(trace.getStatements()).containsKeys(
+                "insert into beer (abv,created_at,description,manufacturer_id,name,style,updated_at,id) "
+                        + "values (?,?,?,?,?,?,?,default)",
+                "INSERT INTO CHANGE_LOG (ENTITY, ENTITY_ID, CHANGE_TYPE, INSTANCE_ID, CHANGED_AT) VALUES (?...)");
+    }
+
+    @Test
+    void manufacturerRead_IssuesOneStatement() throws Exception {
+        SqlStatements.assertCount(1, () -> manufacturerService.read(manufacturerId));
+    }
+
+    @Test
+    void manufacturerDelete_ChecksLoadsAndDeletes() throws Exception {
+        Long emptyManufacturerId = manufacturerService.create(new ManufacturerUpsertDto("Mikkeller", "DK")).id();
+
+        SqlStatements.assertCount(8, () -> manufacturerService.delete(emptyManufacturerId));
+    }
+
+    @Test
+    void fingerprint_ReplacesLiteralsAndInLists() {
+        assertThat(SqlTracingListener.fingerprint(
+                "select * from beer\n where name = 'Gose''s'  and abv > 4.5 and id in (?, ?, ?) and style = ?"))
+                .isEqualTo("select * from beer where name = ? and abv > ? and id in (?...) and style = ?");
+    }
+}
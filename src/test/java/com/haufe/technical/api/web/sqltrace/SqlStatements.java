@@ -0,0 +1,40 @@
+package com.haufe.technical.api.web.sqltrace;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test helper asserting the SQL statements issued by a piece of code, e.g.
+ * {@code SqlStatements.assertCount(2, () -> beerService.list(pageable))}.
+ * Needs the instrumented data source, i.e. a Spring context with {@code api.sql-trace.enabled}.
+ */
+public final class SqlStatements {
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private SqlStatements() {
+    }
+
+    /**
+     * Runs the action and returns the trace of its statements.
+     */
+    public static SqlTrace trace(Action action) throws Exception {
+        try (SqlTrace trace = SqlTrace.start()) {
+            action.run();
+            return trace;
+        }
+    }
+
+    /**
+     * Runs the action and asserts the number of statements it issued, listing them on failure.
+     */
+    public static SqlTrace assertCount(int expected, Action action) throws Exception {
+        final SqlTrace trace = trace(action);
+        assertThat(trace.getStatementCount())
+                .as("SQL statements issued:%n%s", trace.summary())
+                .isEqualTo(expected);
+        return trace;
+    }
+}